@@ -35,12 +35,15 @@ import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentConversionNotSupportedException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import org.eclipse.esmf.aspectmodel.urn.UrnSyntaxException;
 import org.eclipse.tractusx.semantics.hub.AspectModelNotFoundException;
+import org.eclipse.tractusx.semantics.hub.ChangeLogPrunedException;
 import org.eclipse.tractusx.semantics.hub.EntityNotFoundException;
 import org.eclipse.tractusx.semantics.hub.InvalidAspectModelException;
 import org.eclipse.tractusx.semantics.hub.InvalidStateTransitionException;
 
 import org.eclipse.tractusx.semantics.hub.ModelPackageNotFoundException;
+import org.eclipse.tractusx.semantics.hub.ValidationCapacityExceededException;
 import org.eclipse.tractusx.semantics.hub.model.Error;
 import org.eclipse.tractusx.semantics.hub.model.ErrorResponse;
 
@@ -97,9 +100,9 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
                   .path( request.getRequestURI() ) ), HttpStatus.NOT_FOUND );
    }
 
-   @ExceptionHandler( {IllegalArgumentException.class})
+   @ExceptionHandler( {IllegalArgumentException.class, UrnSyntaxException.class})
    public ResponseEntity<ErrorResponse> handleIllegalArgumentException( final HttpServletRequest request,
-         final IllegalArgumentException exception ) {
+         final RuntimeException exception ) {
       return new ResponseEntity<>( new ErrorResponse()
             .error( new Error()
                   .message( exception.getMessage() )
@@ -115,6 +118,26 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
                         .path( request.getRequestURI() ) ), HttpStatus.BAD_REQUEST );
     }
 
+   @ExceptionHandler( ChangeLogPrunedException.class )
+   public ResponseEntity<ErrorResponse> handleChangeLogPrunedException( final HttpServletRequest request,
+         final ChangeLogPrunedException exception ) {
+      return new ResponseEntity<>( new ErrorResponse()
+            .error( new Error()
+                  .message( exception.getMessage() )
+                  .path( request.getRequestURI() ) ), HttpStatus.GONE );
+   }
+
+   @ExceptionHandler( ValidationCapacityExceededException.class )
+   public ResponseEntity<ErrorResponse> handleValidationCapacityExceededException( final HttpServletRequest request,
+         final ValidationCapacityExceededException exception ) {
+      return ResponseEntity.status( HttpStatus.TOO_MANY_REQUESTS )
+            .header( HttpHeaders.RETRY_AFTER, String.valueOf( exception.getRetryAfter().toSeconds() ) )
+            .body( new ErrorResponse()
+                  .error( new Error()
+                        .message( exception.getMessage() )
+                        .path( request.getRequestURI() ) ) );
+   }
+
     @ExceptionHandler( { InvalidStateTransitionException.class})
     public ResponseEntity<ErrorResponse> handleInvalidStateTransitionException( final HttpServletRequest request, final InvalidStateTransitionException exception ) {
         String queryString = request.getQueryString();
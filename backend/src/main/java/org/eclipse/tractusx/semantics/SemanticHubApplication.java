@@ -20,6 +20,7 @@
 
 package org.eclipse.tractusx.semantics;
 
+import org.eclipse.tractusx.semantics.hub.RdfStreamingBodyConverter;
 import org.springdoc.core.configuration.SpringDocConfiguration;
 import org.springdoc.core.properties.SpringDocConfigProperties;
 import org.springdoc.core.providers.ObjectMapperProvider;
@@ -76,6 +77,11 @@ public class SemanticHubApplication {
 		return new ObjectMapperProvider( springDocConfigProperties );
 	}
 
+	@Bean
+	public RdfStreamingBodyConverter rdfStreamingBodyConverter() {
+		return new RdfStreamingBodyConverter();
+	}
+
 	@Bean
     public HttpFirewall allowUrlEncodedSlashHttpFirewall() {
         StrictHttpFirewall firewall = new StrictHttpFirewall();
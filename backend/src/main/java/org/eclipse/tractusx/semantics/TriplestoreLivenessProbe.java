@@ -19,8 +19,10 @@
  ********************************************************************************/
 package org.eclipse.tractusx.semantics;
 
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.TripleStoreConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
@@ -29,9 +31,11 @@ import org.eclipse.tractusx.semantics.hub.persistence.PersistenceLayer;
 @Component
 public class TriplestoreLivenessProbe implements HealthIndicator {
     private PersistenceLayer pl;
+    private ObjectProvider<TripleStoreConnectionManager> connectionManager;
 
-    public TriplestoreLivenessProbe(PersistenceLayer pl) {
+    public TriplestoreLivenessProbe(PersistenceLayer pl, ObjectProvider<TripleStoreConnectionManager> connectionManager) {
         this.pl = pl;
+        this.connectionManager = connectionManager;
     }
 
     Logger logger = LoggerFactory.getLogger(getClass());
@@ -40,12 +44,19 @@ public class TriplestoreLivenessProbe implements HealthIndicator {
     public Health health() {
         try {
             if(pl.echo()) {
-                return Health.up().build();
+                return withConnectionDetails(Health.up()).build();
             }
-            return Health.down().build();
+            return withConnectionDetails(Health.down()).build();
         } catch (Exception e) {
             logger.error(e.getMessage());
-            return Health.down().build();
+            return withConnectionDetails(Health.down()).build();
         }
     }
+
+    private Health.Builder withConnectionDetails(Health.Builder builder) {
+        connectionManager.ifAvailable(manager -> builder
+              .withDetail("openConnections", manager.getOpenConnections())
+              .withDetail("clientThreads", manager.getThreads()));
+        return builder;
+    }
 }
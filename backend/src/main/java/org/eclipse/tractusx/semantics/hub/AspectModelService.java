@@ -19,14 +19,34 @@
 
 package org.eclipse.tractusx.semantics.hub;
 
+import java.io.IOException;
+import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.annotation.Nullable;
 
 import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
 import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
 import org.eclipse.tractusx.semantics.hub.model.AasFormat;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModel;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelChangeList;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelDependencies;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelImportReport;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelJob;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModelList;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModelStatus;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModelType;
@@ -34,8 +54,16 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
 import com.google.common.collect.Lists;
 
 import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
@@ -45,12 +73,19 @@ import org.eclipse.tractusx.semantics.hub.api.ModelsApiDelegate;
 
 public class AspectModelService implements ModelsApiDelegate {
 
+   private static final int MAX_IMPORTED_MODELS = 10000;
+
    private final PersistenceLayer persistenceLayer;
    private final SDKAccessHelper sdkHelper;
+   private final ModelUploadJobs uploadJobs;
+   private final ModelChangeEvents changeEvents;
 
-   public AspectModelService( final PersistenceLayer persistenceLayer, SDKAccessHelper sdkHelper ) {
+   public AspectModelService( final PersistenceLayer persistenceLayer, SDKAccessHelper sdkHelper, final ModelUploadJobs uploadJobs,
+         final ModelChangeEvents changeEvents ) {
       this.persistenceLayer = persistenceLayer;
       this.sdkHelper = sdkHelper;
+      this.uploadJobs = uploadJobs;
+      this.changeEvents = changeEvents;
       sdkHelper.setPersistenceLayer( persistenceLayer );
    }
 
@@ -58,7 +93,10 @@ public class AspectModelService implements ModelsApiDelegate {
    public ResponseEntity<SemanticModelList> getModelList(Integer pageSize,
                                                          Integer page,
                                                          String namespaceFilter,
-                                                         SemanticModelStatus status ) {
+                                                         SemanticModelStatus status,
+                                                         String cursor,
+                                                         String search,
+                                                         String language ) {
 
       try {
          final String decodedNamespace = URLDecoder.decode( namespaceFilter,
@@ -68,9 +106,17 @@ public class AspectModelService implements ModelsApiDelegate {
          if ( status != null ) {
             modelPackageStatus = ModelPackageStatus.valueOf( status.name() );
          }
-         final SemanticModelList list = persistenceLayer.getModels( decodedNamespace,
-               modelPackageStatus, page,
-               pageSize );
+         if ( search != null ) {
+            if ( cursor != null ) {
+               throw new IllegalArgumentException( "The cursor cannot be combined with a search, search results are paged by page." );
+            }
+            return new ResponseEntity<>(
+                  persistenceLayer.searchModels( search, language, decodedNamespace, modelPackageStatus, page, pageSize ), HttpStatus.OK );
+         }
+         final SemanticModelList list = cursor == null
+               ? persistenceLayer.getModels( decodedNamespace, modelPackageStatus, page, pageSize )
+               : persistenceLayer.getModelsAfter( decodedNamespace, modelPackageStatus, decodeCursor( cursor ), pageSize );
+         list.setNextCursor( nextCursor( list, pageSize ) );
 
          return new ResponseEntity<>( list, HttpStatus.OK );
       } catch ( final java.io.UnsupportedEncodingException uee ) {
@@ -78,19 +124,50 @@ public class AspectModelService implements ModelsApiDelegate {
       }
    }
 
+   @Override
+   public ResponseEntity<SemanticModelChangeList> getModelChanges( final String since, final Integer pageSize ) {
+      Long sinceSequence = null;
+      Instant sinceModified = null;
+      if ( since != null && since.chars().allMatch( Character::isDigit ) ) {
+         sinceSequence = Try.of( () -> Long.valueOf( since ) ).getOrElseThrow( e -> invalidSince( since, e ) );
+      } else if ( since != null ) {
+         sinceModified = Try.of( () -> OffsetDateTime.parse( since ).toInstant() ).getOrElseThrow( e -> invalidSince( since, e ) );
+      }
+      return new ResponseEntity<>( persistenceLayer.getModelChanges( sinceSequence, sinceModified, pageSize ), HttpStatus.OK );
+   }
+
+   @Override
+   public ResponseEntity<SseEmitter> getModelEvents( final String lastEventId ) {
+      final Long lastSequence = lastEventId == null ? null : Try.of( () -> Long.valueOf( lastEventId ) )
+            .getOrElseThrow( e -> new IllegalArgumentException(
+                  String.format( "The Last-Event-ID %s is not the id of a model event.", lastEventId ), e ) );
+      return new ResponseEntity<>( changeEvents.subscribe( lastSequence ), HttpStatus.OK );
+   }
+
+   private static IllegalArgumentException invalidSince( final String since, final Throwable cause ) {
+      return new IllegalArgumentException(
+            String.format( "The value %s of since is neither a sequence number nor a date-time like 2023-06-01T00:00:00Z.", since ), cause );
+   }
+
    @Override
    public ResponseEntity<SemanticModel> getModelByUrn(final String urn ) {
-      final SemanticModel model = persistenceLayer.getModel( AspectModelUrn.fromUrn( urn ) );
+      return withRevision( urn, () -> {
+         final SemanticModel model = persistenceLayer.getModel( AspectModelUrn.fromUrn( urn ) );
 
-      if ( model == null ) {
-         return new ResponseEntity<>( HttpStatus.NOT_FOUND );
-      }
+         if ( model == null ) {
+            return new ResponseEntity<>( HttpStatus.NOT_FOUND );
+         }
 
-      return new ResponseEntity<>( model, HttpStatus.OK );
+         return new ResponseEntity<>( model, HttpStatus.OK );
+      } );
    }
 
    @Override
-   public ResponseEntity<SemanticModel> createModelWithUrn(final SemanticModelType type, final String newModel, final SemanticModelStatus status ) {
+   public ResponseEntity<SemanticModel> createModelWithUrn(final SemanticModelType type, final String newModel, final SemanticModelStatus status,
+         final Boolean async ) {
+      if ( Boolean.TRUE.equals( async ) ) {
+         return submitUploadJob( type, newModel, status );
+      }
       final SemanticModel resultingModel = persistenceLayer.save( type, newModel, status );
       return new ResponseEntity<>( resultingModel, HttpStatus.OK );
    }
@@ -108,25 +185,50 @@ public class AspectModelService implements ModelsApiDelegate {
 
    @Override
    public ResponseEntity<Void> getModelJsonSchema( final String modelId ) {
-      final JsonNode json = sdkHelper.getJsonSchema( modelId );
-      return new ResponseEntity( json, HttpStatus.OK );
+      return withRevision( modelId, () -> {
+         final JsonNode json = sdkHelper.getJsonSchema( modelId );
+         return new ResponseEntity( json, HttpStatus.OK );
+      } );
    }
 
    @Override
    public ResponseEntity<Void> getModelDocu( final String modelId ) {
-      final Try<byte[]> docuResult = sdkHelper.getHtmlDocu( modelId );
-      if ( docuResult.isFailure() ) {
-         throw new RuntimeException( String.format( "Failed to generate documentation for urn %s", modelId ) );
-      }
-      final HttpHeaders headers = new HttpHeaders();
-      headers.setContentType( MediaType.TEXT_HTML );
-      return new ResponseEntity( docuResult.get(), headers, HttpStatus.OK );
+      return withRevision( modelId, () -> {
+         final Try<byte[]> docuResult = sdkHelper.getHtmlDocu( modelId );
+         if ( docuResult.isFailure() ) {
+            throw new RuntimeException( String.format( "Failed to generate documentation for urn %s", modelId ) );
+         }
+         final HttpHeaders headers = new HttpHeaders();
+         headers.setContentType( MediaType.TEXT_HTML );
+         return new ResponseEntity( docuResult.get(), headers, HttpStatus.OK );
+      } );
    }
 
+   /**
+    * The negotiated format is part of the ETag, so a copy in one format is never revalidated as another one.
+    */
    @Override
    public ResponseEntity<Void> getModelFile( final String modelId ) {
-      String modelDefinition = persistenceLayer.getModelDefinition( AspectModelUrn.fromUrn( modelId ) );
-      return new ResponseEntity( modelDefinition, HttpStatus.OK );
+      final MediaType mediaType = negotiateMediaType( currentRequest() );
+      return withRevision( modelId, mediaType, () -> {
+         final AspectModelUrn urn = AspectModelUrn.fromUrn( modelId );
+         final RdfStreamingBody modelDefinition = output -> persistenceLayer.writeModelDefinition( urn, output );
+         final HttpHeaders headers = new HttpHeaders();
+         headers.setContentType( mediaType );
+         return new ResponseEntity( modelDefinition, headers, HttpStatus.OK );
+      } );
+   }
+
+   @Override
+   public ResponseEntity<Void> getModelFilesByUrns( final List<String> requestBody ) {
+      final List<AspectModelUrn> urns = requestBody.stream().map( AspectModelUrn::fromUrn ).toList();
+      final RdfStreamingBody modelDefinitions = output -> persistenceLayer.writeModelDefinitions( urns, output );
+      return new ResponseEntity( modelDefinitions, HttpStatus.OK );
+   }
+
+   @Override
+   public ResponseEntity<SemanticModelDependencies> getModelDependencies( final String urn ) {
+      return new ResponseEntity<>( persistenceLayer.getModelDependencies( AspectModelUrn.fromUrn( urn ) ), HttpStatus.OK );
    }
 
    @Override
@@ -136,37 +238,169 @@ public class AspectModelService implements ModelsApiDelegate {
    }
 
    @Override
-   public ResponseEntity<SemanticModel> modifyModel( final SemanticModelType type, final String newModel, final SemanticModelStatus status  ) {
+   public ResponseEntity<SemanticModelImportReport> importModels( final SemanticModelStatus status, final MultipartFile file ) {
+      final SemanticModelImportReport report = persistenceLayer.importModels( readTurtleFiles( file ), status );
+      return new ResponseEntity<>( report, HttpStatus.OK );
+   }
+
+   /**
+    * Reads all Turtle files of a zip archive, keyed by their path in the archive.
+    */
+   private static Map<String, String> readTurtleFiles( final MultipartFile file ) {
+      final Map<String, String> turtleFiles = new LinkedHashMap<>();
+      try ( final ZipInputStream zip = new ZipInputStream( file.getInputStream() ) ) {
+         for ( ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry() ) {
+            if ( entry.isDirectory() || !entry.getName().endsWith( ".ttl" ) ) {
+               continue;
+            }
+            if ( turtleFiles.size() == MAX_IMPORTED_MODELS ) {
+               throw new IllegalArgumentException(
+                     String.format( "The import contains more than %d models.", MAX_IMPORTED_MODELS ) );
+            }
+            turtleFiles.put( entry.getName(), new String( zip.readAllBytes(), StandardCharsets.UTF_8 ) );
+         }
+      } catch ( final IOException e ) {
+         throw new IllegalArgumentException( "The import is not a valid zip archive.", e );
+      }
+      if ( turtleFiles.isEmpty() ) {
+         throw new IllegalArgumentException( "The import does not contain any Turtle files." );
+      }
+      return turtleFiles;
+   }
+
+   @Override
+   public ResponseEntity<SemanticModel> modifyModel( final SemanticModelType type, final String newModel, final SemanticModelStatus status,
+         final Boolean async ) {
+      if ( Boolean.TRUE.equals( async ) ) {
+         return submitUploadJob( type, newModel, status );
+      }
       final SemanticModel resultingModel = persistenceLayer.save( type, newModel, status );
       return new ResponseEntity<>( resultingModel, HttpStatus.OK );
    }
 
+   @Override
+   public ResponseEntity<SemanticModel> updateModelStatus( final String urn, final SemanticModelStatus status ) {
+      return new ResponseEntity<>( persistenceLayer.updateStatus( AspectModelUrn.fromUrn( urn ), status ), HttpStatus.OK );
+   }
+
+   @Override
+   public ResponseEntity<SemanticModelJob> getModelJob( final String jobId ) {
+      final SemanticModelJob job = uploadJobs.find( jobId )
+            .orElseThrow( () -> new EntityNotFoundException( String.format( "Job %s not found", jobId ) ) );
+      return new ResponseEntity<>( job, HttpStatus.OK );
+   }
+
+   /**
+    * Returns 202 with the queued job. The Location header points to the job, relative to the models endpoint used for
+    * the upload.
+    */
+   private ResponseEntity submitUploadJob( final SemanticModelType type, final String newModel, final SemanticModelStatus status ) {
+      final SemanticModelJob job = uploadJobs.submit( () -> persistenceLayer.save( type, newModel, status ) );
+      final URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+            .path( "/jobs/{jobId}" )
+            .buildAndExpand( job.getId() )
+            .toUri();
+      return ResponseEntity.accepted().location( location ).body( job );
+   }
+
    @Override
    public ResponseEntity<Void> getModelOpenApi( final String modelId, final String baseUrl ) {
-      final String openApiJson = sdkHelper.getOpenApiDefinitionJson( modelId, baseUrl );
-      return new ResponseEntity( openApiJson, HttpStatus.OK );
+      return withRevision( modelId, () -> {
+         final String openApiJson = sdkHelper.getOpenApiDefinitionJson( modelId, baseUrl );
+         return new ResponseEntity( openApiJson, HttpStatus.OK );
+      } );
    }
 
    @Override
    public ResponseEntity<Void> getModelExamplePayloadJson( final String modelId ) {
-      final Try<String> result = sdkHelper.getExamplePayloadJson( modelId );
-      if ( result.isFailure() ) {
-         throw new RuntimeException( String.format( "Failed to generate example payload for urn %s", modelId ) );
-      }
-      return new ResponseEntity( result.get(), HttpStatus.OK );
+      return withRevision( modelId, () -> {
+         final Try<String> result = sdkHelper.getExamplePayloadJson( modelId );
+         if ( result.isFailure() ) {
+            throw new RuntimeException( String.format( "Failed to generate example payload for urn %s", modelId ) );
+         }
+         return new ResponseEntity( result.get(), HttpStatus.OK );
+      } );
    }
 
    @Override
    public ResponseEntity getAasSubmodelTemplate(String urn, AasFormat aasFormat) {
-      final Try result = sdkHelper.getAasSubmodelTemplate(urn, aasFormat);
-      if ( result.isFailure() ) {
-         throw new RuntimeException( String.format( "Failed to generate AASX submodel template for model with urn %s", urn ) );
+      return withRevision( urn, () -> {
+         final Try result = sdkHelper.getAasSubmodelTemplate(urn, aasFormat);
+         if ( result.isFailure() ) {
+            throw new RuntimeException( String.format( "Failed to generate AASX submodel template for model with urn %s", urn ) );
+         }
+         HttpHeaders responseHeaders = new HttpHeaders();
+
+         responseHeaders.setContentType(getMediaType( aasFormat ));
+
+         return new ResponseEntity( result.get(), responseHeaders, HttpStatus.OK );
+      } );
+   }
+
+   /**
+    * Answers a conditional GET with 304 if the client already has the current revision of the model, without
+    * loading the model or generating anything. Otherwise creates the response and adds the revision as ETag and
+    * Last-Modified. Models that are not persisted get the plain response, e.g. 404.
+    */
+   private <T> ResponseEntity<T> withRevision( final String urn, final Supplier<ResponseEntity<T>> response ) {
+      return withRevision( urn, null, response );
+   }
+
+   /**
+    * @param mediaType the media type negotiated from the Accept header, it is added to the ETag and the responses vary by
+    *       the Accept header. Null if the response has a single media type.
+    */
+   private <T> ResponseEntity<T> withRevision( final String urn, @Nullable final MediaType mediaType,
+         final Supplier<ResponseEntity<T>> response ) {
+      final Optional<ModelRevision> revision = persistenceLayer.getModelRevision( AspectModelUrn.fromUrn( urn ) );
+      if ( revision.isEmpty() ) {
+         return response.get();
+      }
+      final HttpHeaders revisionHeaders = new HttpHeaders();
+      if ( mediaType == null ) {
+         revisionHeaders.setETag( "\"" + revision.get().getTag() + "\"" );
+      } else {
+         revisionHeaders.setETag( "\"" + revision.get().getTag() + "-" + mediaType.getSubtype() + "\"" );
+         revisionHeaders.setVary( List.of( HttpHeaders.ACCEPT ) );
+      }
+      final Instant lastModified = revision.get().getLastModified();
+      if ( lastModified != null ) {
+         revisionHeaders.setLastModified( lastModified );
       }
-      HttpHeaders responseHeaders = new HttpHeaders();
+      final HttpServletRequest request = currentRequest();
+      if ( new ServletWebRequest( request ).checkNotModified( revisionHeaders.getETag(),
+            lastModified == null ? -1 : lastModified.toEpochMilli() ) ) {
+         return ResponseEntity.status( HttpStatus.NOT_MODIFIED ).headers( revisionHeaders ).build();
+      }
+      final ResponseEntity<T> result = response.get();
+      return ResponseEntity.status( result.getStatusCode() ).headers( result.getHeaders() ).headers( revisionHeaders )
+            .body( result.getBody() );
+   }
 
-      responseHeaders.setContentType(getMediaType( aasFormat ));
+   private static HttpServletRequest currentRequest() {
+      return ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+   }
 
-      return new ResponseEntity( result.get(), responseHeaders, HttpStatus.OK );
+   /**
+    * Selects the media type the response is written in: the first media type the endpoint produces that matches the
+    * most preferred media type of the Accept header. The result is set as content type of the response, so the
+    * message converter writes exactly this format.
+    */
+   @SuppressWarnings( "unchecked" )
+   private static MediaType negotiateMediaType( final HttpServletRequest request ) {
+      final List<MediaType> producible = List.copyOf(
+            (Set<MediaType>) request.getAttribute( HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE ) );
+      final String accept = request.getHeader( HttpHeaders.ACCEPT );
+      final List<MediaType> accepted = accept == null || accept.isBlank() ? List.of( MediaType.ALL )
+            : MediaType.parseMediaTypes( accept );
+      return accepted.stream()
+            .filter( acceptedType -> acceptedType.getQualityValue() > 0 )
+            .sorted( Comparator.comparingDouble( MediaType::getQualityValue ).reversed()
+                  .thenComparing( MediaType::isWildcardType )
+                  .thenComparing( MediaType::isWildcardSubtype ) )
+            .flatMap( acceptedType -> producible.stream().filter( acceptedType::includes ) )
+            .findFirst()
+            .orElse( producible.get( 0 ) );
    }
 
    /**
@@ -183,6 +417,27 @@ public class AspectModelService implements ModelsApiDelegate {
       return mediaType;
    }
 
+   /**
+    * The cursor is the Base64 encoded URN of the last model of a page. It is only returned if the page is full,
+    * i.e. more models may follow.
+    */
+   private static String nextCursor( SemanticModelList list, Integer pageSize ) {
+      List<SemanticModel> items = list.getItems();
+      if ( items.isEmpty() || items.size() < pageSize ) {
+         return null;
+      }
+      String lastUrn = items.get( items.size() - 1 ).getUrn();
+      return Base64.getUrlEncoder().withoutPadding().encodeToString( lastUrn.getBytes( StandardCharsets.UTF_8 ) );
+   }
+
+   private static String decodeCursor( String cursor ) {
+      try {
+         return new String( Base64.getUrlDecoder().decode( cursor ), StandardCharsets.UTF_8 );
+      } catch ( IllegalArgumentException e ) {
+         throw new IllegalArgumentException( String.format( "The cursor %s is invalid.", cursor ), e );
+      }
+   }
+
    @Override
    public ResponseEntity<SemanticModelList> getModelListByUrns(Integer pageSize, Integer page, List<String> requestBody) {
       List<AspectModelUrn> urnList = Lists.transform(requestBody, (String urn) -> AspectModelUrn.fromUrn(urn));
@@ -0,0 +1,203 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties( "hub.cache" )
+public class CacheProperties {
+
+   private final ArtifactCache artifacts = new ArtifactCache();
+   private final ModelCache models = new ModelCache();
+   private final NamespaceCache namespaces = new NamespaceCache();
+
+   public ArtifactCache getArtifacts() {
+      return artifacts;
+   }
+
+   public ModelCache getModels() {
+      return models;
+   }
+
+   public NamespaceCache getNamespaces() {
+      return namespaces;
+   }
+
+   public static class ArtifactCache {
+      /**
+       * Is the cache for generated artifacts (JSON schema, OpenAPI, documentation, ...) enabled?
+       * <p>
+       * Default is {true}
+       */
+      private boolean enabled = true;
+
+      /**
+       * The maximum estimated size in bytes of the cached artifacts of RELEASED and STANDARDIZED packages.
+       */
+      private long maximumWeight = 64L * 1024 * 1024;
+
+      /**
+       * The maximum estimated size in bytes of the cached artifacts of DRAFT and DEPRECATED packages.
+       */
+      private long draftMaximumWeight = 16L * 1024 * 1024;
+
+      /**
+       * How long an artifact of a RELEASED or STANDARDIZED package is kept. These packages are immutable
+       * apart from status transitions, which invalidate the cache anyway.
+       */
+      private Duration timeToLive = Duration.ofHours( 24 );
+
+      /**
+       * How long an artifact of a DRAFT or DEPRECATED package is kept.
+       */
+      private Duration draftTimeToLive = Duration.ofMinutes( 5 );
+
+      public boolean isEnabled() {
+         return enabled;
+      }
+
+      public void setEnabled( final boolean enabled ) {
+         this.enabled = enabled;
+      }
+
+      public long getMaximumWeight() {
+         return maximumWeight;
+      }
+
+      public void setMaximumWeight( final long maximumWeight ) {
+         this.maximumWeight = maximumWeight;
+      }
+
+      public long getDraftMaximumWeight() {
+         return draftMaximumWeight;
+      }
+
+      public void setDraftMaximumWeight( final long draftMaximumWeight ) {
+         this.draftMaximumWeight = draftMaximumWeight;
+      }
+
+      public Duration getTimeToLive() {
+         return timeToLive;
+      }
+
+      public void setTimeToLive( final Duration timeToLive ) {
+         this.timeToLive = timeToLive;
+      }
+
+      public Duration getDraftTimeToLive() {
+         return draftTimeToLive;
+      }
+
+      public void setDraftTimeToLive( final Duration draftTimeToLive ) {
+         this.draftTimeToLive = draftTimeToLive;
+      }
+   }
+
+   public static class ModelCache {
+      /**
+       * Is the cache for loaded and resolved aspect models enabled?
+       * <p>
+       * Default is {true}
+       */
+      private boolean enabled = true;
+
+      /**
+       * The maximum estimated heap size in bytes of all cached models. The size of a model is estimated from
+       * the number of its triples, including the merged meta model.
+       */
+      private long maximumWeight = 128L * 1024 * 1024;
+
+      /**
+       * How long a model is kept. Models are cached per revision, so a changed model is never served; the expiry
+       * releases models whose revision is no longer requested.
+       */
+      private Duration timeToLive = Duration.ofHours( 1 );
+
+      public boolean isEnabled() {
+         return enabled;
+      }
+
+      public void setEnabled( final boolean enabled ) {
+         this.enabled = enabled;
+      }
+
+      public long getMaximumWeight() {
+         return maximumWeight;
+      }
+
+      public void setMaximumWeight( final long maximumWeight ) {
+         this.maximumWeight = maximumWeight;
+      }
+
+      public Duration getTimeToLive() {
+         return timeToLive;
+      }
+
+      public void setTimeToLive( final Duration timeToLive ) {
+         this.timeToLive = timeToLive;
+      }
+   }
+
+   public static class NamespaceCache {
+      /**
+       * Is the cache for the package graphs of RELEASED and STANDARDIZED packages, loaded to resolve references of
+       * uploaded models, enabled?
+       * <p>
+       * Default is {true}
+       */
+      private boolean enabled = true;
+
+      /**
+       * The maximum estimated heap size in bytes of all cached package graphs.
+       */
+      private long maximumWeight = 32L * 1024 * 1024;
+
+      /**
+       * How long a package graph is kept. Changes made through this instance invalidate the cache anyway, the
+       * expiry limits how long changes made through other instances stay unnoticed.
+       */
+      private Duration timeToLive = Duration.ofHours( 24 );
+
+      public boolean isEnabled() {
+         return enabled;
+      }
+
+      public void setEnabled( final boolean enabled ) {
+         this.enabled = enabled;
+      }
+
+      public long getMaximumWeight() {
+         return maximumWeight;
+      }
+
+      public void setMaximumWeight( final long maximumWeight ) {
+         this.maximumWeight = maximumWeight;
+      }
+
+      public Duration getTimeToLive() {
+         return timeToLive;
+      }
+
+      public void setTimeToLive( final Duration timeToLive ) {
+         this.timeToLive = timeToLive;
+      }
+   }
+}
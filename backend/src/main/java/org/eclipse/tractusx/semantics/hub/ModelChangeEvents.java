@@ -0,0 +1,312 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelChange;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelChangeList;
+import org.eclipse.tractusx.semantics.hub.persistence.ModelPackageListener;
+import org.eclipse.tractusx.semantics.hub.persistence.PersistenceLayer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pushes the entries of the change log to the subscribers of the model events as Server-Sent Events.
+ * <p>
+ * After a package changed, the new entries are read from the change log once and handed to every subscriber, so the
+ * cost of a change does not grow with the number of subscribers. Every subscriber has a bounded buffer that is sent by
+ * a small pool of threads. A subscriber whose buffer is full is disconnected instead of holding back the others, it
+ * resumes with the id of the last event it received. Changes made through other instances of the hub are read at the
+ * poll interval.
+ */
+public class ModelChangeEvents implements ModelPackageListener {
+
+   private static final Logger LOG = LoggerFactory.getLogger( ModelChangeEvents.class );
+
+   /**
+    * The changes are not read while nobody is subscribed, the next subscriber starts at the end of the change log.
+    */
+   private static final long NOT_TRACKED = -1;
+
+   private final class Subscriber {
+
+      private final SseEmitter emitter;
+      private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+      private final AtomicBoolean sending = new AtomicBoolean();
+      private volatile boolean completing;
+      private volatile boolean closed;
+      private long lastSequence;
+
+      private Subscriber( final SseEmitter emitter ) {
+         this.emitter = emitter;
+         this.buffer = new ArrayBlockingQueue<>( Math.max( 1, properties.getBufferSize() ) );
+      }
+
+      /**
+       * Skips changes that were already buffered, e.g. when a replay overlaps with a publish. Every aspect of a changed
+       * package has its own sequence number, so no change is skipped that was not buffered before.
+       *
+       * @return false if the buffer is full
+       */
+      boolean offer( final SemanticModelChange change ) {
+         if ( change.getSequence() <= lastSequence ) {
+            return true;
+         }
+         lastSequence = change.getSequence();
+         return buffer.offer( SseEmitter.event()
+               .id( String.valueOf( change.getSequence() ) )
+               .name( change.getChangeType().toString() )
+               .data( change, MediaType.APPLICATION_JSON ) );
+      }
+
+      void keepAlive() {
+         if ( buffer.isEmpty() ) {
+            buffer.offer( SseEmitter.event().comment( "" ) );
+         }
+      }
+
+      /**
+       * Sends the buffer on a sender thread, unless it is already being sent.
+       */
+      void send() {
+         if ( closed || (buffer.isEmpty() && !completing) || !sending.compareAndSet( false, true ) ) {
+            return;
+         }
+         senders.execute( () -> {
+            try {
+               SseEmitter.SseEventBuilder event;
+               while ( (event = buffer.poll()) != null ) {
+                  emitter.send( event );
+               }
+               if ( completing ) {
+                  close();
+                  emitter.complete();
+               }
+            } catch ( final IOException | IllegalStateException exception ) {
+               close();
+            } finally {
+               sending.set( false );
+            }
+            send();
+         } );
+      }
+
+      /**
+       * Ends the subscription once the buffer is sent.
+       */
+      void completeAfterSending() {
+         completing = true;
+         send();
+      }
+
+      void close() {
+         closed = true;
+         subscribers.remove( this );
+      }
+   }
+
+   private final PersistenceLayer persistenceLayer;
+   private final ModelEventProperties properties;
+   private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+   private final ScheduledExecutorService publisher;
+   private final ExecutorService senders;
+   private final AtomicBoolean publishPending = new AtomicBoolean();
+   private final LongAdder droppedSubscribers = new LongAdder();
+   private long lastPublished = NOT_TRACKED;
+
+   public ModelChangeEvents( final PersistenceLayer persistenceLayer, final ModelEventProperties properties ) {
+      this.persistenceLayer = persistenceLayer;
+      this.properties = properties;
+      publisher = Executors.newSingleThreadScheduledExecutor( daemonThreads( "model-events-publisher" ) );
+      senders = Executors.newFixedThreadPool( Math.max( 1, properties.getConcurrency() ), daemonThreads( "model-events-sender" ) );
+      final long pollMillis = properties.getPollInterval().toMillis();
+      publisher.scheduleWithFixedDelay( this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS );
+      persistenceLayer.addModelPackageListener( this );
+   }
+
+   /**
+    * Opens a subscription. The events after the given one are sent first, then the changes as they are made.
+    *
+    * @param lastEventId the sequence number of the last change the client received, if it resumes
+    * @throws ChangeLogPrunedException if the changes after the given one were already removed from the change log
+    */
+   public SseEmitter subscribe( @Nullable final Long lastEventId ) {
+      final SseEmitter emitter = new SseEmitter( properties.getTimeout().toMillis() );
+      final Subscriber subscriber = new Subscriber( emitter );
+      emitter.onCompletion( subscriber::close );
+      emitter.onTimeout( subscriber::close );
+      emitter.onError( error -> subscriber.close() );
+      synchronized ( this ) {
+         // catches up with the change log first, the subscriber must not start behind or beyond it
+         publish();
+         if ( lastPublished == NOT_TRACKED ) {
+            lastPublished = persistenceLayer.getModelChanges( Long.MAX_VALUE, null, 1 ).getLastSequence();
+         }
+         subscriber.lastSequence = lastPublished;
+         if ( lastEventId != null && lastEventId < lastPublished ) {
+            subscriber.lastSequence = lastEventId;
+            if ( !replay( subscriber ) ) {
+               subscriber.completeAfterSending();
+               return emitter;
+            }
+         }
+         subscribers.add( subscriber );
+      }
+      subscriber.send();
+      return emitter;
+   }
+
+   /**
+    * Buffers the changes the subscriber missed, up to the last published change.
+    *
+    * @return false if they do not fit into the buffer
+    */
+   private boolean replay( final Subscriber subscriber ) {
+      SemanticModelChangeList changes;
+      do {
+         changes = persistenceLayer.getModelChanges( subscriber.lastSequence, null, properties.getBufferSize() );
+         for ( final SemanticModelChange change : changes.getItems() ) {
+            if ( !subscriber.offer( change ) ) {
+               return false;
+            }
+         }
+      } while ( changes.getHasMore() && subscriber.lastSequence < lastPublished );
+      return true;
+   }
+
+   /**
+    * Publishes the new changes on the publisher thread, the write that made them does not wait for it.
+    */
+   @Override
+   public void onPackageChanged( final ModelPackageUrn urn ) {
+      if ( subscribers.isEmpty() || !publishPending.compareAndSet( false, true ) ) {
+         return;
+      }
+      publisher.execute( () -> {
+         publishPending.set( false );
+         publish();
+      } );
+   }
+
+   private void poll() {
+      publish();
+      subscribers.forEach( subscriber -> {
+         subscriber.keepAlive();
+         subscriber.send();
+      } );
+   }
+
+   private synchronized void publish() {
+      if ( subscribers.isEmpty() ) {
+         lastPublished = NOT_TRACKED;
+         return;
+      }
+      try {
+         SemanticModelChangeList changes;
+         do {
+            changes = persistenceLayer.getModelChanges( lastPublished, null, properties.getBufferSize() );
+            if ( changes.getItems().isEmpty() && changes.getLastSequence() < lastPublished ) {
+               // the change log is shorter than before, e.g. the data was restored from a backup
+               lastPublished = 0;
+               subscribers.forEach( subscriber -> subscriber.lastSequence = 0 );
+               changes.setHasMore( true );
+               continue;
+            }
+            changes.getItems().forEach( change -> subscribers.forEach( subscriber -> {
+               if ( !subscriber.offer( change ) ) {
+                  drop( subscriber );
+               }
+            } ) );
+            lastPublished = changes.getLastSequence();
+         } while ( changes.getHasMore() );
+      } catch ( final ChangeLogPrunedException exception ) {
+         // the changes since the last publish were removed, the subscribers resume and are told so
+         subscribers.forEach( subscriber -> {
+            subscribers.remove( subscriber );
+            subscriber.completeAfterSending();
+         } );
+      } catch ( final RuntimeException exception ) {
+         LOG.warn( "Could not read the change log, the changes are published with the next change or poll.", exception );
+      }
+      subscribers.forEach( Subscriber::send );
+   }
+
+   /**
+    * Disconnects a subscriber that does not keep up. The events in its buffer are still sent.
+    */
+   private void drop( final Subscriber subscriber ) {
+      if ( subscribers.remove( subscriber ) ) {
+         droppedSubscribers.increment();
+         subscriber.completeAfterSending();
+      }
+   }
+
+   public int getSubscriberCount() {
+      return subscribers.size();
+   }
+
+   public void bindTo( final MeterRegistry meterRegistry ) {
+      Gauge.builder( "hub.model.events.subscribers", this, ModelChangeEvents::getSubscriberCount )
+            .description( "Open subscriptions to the model events" )
+            .register( meterRegistry );
+      FunctionCounter.builder( "hub.model.events.dropped", droppedSubscribers, LongAdder::sum )
+            .description( "Subscribers disconnected because they did not keep up with the events" )
+            .register( meterRegistry );
+   }
+
+   public void close() {
+      publisher.shutdownNow();
+      senders.shutdownNow();
+      subscribers.forEach( subscriber -> {
+         subscriber.close();
+         subscriber.emitter.complete();
+      } );
+   }
+
+   private static ThreadFactory daemonThreads( final String name ) {
+      final AtomicInteger threads = new AtomicInteger();
+      return runnable -> {
+         final Thread thread = new Thread( runnable, name + "-" + threads.incrementAndGet() );
+         thread.setDaemon( true );
+         return thread;
+      };
+   }
+}
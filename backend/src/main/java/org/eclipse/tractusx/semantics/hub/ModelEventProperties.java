@@ -0,0 +1,89 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties( "hub.model-events" )
+public class ModelEventProperties {
+
+   /**
+    * The maximum number of events waiting to be sent to a subscriber. A subscriber that falls further behind is
+    * disconnected and resumes with the Last-Event-ID header.
+    * <p>
+    * Default is {100}
+    */
+   private int bufferSize = 100;
+
+   /**
+    * The number of threads sending the events to the subscribers.
+    * <p>
+    * Default is {2}
+    */
+   private int concurrency = 2;
+
+   /**
+    * How often changes made through other instances are picked up. Subscribers receive a comment at the same interval,
+    * to keep the connection open.
+    * <p>
+    * Default is {10s}
+    */
+   private Duration pollInterval = Duration.ofSeconds( 10 );
+
+   /**
+    * How long a subscription stays open, the client reconnects afterwards.
+    * <p>
+    * Default is {30m}
+    */
+   private Duration timeout = Duration.ofMinutes( 30 );
+
+   public int getBufferSize() {
+      return bufferSize;
+   }
+
+   public void setBufferSize( final int bufferSize ) {
+      this.bufferSize = bufferSize;
+   }
+
+   public int getConcurrency() {
+      return concurrency;
+   }
+
+   public void setConcurrency( final int concurrency ) {
+      this.concurrency = concurrency;
+   }
+
+   public Duration getPollInterval() {
+      return pollInterval;
+   }
+
+   public void setPollInterval( final Duration pollInterval ) {
+      this.pollInterval = pollInterval;
+   }
+
+   public Duration getTimeout() {
+      return timeout;
+   }
+
+   public void setTimeout( final Duration timeout ) {
+      this.timeout = timeout;
+   }
+}
@@ -0,0 +1,169 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.tractusx.semantics.hub.model.Error;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModel;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelJob;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelJobStatus;
+import org.eclipse.tractusx.semantics.hub.persistence.PersistenceLayer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Runs model uploads in the background, so the client does not have to wait for the validation. The state of the jobs
+ * is kept for {@link UploadJobProperties#getRetention()} after its last change, in memory of this instance and in the
+ * persistence layer, so any instance can report a job. A job of an instance that stopped while running it stays
+ * RUNNING until it expires.
+ */
+public class ModelUploadJobs {
+
+   private static final Logger LOG = LoggerFactory.getLogger( ModelUploadJobs.class );
+
+   private static final long KEEP_ALIVE_SECONDS = 60;
+
+   /**
+    * A snapshot of a job. Every state change replaces the snapshot, so readers never see a job changing.
+    */
+   private record Job(String id, SemanticModelJobStatus status, OffsetDateTime submittedAt, OffsetDateTime startedAt,
+         OffsetDateTime finishedAt, SemanticModel model, Error error) {
+
+      Job started() {
+         return new Job( id, SemanticModelJobStatus.RUNNING, submittedAt, OffsetDateTime.now(), null, null, null );
+      }
+
+      Job succeeded( final SemanticModel model ) {
+         return new Job( id, SemanticModelJobStatus.SUCCEEDED, submittedAt, startedAt, OffsetDateTime.now(), model, null );
+      }
+
+      Job failed( final Error error ) {
+         return new Job( id, SemanticModelJobStatus.FAILED, submittedAt, startedAt, OffsetDateTime.now(), null, error );
+      }
+
+      SemanticModelJob toSemanticModelJob() {
+         return new SemanticModelJob()
+               .id( id )
+               .status( status )
+               .submittedAt( submittedAt )
+               .startedAt( startedAt )
+               .finishedAt( finishedAt )
+               .model( model )
+               .error( error );
+      }
+   }
+
+   private final Duration retryAfter;
+   private final Duration retention;
+   private final PersistenceLayer persistenceLayer;
+   private final ThreadPoolExecutor executor;
+   private final Cache<String, Job> jobs;
+
+   public ModelUploadJobs( final UploadJobProperties properties, final Duration retryAfter,
+         final PersistenceLayer persistenceLayer ) {
+      this.retryAfter = retryAfter;
+      this.retention = properties.getRetention();
+      this.persistenceLayer = persistenceLayer;
+      final AtomicInteger workers = new AtomicInteger();
+      executor = new ThreadPoolExecutor( properties.getConcurrency(), properties.getConcurrency(), KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS, new ArrayBlockingQueue<>( Math.max( 1, properties.getQueueCapacity() ) ), runnable -> {
+         final Thread thread = new Thread( runnable, "model-upload-" + workers.incrementAndGet() );
+         thread.setDaemon( true );
+         return thread;
+      }, new ThreadPoolExecutor.AbortPolicy() );
+      executor.allowCoreThreadTimeOut( true );
+      jobs = CacheBuilder.newBuilder()
+            .expireAfterWrite( properties.getRetention() )
+            .build();
+   }
+
+   /**
+    * Queues the upload.
+    *
+    * @param upload stores the model and returns it
+    * @return the queued job
+    * @throws ValidationCapacityExceededException if the queue is full
+    */
+   public SemanticModelJob submit( final Supplier<SemanticModel> upload ) {
+      final Job job = new Job( UUID.randomUUID().toString(), SemanticModelJobStatus.QUEUED, OffsetDateTime.now(), null,
+            null, null, null );
+      persistenceLayer.saveUploadJob( job.toSemanticModelJob(), Instant.now().plus( retention ) );
+      jobs.put( job.id(), job );
+      try {
+         executor.execute( () -> run( job, upload ) );
+      } catch ( final RejectedExecutionException exception ) {
+         jobs.invalidate( job.id() );
+         throw new ValidationCapacityExceededException( retryAfter );
+      }
+      return job.toSemanticModelJob();
+   }
+
+   /**
+    * Looks up jobs of other instances in the persistence layer.
+    */
+   public Optional<SemanticModelJob> find( final String jobId ) {
+      final Job job = jobs.getIfPresent( jobId );
+      if ( job != null ) {
+         return Optional.of( job.toSemanticModelJob() );
+      }
+      return persistenceLayer.findUploadJob( jobId );
+   }
+
+   private void run( final Job queued, final Supplier<SemanticModel> upload ) {
+      final Job running = queued.started();
+      update( running );
+      try {
+         update( running.succeeded( upload.get() ) );
+      } catch ( final InvalidAspectModelException exception ) {
+         update( running.failed( new Error().message( exception.getMessage() )
+               .details( new LinkedHashMap<>( exception.getDetails() ) ) ) );
+      } catch ( final RuntimeException exception ) {
+         LOG.warn( "Upload job {} failed", running.id(), exception );
+         update( running.failed( new Error().message( exception.getMessage() ).details( Map.of() ) ) );
+      }
+   }
+
+   /**
+    * Records the new state of a running job. If it cannot be stored, only this instance reports it.
+    */
+   private void update( final Job job ) {
+      jobs.put( job.id(), job );
+      try {
+         persistenceLayer.saveUploadJob( job.toSemanticModelJob(), Instant.now().plus( retention ) );
+      } catch ( final RuntimeException exception ) {
+         LOG.warn( "The state of upload job {} could not be stored", job.id(), exception );
+      }
+   }
+}
@@ -0,0 +1,95 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes a {@link RdfStreamingBody} as Turtle, N-Triples, TriG or JSON-LD, depending on the negotiated content type.
+ * <p>
+ * Turtle, N-Triples and TriG are written while the body emits its statements, so memory does not grow with the size
+ * of the response. JSON-LD cannot be written as a stream, the statements are collected before the document is
+ * written.
+ */
+public class RdfStreamingBodyConverter extends AbstractHttpMessageConverter<RdfStreamingBody> {
+
+   public static final MediaType TEXT_TURTLE = MediaType.valueOf( "text/turtle" );
+   public static final MediaType APPLICATION_N_TRIPLES = MediaType.valueOf( "application/n-triples" );
+   public static final MediaType APPLICATION_TRIG = MediaType.valueOf( "application/trig" );
+   public static final MediaType APPLICATION_LD_JSON = MediaType.valueOf( "application/ld+json" );
+
+   private static final Map<MediaType, RDFFormat> STREAMING_FORMATS = Map.of(
+         TEXT_TURTLE, RDFFormat.TURTLE_BLOCKS,
+         APPLICATION_N_TRIPLES, RDFFormat.NTRIPLES,
+         APPLICATION_TRIG, RDFFormat.TRIG_BLOCKS );
+
+   public RdfStreamingBodyConverter() {
+      super( StandardCharsets.UTF_8, TEXT_TURTLE, APPLICATION_N_TRIPLES, APPLICATION_TRIG, APPLICATION_LD_JSON );
+   }
+
+   @Override
+   protected boolean supports( final Class<?> clazz ) {
+      return RdfStreamingBody.class.isAssignableFrom( clazz );
+   }
+
+   @Override
+   protected boolean canRead( final MediaType mediaType ) {
+      return false;
+   }
+
+   @Override
+   protected RdfStreamingBody readInternal( final Class<? extends RdfStreamingBody> clazz, final HttpInputMessage inputMessage ) {
+      throw new HttpMessageNotReadableException( "RDF request bodies are not supported.", inputMessage );
+   }
+
+   @Override
+   protected void writeInternal( final RdfStreamingBody body, final HttpOutputMessage outputMessage ) throws IOException {
+      final MediaType contentType = outputMessage.getHeaders().getContentType();
+      final RDFFormat format = contentType == null ? RDFFormat.TURTLE_BLOCKS
+            : STREAMING_FORMATS.get( new MediaType( contentType.getType(), contentType.getSubtype() ) );
+      if ( format == null ) {
+         final DatasetGraph dataset = DatasetGraphFactory.create();
+         emit( body, StreamRDFLib.dataset( dataset ) );
+         RDFDataMgr.write( outputMessage.getBody(), dataset, RDFFormat.JSONLD );
+         return;
+      }
+      emit( body, StreamRDFWriter.getWriterStream( outputMessage.getBody(), format ) );
+   }
+
+   private static void emit( final RdfStreamingBody body, final StreamRDF output ) {
+      output.start();
+      body.writeTo( output );
+      output.finish();
+   }
+}
@@ -24,10 +24,19 @@ import java.util.List;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import org.eclipse.esmf.aspectmodel.VersionNumber;
+import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
 import org.eclipse.tractusx.semantics.hub.bamm.SDKAccessHelperBAMM;
+import org.eclipse.tractusx.semantics.hub.cache.ArtifactCache;
+import org.eclipse.tractusx.semantics.hub.cache.ArtifactCache.ArtifactKey;
+import org.eclipse.tractusx.semantics.hub.cache.ArtifactCache.ArtifactType;
+import org.eclipse.tractusx.semantics.hub.cache.ResolvedModelCache;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
 import org.eclipse.tractusx.semantics.hub.model.AasFormat;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModel;
 import org.eclipse.tractusx.semantics.hub.persistence.PersistenceLayer;
 import org.eclipse.tractusx.semantics.hub.samm.SDKAccessHelperSAMM;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import org.eclipse.esmf.aspectmodel.resolver.services.VersionedModel;
@@ -38,12 +47,32 @@ import io.vavr.control.Try;
 @Component
 public class SDKAccessHelper {
 
-   SDKAccessHelperBAMM sdkAccessHelperBAMM = new SDKAccessHelperBAMM();
-   SDKAccessHelperSAMM sdkAccessHelperSAMM = new SDKAccessHelperSAMM();
+   SDKAccessHelperBAMM sdkAccessHelperBAMM;
+   SDKAccessHelperSAMM sdkAccessHelperSAMM;
+
+   private final ArtifactCache artifactCache;
+   private final ResolvedModelCache resolvedModelCache;
+   private PersistenceLayer persistenceLayer;
+
+   public SDKAccessHelper() {
+      this( new ArtifactCache( new CacheProperties.ArtifactCache() ), new ResolvedModelCache( new CacheProperties.ModelCache() ) );
+   }
+
+   @Autowired
+   public SDKAccessHelper( ArtifactCache artifactCache, ResolvedModelCache resolvedModelCache ) {
+      this.artifactCache = artifactCache;
+      this.resolvedModelCache = resolvedModelCache;
+      this.sdkAccessHelperSAMM = new SDKAccessHelperSAMM( resolvedModelCache );
+      this.sdkAccessHelperBAMM = new SDKAccessHelperBAMM( resolvedModelCache );
+   }
 
    public void setPersistenceLayer( PersistenceLayer persistenceLayer ) {
+      this.persistenceLayer = persistenceLayer;
       sdkAccessHelperSAMM.setPersistenceLayer( persistenceLayer );
       sdkAccessHelperBAMM.setPersistenceLayer( persistenceLayer );
+      persistenceLayer.addModelPackageListener( resolvedModelCache );
+      artifactCache.setDependentsLookup( persistenceLayer::getDependentPackages );
+      persistenceLayer.addModelPackageListener( artifactCache );
    }
 
    private boolean isBAMM(String urn){
@@ -65,43 +94,70 @@ public class SDKAccessHelper {
    }
 
    public JsonNode getJsonSchema( String urn ) {
-      if( isBAMM( urn )) {
-         return sdkAccessHelperBAMM.getJsonSchema( urn );
-      }else {
-         return sdkAccessHelperSAMM.getJsonSchema( urn );
-      }
+      final ArtifactKey key = ArtifactKey.of( urn, getModelRevision( urn ), ArtifactType.JSON_SCHEMA );
+      return artifactCache.get( key, () -> getPackageStatus( urn ), () -> {
+         if( isBAMM( urn )) {
+            return sdkAccessHelperBAMM.getJsonSchema( urn );
+         }else {
+            return sdkAccessHelperSAMM.getJsonSchema( urn );
+         }
+      } );
    }
 
    public Try<byte[]> getHtmlDocu( String urn ) {
-      if( isBAMM( urn )) {
-         return sdkAccessHelperBAMM.getHtmlDocu( urn );
-      }else {
-         return sdkAccessHelperSAMM.getHtmlDocu( urn );
-      }
+      final ArtifactKey key = ArtifactKey.of( urn, getModelRevision( urn ), ArtifactType.DOCUMENTATION );
+      return artifactCache.getTry( key, () -> getPackageStatus( urn ), () -> {
+         if( isBAMM( urn )) {
+            return sdkAccessHelperBAMM.getHtmlDocu( urn );
+         }else {
+            return sdkAccessHelperSAMM.getHtmlDocu( urn );
+         }
+      } );
    }
 
    public String getOpenApiDefinitionJson( String urn, String baseUrl ) {
-      if( isBAMM( urn )) {
-         return sdkAccessHelperBAMM.getOpenApiDefinitionJson( urn, baseUrl );
-      }else {
-         return sdkAccessHelperSAMM.getOpenApiDefinitionJson( urn, baseUrl );
-      }
+      final ArtifactKey key = ArtifactKey.of( urn, getModelRevision( urn ), ArtifactType.OPEN_API, null, baseUrl );
+      return artifactCache.get( key, () -> getPackageStatus( urn ), () -> {
+         if( isBAMM( urn )) {
+            return sdkAccessHelperBAMM.getOpenApiDefinitionJson( urn, baseUrl );
+         }else {
+            return sdkAccessHelperSAMM.getOpenApiDefinitionJson( urn, baseUrl );
+         }
+      } );
    }
 
    public Try<String> getExamplePayloadJson( String urn  ) {
-      if( isBAMM( urn )) {
-         return sdkAccessHelperBAMM.getExamplePayloadJson( urn );
-      }else {
-         return sdkAccessHelperSAMM.getExamplePayloadJson( urn );
-      }
+      final ArtifactKey key = ArtifactKey.of( urn, getModelRevision( urn ), ArtifactType.EXAMPLE_PAYLOAD );
+      return artifactCache.getTry( key, () -> getPackageStatus( urn ), () -> {
+         if( isBAMM( urn )) {
+            return sdkAccessHelperBAMM.getExamplePayloadJson( urn );
+         }else {
+            return sdkAccessHelperSAMM.getExamplePayloadJson( urn );
+         }
+      } );
    }
 
    public Try getAasSubmodelTemplate( String urn, AasFormat aasFormat ) {
-      if( isBAMM( urn )) {
-         return sdkAccessHelperBAMM.getAasSubmodelTemplate( urn, aasFormat );
-      }else {
-         return sdkAccessHelperSAMM.getAasSubmodelTemplate( urn, aasFormat );
+      final ArtifactKey key = ArtifactKey.of( urn, getModelRevision( urn ), ArtifactType.AAS_SUBMODEL_TEMPLATE, aasFormat.name(), null );
+      return artifactCache.getTry( key, () -> getPackageStatus( urn ), () -> {
+         if( isBAMM( urn )) {
+            return sdkAccessHelperBAMM.getAasSubmodelTemplate( urn, aasFormat );
+         }else {
+            return sdkAccessHelperSAMM.getAasSubmodelTemplate( urn, aasFormat );
+         }
+      } );
+   }
+
+   private ModelRevision getModelRevision( String urn ) {
+      return persistenceLayer.getModelRevision( AspectModelUrn.fromUrn( urn ) ).orElse( null );
+   }
+
+   private ModelPackageStatus getPackageStatus( String urn ) {
+      final SemanticModel model = persistenceLayer.getModel( AspectModelUrn.fromUrn( urn ) );
+      if ( model == null || model.getStatus() == null ) {
+         return null;
       }
+      return ModelPackageStatus.valueOf( model.getStatus().name() );
    }
 
    public Try<VersionedModel> loadBammModel( String modelString ) {
@@ -19,51 +19,124 @@
  ********************************************************************************/
 package org.eclipse.tractusx.semantics.hub;
 
-import java.net.Authenticator;
-import java.net.http.HttpClient;
-
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.Credentials;
-import org.apache.http.auth.UsernamePasswordCredentials;
-import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.jena.fuseki.main.FusekiServer;
+import org.apache.jena.query.Dataset;
 import org.apache.jena.query.DatasetFactory;
-import org.apache.jena.rdfconnection.LibSec;
-import org.apache.jena.rdfconnection.RDFConnectionRemote;
 import org.apache.jena.rdfconnection.RDFConnectionRemoteBuilder;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.eclipse.tractusx.semantics.hub.cache.ArtifactCache;
+import org.eclipse.tractusx.semantics.hub.cache.NamespaceCache;
+import org.eclipse.tractusx.semantics.hub.cache.ResolvedModelCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import org.eclipse.tractusx.semantics.hub.persistence.PersistenceLayer;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.LocalDatasetConnectionSource;
 import org.eclipse.tractusx.semantics.hub.persistence.triplestore.SdsSdk;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.TripleStoreConnectionManager;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.TripleStoreConnectionSource;
 import org.eclipse.tractusx.semantics.hub.persistence.triplestore.TripleStorePersistence;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.ValidationExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
-@EnableConfigurationProperties( TripleStoreProperties.class )
+@EnableConfigurationProperties( { TripleStoreProperties.class, CacheProperties.class, ValidationProperties.class,
+      UploadJobProperties.class, ModelEventProperties.class } )
 public class TripleStoreConfiguration {
 
+   private static final String LOCAL_DATASET_ENABLED =
+         "${hub.triple-store.tdb.enabled:false} or ${hub.triple-store.embedded.enabled:false}";
+
+   @Bean
+   public AspectModelService aspectModelService( final PersistenceLayer persistenceLayer, final SDKAccessHelper sdkAccessHelper,
+         final ModelUploadJobs modelUploadJobs, final ModelChangeEvents modelChangeEvents ) {
+      return new AspectModelService( persistenceLayer, sdkAccessHelper, modelUploadJobs, modelChangeEvents );
+   }
+
+   @Bean
+   public ModelUploadJobs modelUploadJobs( final UploadJobProperties properties, final ValidationProperties validationProperties,
+         final PersistenceLayer persistenceLayer ) {
+      return new ModelUploadJobs( properties, validationProperties.getRetryAfter(), persistenceLayer );
+   }
+
+   @Bean
+   public ModelChangeEvents modelChangeEvents( final PersistenceLayer persistenceLayer, final ModelEventProperties properties,
+         final MeterRegistry meterRegistry ) {
+      final ModelChangeEvents modelChangeEvents = new ModelChangeEvents( persistenceLayer, properties );
+      modelChangeEvents.bindTo( meterRegistry );
+      return modelChangeEvents;
+   }
+
    @Bean
-   public AspectModelService aspectModelService( final PersistenceLayer persistenceLayer ) {
-      return new AspectModelService( persistenceLayer, new SDKAccessHelper() );
+   public ArtifactCache artifactCache( final CacheProperties properties, final MeterRegistry meterRegistry ) {
+      final ArtifactCache artifactCache = new ArtifactCache( properties.getArtifacts() );
+      artifactCache.bindTo( meterRegistry );
+      return artifactCache;
    }
 
    @Bean
-   public PersistenceLayer tripleStorePersistence( final RDFConnectionRemoteBuilder rdfConnectionRemoteBuilder ) {
-      return new TripleStorePersistence( rdfConnectionRemoteBuilder, new SdsSdk() );
+   public ResolvedModelCache resolvedModelCache( final CacheProperties properties, final MeterRegistry meterRegistry ) {
+      final ResolvedModelCache resolvedModelCache = new ResolvedModelCache( properties.getModels() );
+      resolvedModelCache.bindTo( meterRegistry );
+      return resolvedModelCache;
+   }
+
+   @Bean
+   public PersistenceLayer tripleStorePersistence( final TripleStoreConnectionSource connectionSource,
+         final ValidationExecutor validationExecutor, final NamespaceCache namespaceCache,
+         final TripleStoreProperties properties ) {
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionSource, new SdsSdk(),
+            validationExecutor, namespaceCache );
+      persistence.setRefreshInterval( properties.getRefreshInterval() );
+      persistence.setChangeLogRetention( properties.getChangeLogRetention() );
+      return persistence;
+   }
+
+   @Bean
+   public NamespaceCache namespaceCache( final CacheProperties properties, final MeterRegistry meterRegistry ) {
+      final NamespaceCache namespaceCache = new NamespaceCache( properties.getNamespaces() );
+      namespaceCache.bindTo( meterRegistry );
+      return namespaceCache;
+   }
+
+   @Bean
+   public ValidationExecutor validationExecutor( final ValidationProperties properties, final MeterRegistry meterRegistry ) {
+      final ValidationExecutor validationExecutor = new ValidationExecutor( properties );
+      validationExecutor.bindTo( meterRegistry );
+      return validationExecutor;
    }
 
    /**
-    * Embedded Fuseki triple store for local dev and tests.
+    * Dataset in this process, used instead of a remote triple store: a TDB2 database for single node deployments or an
+    * in-memory dataset for the embedded mode used in local dev and tests. TDB2 takes precedence.
     */
-   @ConditionalOnProperty( prefix = "hub.triple-store.embedded", name = "enabled", havingValue = "true",
-                           matchIfMissing = false )
+   @ConditionalOnExpression( LOCAL_DATASET_ENABLED )
+   @Bean( destroyMethod = "close" )
+   public Dataset localDataset( final TripleStoreProperties properties ) {
+      if ( properties.getTdb().isEnabled() ) {
+         return TDB2Factory.connectDataset( properties.getTdb().getLocation() );
+      }
+      return DatasetFactory.createTxnMem();
+   }
+
+   @ConditionalOnExpression( LOCAL_DATASET_ENABLED )
+   @Bean
+   public LocalDatasetConnectionSource localConnectionSource( final Dataset localDataset ) {
+      return new LocalDatasetConnectionSource( localDataset );
+   }
+
+   /**
+    * Fuseki endpoint for the embedded dataset, so external tools can query it. The hub itself does not use it.
+    */
+   @ConditionalOnExpression( "${hub.triple-store.embedded.enabled:false} and ${hub.triple-store.embedded.server-enabled:true}" )
    @Bean( destroyMethod = "stop" )
-   public FusekiServer fusekiServer( final TripleStoreProperties properties ) {
+   public FusekiServer fusekiServer( final TripleStoreProperties properties, final Dataset localDataset ) {
       final TripleStoreProperties.EmbeddedTripleStore embedded = properties.getEmbedded();
       return FusekiServer.create().port( embedded.getPort() )
-                         .add( embedded.getDefaultDataset(), DatasetFactory.create() )
+                         .add( embedded.getDefaultDataset(), localDataset )
                          .verbose( true )
                          .contextPath( embedded.getContextPath() )
                          .enableStats( true )
@@ -71,24 +144,18 @@ public class TripleStoreConfiguration {
                          .build().start();
    }
 
+   @ConditionalOnExpression( "!(" + LOCAL_DATASET_ENABLED + ")" )
    @Bean
-   public RDFConnectionRemoteBuilder rdfConnectionBuilder( final TripleStoreProperties properties ) {
-      if ( properties.getEmbedded().isEnabled() ) {
-         return RDFConnectionRemote.create().destination( localDestination( properties.getEmbedded() ) );
-      }
-      Credentials credentials = new UsernamePasswordCredentials( properties.getUsername(), properties.getPassword() );
-      BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-      credentialsProvider.setCredentials( AuthScope.ANY, credentials );
-      Authenticator basicAuth = LibSec.authenticator( properties.getUsername(), properties.getPassword() );
-      return RDFConnectionRemote
-            .create()
-            .httpClient(  HttpClient.newBuilder().authenticator(basicAuth).build())
-            .destination( properties.getBaseUrl().toString() )
-            .queryEndpoint( properties.getQueryEndpoint() )
-            .updateEndpoint( properties.getUpdateEndpoint() );
+   public TripleStoreConnectionManager tripleStoreConnectionManager( final TripleStoreProperties properties,
+         final MeterRegistry meterRegistry ) {
+      final TripleStoreConnectionManager connectionManager = new TripleStoreConnectionManager( properties );
+      connectionManager.bindTo( meterRegistry );
+      return connectionManager;
    }
 
-   private static String localDestination( final TripleStoreProperties.EmbeddedTripleStore embedded ) {
-      return "http://localhost:" + embedded.getPort() + embedded.getContextPath() + embedded.getDefaultDataset();
+   @ConditionalOnExpression( "!(" + LOCAL_DATASET_ENABLED + ")" )
+   @Bean
+   public RDFConnectionRemoteBuilder rdfConnectionBuilder( final TripleStoreConnectionManager connectionManager ) {
+      return connectionManager.getConnectionBuilder();
    }
 }
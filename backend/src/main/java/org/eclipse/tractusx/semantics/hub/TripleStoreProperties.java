@@ -20,6 +20,7 @@
 package org.eclipse.tractusx.semantics.hub;
 
 import java.net.URL;
+import java.time.Duration;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -28,10 +29,14 @@ public class TripleStoreProperties {
 
    private final EmbeddedTripleStore embedded = new EmbeddedTripleStore();
 
+   private final ConnectionPool connection = new ConnectionPool();
+
+   private final TdbTripleStore tdb = new TdbTripleStore();
+
    /**
     * The base url for the tripe store connection.
     * <p>
-    * Optional. If the embedded server is enabled the url for the embedded server is used.
+    * Not used if the embedded triple store or TDB2 is enabled.
     */
    private URL baseUrl;
 
@@ -52,6 +57,22 @@ public class TripleStoreProperties {
     */
    private String password;
 
+   /**
+    * How long changes stored through other instances may take to reach the search index, the dependencies and the
+    * caches of this instance. The change log is read on the first request after the interval.
+    * <p>
+    * Default is {5s}
+    */
+   private Duration refreshInterval = Duration.ofSeconds( 5 );
+
+   /**
+    * How long the entries of the change log are kept. Older entries are removed whenever a change is recorded, asking
+    * for the changes since a removed one is answered with 410 Gone.
+    * <p>
+    * Default is {30d}
+    */
+   private Duration changeLogRetention = Duration.ofDays( 30 );
+
    public URL getBaseUrl() {
       return baseUrl;
    }
@@ -60,10 +81,119 @@ public class TripleStoreProperties {
       this.baseUrl = baseUrl;
    }
 
+   public Duration getRefreshInterval() {
+      return refreshInterval;
+   }
+
+   public void setRefreshInterval( final Duration refreshInterval ) {
+      this.refreshInterval = refreshInterval;
+   }
+
+   public Duration getChangeLogRetention() {
+      return changeLogRetention;
+   }
+
+   public void setChangeLogRetention( final Duration changeLogRetention ) {
+      this.changeLogRetention = changeLogRetention;
+   }
+
    public EmbeddedTripleStore getEmbedded() {
       return embedded;
    }
 
+   public ConnectionPool getConnection() {
+      return connection;
+   }
+
+   public TdbTripleStore getTdb() {
+      return tdb;
+   }
+
+   /**
+    * Settings of the TDB2 database used instead of a remote triple store.
+    */
+   public static class TdbTripleStore {
+      /**
+       * Are the models stored in a TDB2 database in this process instead of a remote triple store?
+       * <p>
+       * Default is {false}
+       */
+      private boolean enabled = false;
+
+      /**
+       * The directory of the TDB2 database. It is created if it does not exist.
+       * <p>
+       * Default is {./data/tdb2}
+       */
+      private String location = "./data/tdb2";
+
+      public boolean isEnabled() {
+         return enabled;
+      }
+
+      public void setEnabled( final boolean enabled ) {
+         this.enabled = enabled;
+      }
+
+      public String getLocation() {
+         return location;
+      }
+
+      public void setLocation( final String location ) {
+         this.location = location;
+      }
+   }
+
+   /**
+    * Settings of the HTTP client shared by all connections to the triple store.
+    */
+   public static class ConnectionPool {
+      /**
+       * The number of threads of the HTTP client that sends the requests to the triple store and reads the responses.
+       * <p>
+       * Default is {20}
+       */
+      private int threads = 20;
+
+      /**
+       * The timeout for establishing a new connection.
+       * <p>
+       * Default is {5s}
+       */
+      private Duration connectTimeout = Duration.ofSeconds( 5 );
+
+      /**
+       * The timeout for a single SPARQL query.
+       * <p>
+       * Default is {60s}
+       */
+      private Duration queryTimeout = Duration.ofSeconds( 60 );
+
+      public int getThreads() {
+         return threads;
+      }
+
+      public void setThreads( final int threads ) {
+         this.threads = threads;
+      }
+
+      public Duration getConnectTimeout() {
+         return connectTimeout;
+      }
+
+      public void setConnectTimeout( final Duration connectTimeout ) {
+         this.connectTimeout = connectTimeout;
+      }
+
+      public Duration getQueryTimeout() {
+         return queryTimeout;
+      }
+
+      public void setQueryTimeout( final Duration queryTimeout ) {
+         this.queryTimeout = queryTimeout;
+      }
+   }
+
    public static class EmbeddedTripleStore {
       /**
        * The local port for the Fuseki server.
@@ -79,6 +209,14 @@ public class TripleStoreProperties {
        * Default is {false}
        */
       private boolean enabled = false;
+
+      /**
+       * Is the embedded dataset also served by a Fuseki server, e.g. for external tools? The hub itself always
+       * accesses the embedded dataset directly.
+       * <p>
+       * Default is {true}
+       */
+      private boolean serverEnabled = true;
       private String defaultDataset = "/data";
       private String contextPath = "/fuseki";
 
@@ -106,6 +244,14 @@ public class TripleStoreProperties {
          this.enabled = enabled;
       }
 
+      public boolean isServerEnabled() {
+         return serverEnabled;
+      }
+
+      public void setServerEnabled( final boolean serverEnabled ) {
+         this.serverEnabled = serverEnabled;
+      }
+
       public void setPort( final int port ) {
          this.port = port;
       }
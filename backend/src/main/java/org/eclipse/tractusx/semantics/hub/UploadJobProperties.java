@@ -0,0 +1,73 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties( "hub.upload-jobs" )
+public class UploadJobProperties {
+
+   /**
+    * The maximum number of asynchronous uploads processed at the same time. Their validation additionally goes through
+    * the validation workers.
+    * <p>
+    * Default is {2}
+    */
+   private int concurrency = 2;
+
+   /**
+    * The maximum number of asynchronous uploads waiting to be processed. Further uploads are rejected with 429.
+    * <p>
+    * Default is {100}
+    */
+   private int queueCapacity = 100;
+
+   /**
+    * How long the state of a job is kept after its last change.
+    * <p>
+    * Default is {1h}
+    */
+   private Duration retention = Duration.ofHours( 1 );
+
+   public int getConcurrency() {
+      return concurrency;
+   }
+
+   public void setConcurrency( final int concurrency ) {
+      this.concurrency = concurrency;
+   }
+
+   public int getQueueCapacity() {
+      return queueCapacity;
+   }
+
+   public void setQueueCapacity( final int queueCapacity ) {
+      this.queueCapacity = queueCapacity;
+   }
+
+   public Duration getRetention() {
+      return retention;
+   }
+
+   public void setRetention( final Duration retention ) {
+      this.retention = retention;
+   }
+}
@@ -0,0 +1,73 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties( "hub.validation" )
+public class ValidationProperties {
+
+   /**
+    * The maximum number of models validated at the same time.
+    * <p>
+    * Default is the number of available processors
+    */
+   private int concurrency = Runtime.getRuntime().availableProcessors();
+
+   /**
+    * The maximum number of validations waiting for a free worker. Further uploads are rejected with 429 until the
+    * queue drains.
+    * <p>
+    * Default is {50}
+    */
+   private int queueCapacity = 50;
+
+   /**
+    * The delay suggested to rejected clients in the Retry-After header.
+    * <p>
+    * Default is {5s}
+    */
+   private Duration retryAfter = Duration.ofSeconds( 5 );
+
+   public int getConcurrency() {
+      return concurrency;
+   }
+
+   public void setConcurrency( final int concurrency ) {
+      this.concurrency = concurrency;
+   }
+
+   public int getQueueCapacity() {
+      return queueCapacity;
+   }
+
+   public void setQueueCapacity( final int queueCapacity ) {
+      this.queueCapacity = queueCapacity;
+   }
+
+   public Duration getRetryAfter() {
+      return retryAfter;
+   }
+
+   public void setRetryAfter( final Duration retryAfter ) {
+      this.retryAfter = retryAfter;
+   }
+}
@@ -32,6 +32,7 @@ import java.util.Optional;
 import org.apache.jena.rdf.model.Model;
 import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
 import org.eclipse.tractusx.semantics.hub.ResolutionException;
+import org.eclipse.tractusx.semantics.hub.cache.ResolvedModelCache;
 import org.eclipse.tractusx.semantics.hub.model.AasFormat;
 import org.eclipse.tractusx.semantics.hub.persistence.PersistenceLayer;
 
@@ -61,6 +62,13 @@ import io.vavr.control.Try;
 public class SDKAccessHelperBAMM {
 
    PersistenceLayer persistenceLayer;
+   private final ResolvedModelCache resolvedModelCache;
+
+   private record ResolvedAspectModel(VersionedModel versionedModel, Aspect aspect) {}
+
+   public SDKAccessHelperBAMM( ResolvedModelCache resolvedModelCache ) {
+      this.resolvedModelCache = resolvedModelCache;
+   }
 
    public void setPersistenceLayer( PersistenceLayer persistenceLayer ) {
       this.persistenceLayer = persistenceLayer;
@@ -86,12 +94,8 @@ public class SDKAccessHelperBAMM {
    }
 
    public Try<byte[]> getHtmlDocu( String urn ) {
-      final VersionedModel versionedModel = getVersionedModel( urn );
-      final Try<Aspect> aspect = getAspectFromVersionedModel( versionedModel );
-      if(aspect.isFailure()){
-         throw new RuntimeException( "Failed to load aspect model", aspect.getCause() );
-      }
-      final AspectContext context = new AspectContext( versionedModel, aspect.get() );
+      final ResolvedAspectModel resolvedAspectModel = getResolvedAspectModel( urn );
+      final AspectContext context = new AspectContext( resolvedAspectModel.versionedModel(), resolvedAspectModel.aspect() );
 
       ByteArrayOutputStream output = new ByteArrayOutputStream();
       AspectModelDocumentationGenerator documentationGenerator = new AspectModelDocumentationGenerator( context );
@@ -154,7 +158,26 @@ public class SDKAccessHelperBAMM {
       }
    }
 
-   private io.openmanufacturing.sds.aspectmodel.resolver.services.VersionedModel getVersionedModel( String urn ) {
+   private VersionedModel getVersionedModel( String urn ) {
+      return getResolvedAspectModel( urn ).versionedModel();
+   }
+
+   private Aspect getBamAspect( String urn ) {
+      return getResolvedAspectModel( urn ).aspect();
+   }
+
+   /**
+    * Loads the versioned model and its aspect from the persistence layer, or takes them from the cache if neither the
+    * model nor a referenced package changed since.
+    */
+   private ResolvedAspectModel getResolvedAspectModel( String urn ) {
+      return resolvedModelCache.get( urn, persistenceLayer.getModelRevision( AspectModelUrn.fromUrn( urn ) ).orElse( null ), () -> {
+         final VersionedModel versionedModel = loadVersionedModel( urn );
+         return new ResolvedAspectModel( versionedModel, loadAspect( versionedModel ) );
+      }, resolved -> resolved.versionedModel().getModel().size() );
+   }
+
+   private VersionedModel loadVersionedModel( String urn ) {
       final String modelDefinition = persistenceLayer.getModelDefinition( AspectModelUrn.fromUrn( urn ) );
       final Try<io.openmanufacturing.sds.aspectmodel.resolver.services.VersionedModel> versionedModel = loadBammModel( modelDefinition );
       if ( versionedModel.isFailure() ) {
@@ -163,9 +186,8 @@ public class SDKAccessHelperBAMM {
       return versionedModel.get();
    }
 
-   private io.openmanufacturing.sds.metamodel.Aspect getBamAspect( String urn ) {
-      final Try<io.openmanufacturing.sds.metamodel.Aspect> aspect =
-            getAspectFromVersionedModel( getVersionedModel( urn ) );
+   private Aspect loadAspect( VersionedModel versionedModel ) {
+      final Try<Aspect> aspect = getAspectFromVersionedModel( versionedModel );
       if ( aspect.isFailure() ) {
          throw new RuntimeException( "Failed to load aspect model", aspect.getCause() );
       }
@@ -0,0 +1,197 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
+import org.eclipse.tractusx.semantics.hub.CacheProperties;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
+import org.eclipse.tractusx.semantics.hub.persistence.ModelPackageListener;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.vavr.control.Try;
+
+/**
+ * Bounded cache for artifacts generated from aspect models, e.g. JSON schema, OpenAPI definition or documentation.
+ * <p>
+ * Entries are keyed by the revision of the model, which covers the owning package and every package it references, so
+ * an artifact of a model changed through any instance is never served. Artifacts of RELEASED and STANDARDIZED packages
+ * only change on a status transition and are kept in a separate, long-lived cache. Artifacts of all other packages
+ * expire quickly. In both cases all entries of a package and of the packages referencing it are evicted as soon as the
+ * persistence layer reports a change of that package.
+ */
+public class ArtifactCache implements ModelPackageListener {
+
+   public enum ArtifactType {
+      JSON_SCHEMA,
+      OPEN_API,
+      DOCUMENTATION,
+      EXAMPLE_PAYLOAD,
+      AAS_SUBMODEL_TEMPLATE
+   }
+
+   /**
+    * Identifies an artifact of a revision of a model. Artifacts whose key has no revision are not cached.
+    */
+   public record ArtifactKey(String urn, String packageUrn, @Nullable String revision, ArtifactType type, @Nullable String format,
+         @Nullable String baseUrl) {
+
+      public static ArtifactKey of( final String urn, @Nullable final ModelRevision revision, final ArtifactType type ) {
+         return of( urn, revision, type, null, null );
+      }
+
+      public static ArtifactKey of( final String urn, @Nullable final ModelRevision revision, final ArtifactType type,
+            @Nullable final String format, @Nullable final String baseUrl ) {
+         final String packageUrn = ModelPackageUrn.fromUrn( AspectModelUrn.fromUrn( urn ) ).getUrn();
+         return new ArtifactKey( urn, packageUrn, revision == null ? null : revision.getTag(), type, format, baseUrl );
+      }
+   }
+
+   private final boolean enabled;
+   private final Cache<ArtifactKey, Object> immutableArtifacts;
+   private final Cache<ArtifactKey, Object> draftArtifacts;
+   private volatile Function<ModelPackageUrn, Set<String>> dependentsLookup = urn -> Set.of();
+
+   public ArtifactCache( final CacheProperties.ArtifactCache properties ) {
+      enabled = properties.isEnabled();
+      immutableArtifacts = CacheBuilder.newBuilder()
+            .maximumWeight( properties.getMaximumWeight() )
+            .weigher( ( ArtifactKey key, Object value ) -> weigh( value ) )
+            .expireAfterWrite( properties.getTimeToLive() )
+            .recordStats()
+            .build();
+      draftArtifacts = CacheBuilder.newBuilder()
+            .maximumWeight( properties.getDraftMaximumWeight() )
+            .weigher( ( ArtifactKey key, Object value ) -> weigh( value ) )
+            .expireAfterWrite( properties.getDraftTimeToLive() )
+            .recordStats()
+            .build();
+   }
+
+   /**
+    * @param dependentsLookup finds the packages referencing a package directly or indirectly, their artifacts were
+    *       generated from the package as well
+    */
+   public void setDependentsLookup( final Function<ModelPackageUrn, Set<String>> dependentsLookup ) {
+      this.dependentsLookup = dependentsLookup;
+   }
+
+   public void bindTo( final MeterRegistry meterRegistry ) {
+      GuavaCacheMetrics.monitor( meterRegistry, immutableArtifacts, "hub.artifacts.immutable" );
+      GuavaCacheMetrics.monitor( meterRegistry, draftArtifacts, "hub.artifacts.draft" );
+   }
+
+   /**
+    * Returns the cached artifact or generates and caches it.
+    *
+    * @param key the artifact to look up, it is generated without caching if the key has no revision
+    * @param statusLookup determines the status of the owning package, only called on a cache miss.
+    *       If it returns null, the generated artifact is not cached.
+    * @param generator generates the artifact on a cache miss
+    * @return the artifact
+    */
+   @SuppressWarnings( "unchecked" )
+   public <T> T get( final ArtifactKey key, final Supplier<ModelPackageStatus> statusLookup, final Supplier<T> generator ) {
+      if ( !enabled || key.revision() == null ) {
+         return generator.get();
+      }
+      final Object cached = lookup( key );
+      if ( cached != null ) {
+         return (T) cached;
+      }
+      final T artifact = generator.get();
+      put( key, artifact, statusLookup );
+      return artifact;
+   }
+
+   /**
+    * Same as {@link #get(ArtifactKey, Supplier, Supplier)} for generators that report errors as {@link Try}.
+    * Only successfully generated artifacts are cached.
+    */
+   @SuppressWarnings( "unchecked" )
+   public <T> Try<T> getTry( final ArtifactKey key, final Supplier<ModelPackageStatus> statusLookup,
+         final Supplier<Try<T>> generator ) {
+      if ( !enabled || key.revision() == null ) {
+         return generator.get();
+      }
+      final Object cached = lookup( key );
+      if ( cached != null ) {
+         return Try.success( (T) cached );
+      }
+      final Try<T> artifact = generator.get();
+      artifact.forEach( value -> put( key, value, statusLookup ) );
+      return artifact;
+   }
+
+   @Override
+   public void onPackageChanged( final ModelPackageUrn urn ) {
+      final Set<String> packageUrns = new HashSet<>( dependentsLookup.apply( urn ) );
+      packageUrns.add( urn.getUrn() );
+      immutableArtifacts.asMap().keySet().removeIf( key -> packageUrns.contains( key.packageUrn() ) );
+      draftArtifacts.asMap().keySet().removeIf( key -> packageUrns.contains( key.packageUrn() ) );
+   }
+
+   private Object lookup( final ArtifactKey key ) {
+      final Object immutable = immutableArtifacts.getIfPresent( key );
+      return immutable != null ? immutable : draftArtifacts.getIfPresent( key );
+   }
+
+   private void put( final ArtifactKey key, final Object artifact, final Supplier<ModelPackageStatus> statusLookup ) {
+      if ( artifact == null ) {
+         return;
+      }
+      final ModelPackageStatus status = statusLookup.get();
+      if ( status == null ) {
+         return;
+      }
+      if ( ModelPackageStatus.RELEASED.equals( status ) || ModelPackageStatus.STANDARDIZED.equals( status ) ) {
+         immutableArtifacts.put( key, artifact );
+      } else {
+         draftArtifacts.put( key, artifact );
+      }
+   }
+
+   private static int weigh( final Object artifact ) {
+      final long weight;
+      if ( artifact instanceof byte[] bytes ) {
+         weight = bytes.length;
+      } else if ( artifact instanceof String string ) {
+         weight = (long) string.length() * 2;
+      } else if ( artifact instanceof JsonNode json ) {
+         weight = (long) json.toString().getBytes( StandardCharsets.UTF_8 ).length * 2;
+      } else {
+         weight = 1024;
+      }
+      return (int) Math.min( weight, Integer.MAX_VALUE );
+   }
+}
@@ -0,0 +1,102 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.jena.rdf.model.Model;
+import org.eclipse.tractusx.semantics.hub.CacheProperties;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.persistence.ModelPackageListener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * Cache for the package graphs loaded to resolve the references of uploaded models, shared by all validations.
+ * <p>
+ * Only graphs of RELEASED and STANDARDIZED packages are cached, they only change on a status transition. All entries
+ * of a package are dropped as soon as the persistence layer reports a change of that package. Cached graphs are
+ * treated as read-only.
+ */
+public class NamespaceCache implements ModelPackageListener {
+
+   private final boolean enabled;
+   private final Cache<String, Model> packageGraphs;
+   /**
+    * Incremented on every invalidation. Graphs loaded while an invalidation happened are not cached, because they may
+    * have been loaded before the change.
+    */
+   private final AtomicLong invalidations = new AtomicLong();
+
+   public NamespaceCache( final CacheProperties.NamespaceCache properties ) {
+      enabled = properties.isEnabled();
+      packageGraphs = CacheBuilder.newBuilder()
+            .maximumWeight( properties.getMaximumWeight() )
+            .weigher( ( String packageUrn, Model graph ) ->
+                  (int) Math.min( graph.size() * ResolvedModelCache.ESTIMATED_BYTES_PER_TRIPLE, Integer.MAX_VALUE ) )
+            .expireAfterWrite( properties.getTimeToLive() )
+            .recordStats()
+            .build();
+   }
+
+   public void bindTo( final MeterRegistry meterRegistry ) {
+      GuavaCacheMetrics.monitor( meterRegistry, packageGraphs, "hub.namespaces" );
+   }
+
+   /**
+    * Returns the cached graph of the package or loads it, and caches it if the package is RELEASED or STANDARDIZED.
+    *
+    * @param packageUrn the package urn, up to and including the {@code #}
+    * @param statusLookup determines the status of the package, only called on a cache miss.
+    *       If it returns null, the loaded graph is not cached.
+    * @param loader loads the package graph on a cache miss
+    * @return the package graph
+    */
+   public Model get( final String packageUrn, final Supplier<ModelPackageStatus> statusLookup, final Supplier<Model> loader ) {
+      if ( !enabled ) {
+         return loader.get();
+      }
+      final Model cached = packageGraphs.getIfPresent( packageUrn );
+      if ( cached != null ) {
+         return cached;
+      }
+      final long invalidationsBefore = invalidations.get();
+      final Model graph = loader.get();
+      if ( graph != null && !graph.isEmpty() ) {
+         final ModelPackageStatus status = statusLookup.get();
+         if ( ( ModelPackageStatus.RELEASED.equals( status ) || ModelPackageStatus.STANDARDIZED.equals( status ) )
+               && invalidations.get() == invalidationsBefore ) {
+            packageGraphs.put( packageUrn, graph );
+         }
+      }
+      return graph;
+   }
+
+   @Override
+   public void onPackageChanged( final ModelPackageUrn urn ) {
+      invalidations.incrementAndGet();
+      packageGraphs.invalidate( urn.getUrn() );
+   }
+}
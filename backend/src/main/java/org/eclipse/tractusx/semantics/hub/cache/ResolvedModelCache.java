@@ -0,0 +1,106 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.cache;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
+import org.eclipse.tractusx.semantics.hub.CacheProperties;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
+import org.eclipse.tractusx.semantics.hub.persistence.ModelPackageListener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * Cache for loaded and resolved aspect models, i.e. the versioned model and the aspect instantiated from it.
+ * Entries are shared by all generators and are treated as read-only.
+ * <p>
+ * Entries are keyed by the aspect URN and the revision of the model, which covers the owning package and every package
+ * it references, so a model changed through any instance is never served. Entries are evicted least recently used
+ * once the estimated heap size of all entries exceeds the configured maximum, and after the configured time to live.
+ * The cache works for SAMM as well as for the deprecated BAMM models; the callers define what is stored.
+ */
+public class ResolvedModelCache implements ModelPackageListener {
+
+   /**
+    * Rough estimate of the heap occupied by a single triple of an in-memory Jena model.
+    */
+   public static final long ESTIMATED_BYTES_PER_TRIPLE = 200;
+
+   private record Key(String urn, String packageUrn, String revision) {}
+
+   private record Entry(Object model, int weight) {}
+
+   private final boolean enabled;
+   private final Cache<Key, Entry> models;
+
+   public ResolvedModelCache( final CacheProperties.ModelCache properties ) {
+      this.enabled = properties.isEnabled();
+      this.models = CacheBuilder.newBuilder()
+            .maximumWeight( properties.getMaximumWeight() )
+            .weigher( ( Key key, Entry entry ) -> entry.weight() )
+            .expireAfterWrite( properties.getTimeToLive() )
+            .recordStats()
+            .build();
+   }
+
+   public void bindTo( final MeterRegistry meterRegistry ) {
+      GuavaCacheMetrics.monitor( meterRegistry, models, "hub.models" );
+   }
+
+   /**
+    * Returns the cached model for the given aspect or loads and caches it.
+    *
+    * @param urn the aspect URN
+    * @param revision the revision of the model, the model is loaded without caching if it is null
+    * @param loader loads the model on a cache miss
+    * @param tripleCount the number of triples of a loaded model, used to estimate its heap size
+    * @return the model
+    */
+   @SuppressWarnings( "unchecked" )
+   public <T> T get( final String urn, @Nullable final ModelRevision revision, final Supplier<T> loader,
+         final ToLongFunction<T> tripleCount ) {
+      if ( !enabled || revision == null ) {
+         return loader.get();
+      }
+      final ModelPackageUrn packageUrn = ModelPackageUrn.fromUrn( AspectModelUrn.fromUrn( urn ) );
+      final Key key = new Key( urn, packageUrn.getUrn(), revision.getTag() );
+      final Entry cached = models.getIfPresent( key );
+      if ( cached != null ) {
+         return (T) cached.model();
+      }
+      final T model = loader.get();
+      final long weight = tripleCount.applyAsLong( model ) * ESTIMATED_BYTES_PER_TRIPLE;
+      models.put( key, new Entry( model, (int) Math.min( weight, Integer.MAX_VALUE ) ) );
+      return model;
+   }
+
+   @Override
+   public void onPackageChanged( final ModelPackageUrn urn ) {
+      models.asMap().keySet().removeIf( key -> key.packageUrn().equals( urn.getUrn() ) );
+   }
+}
@@ -0,0 +1,60 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.esmf.aspectmodel.validation.services.AspectModelValidator;
+import org.eclipse.esmf.samm.KnownVersion;
+
+/**
+ * The SHACL validators of the meta models, one per meta model version. Building a validator loads and compiles the
+ * shapes of the meta model, which takes longer than validating most models against them. A validator only reads its
+ * shapes, so one instance per version is shared by all validations.
+ * <p>
+ * The resolver migrates models to the latest meta model version, so resolved models are validated against the shapes
+ * of the latest version.
+ */
+public final class ShapeValidators {
+
+   private static final Map<KnownVersion, AspectModelValidator> SAMM_VALIDATORS = new ConcurrentHashMap<>();
+   private static final Map<io.openmanufacturing.sds.aspectmetamodel.KnownVersion,
+         io.openmanufacturing.sds.aspectmodel.validation.services.AspectModelValidator> BAMM_VALIDATORS = new ConcurrentHashMap<>();
+
+   private ShapeValidators() {
+   }
+
+   public static AspectModelValidator forSamm( final KnownVersion version ) {
+      return SAMM_VALIDATORS.computeIfAbsent( version, AspectModelValidator::new );
+   }
+
+   public static AspectModelValidator forLatestSamm() {
+      return forSamm( KnownVersion.getLatest() );
+   }
+
+   public static io.openmanufacturing.sds.aspectmodel.validation.services.AspectModelValidator forBamm(
+         final io.openmanufacturing.sds.aspectmetamodel.KnownVersion version ) {
+      return BAMM_VALIDATORS.computeIfAbsent( version, io.openmanufacturing.sds.aspectmodel.validation.services.AspectModelValidator::new );
+   }
+
+   public static io.openmanufacturing.sds.aspectmodel.validation.services.AspectModelValidator forLatestBamm() {
+      return forBamm( io.openmanufacturing.sds.aspectmetamodel.KnownVersion.getLatest() );
+   }
+}
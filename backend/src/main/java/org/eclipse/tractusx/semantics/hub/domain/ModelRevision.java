@@ -0,0 +1,48 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.domain;
+
+import java.time.Instant;
+
+import javax.annotation.Nullable;
+
+/**
+ * Identifies a stored state of a model, it changes whenever the model or its status is modified.
+ */
+public class ModelRevision {
+   private final String tag;
+   private final Instant lastModified;
+
+   public ModelRevision( String tag, @Nullable Instant lastModified ) {
+      this.tag = tag;
+      this.lastModified = lastModified;
+   }
+
+   public String getTag() {
+      return tag;
+   }
+
+   /**
+    * @return the time of the last modification, null if it is unknown, e.g. for models stored by an older version
+    */
+   @Nullable
+   public Instant getLastModified() {
+      return lastModified;
+   }
+}
@@ -20,17 +20,27 @@
 
 package org.eclipse.tractusx.semantics.hub.persistence;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
 import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
 import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModel;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelChangeList;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelDependencies;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelImportReport;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelJob;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModelList;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModelStatus;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModelType;
 
+import org.apache.jena.riot.system.StreamRDF;
 import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
 
 /**
@@ -41,9 +51,6 @@ public interface PersistenceLayer {
     * search a list of persisted models based on a set of mandatory and optional parameters
     *
     * @param namespaceFilter substring flag
-    * @param nameFilter substring flag
-    * @param nameType optional string flag determining the scope of the nameFilter (default: the model name
-    *       _NAME_, but maybe refer any RDF object)
     * @param status optional string flag
     * @param page number of the page to deliver
     * @param pageSize size of the pages to batch the results in
@@ -51,15 +58,138 @@ public interface PersistenceLayer {
     */
    SemanticModelList getModels(String namespaceFilter, @Nullable ModelPackageStatus status, Integer page, Integer pageSize );
 
+   /**
+    * search a list of persisted models, continuing directly after the given model (keyset pagination)
+    *
+    * @param namespaceFilter substring flag
+    * @param status optional string flag
+    * @param cursor urn of the last model of the previous page
+    * @param pageSize size of the pages to batch the results in
+    * @return a list of models following the cursor
+    */
+   SemanticModelList getModelsAfter( String namespaceFilter, @Nullable ModelPackageStatus status, String cursor, Integer pageSize );
+
+   /**
+    * search the persisted models by the words in their preferred names and descriptions
+    *
+    * @param query the words that all have to occur in a model, a word also matches words starting with it
+    * @param language optional language of the texts to search, e.g. en also matches en-US
+    * @param namespaceFilter substring flag
+    * @param status optional string flag
+    * @param page number of the page to deliver
+    * @param pageSize size of the pages to batch the results in
+    * @return the matching models of the page, the most relevant first
+    */
+   SemanticModelList searchModels( String query, @Nullable String language, String namespaceFilter,
+         @Nullable ModelPackageStatus status, int page, int pageSize );
+
    SemanticModel getModel(AspectModelUrn urn );
 
    SemanticModel save(SemanticModelType type, String newModel, SemanticModelStatus status);
 
+   /**
+    * changes the status of the package of a persisted model without storing the model again. The same status
+    * transitions as for {@link #save} apply.
+    *
+    * @param urn the urn of the model
+    * @param status the new status of the package
+    * @return the model with its new status
+    */
+   SemanticModel updateStatus( AspectModelUrn urn, SemanticModelStatus status );
+
+   /**
+    * imports many models at once. Models that reference each other are resolved within the import first, all
+    * valid models are stored in one update.
+    *
+    * @param newModels the models keyed by a name identifying them in the report, e.g. the file name
+    * @param status the status of all imported models
+    * @return the outcome for every model
+    */
+   SemanticModelImportReport importModels( Map<String, String> newModels, SemanticModelStatus status );
+
    String getModelDefinition( AspectModelUrn urn );
 
+   /**
+    * writes the definition of a model, i.e. the model and everything it references, statement by statement
+    *
+    * @param urn the urn of the model
+    * @param output receives the statements as triples
+    */
+   void writeModelDefinition( AspectModelUrn urn, StreamRDF output );
+
+   /**
+    * writes the definitions of several models, one named graph per model, named by the model urn. Models that are
+    * not persisted are left out.
+    *
+    * @param urns the urns of the models
+    * @param output receives the statements as quads
+    */
+   void writeModelDefinitions( List<AspectModelUrn> urns, StreamRDF output );
+
    void deleteModelsPackage( ModelPackageUrn urn );
 
+   /**
+    * returns the packages the package of the model references and the packages referencing it
+    *
+    * @param urn the urn of the model
+    * @return the direct dependencies in both directions
+    */
+   SemanticModelDependencies getModelDependencies( AspectModelUrn urn );
+
+   /**
+    * returns the packages referencing the package directly or indirectly, also if the package itself was deleted
+    *
+    * @param urn the urn of the package
+    * @return the urns of the dependent packages
+    */
+   Set<String> getDependentPackages( ModelPackageUrn urn );
+
+   /**
+    * returns the current revision of a model, it changes whenever the package of the model, its status or any package
+    * it references is modified
+    *
+    * @param urn the urn of the model
+    * @return the revision, empty if the package of the model is not persisted
+    */
+   Optional<ModelRevision> getModelRevision( AspectModelUrn urn );
+
+   /**
+    * returns the logged creations, modifications, status changes and deletions of model packages in the order they
+    * were made
+    *
+    * @param sinceSequence optional, only changes with a higher sequence number are returned
+    * @param sinceModified optional, only changes made after this time are returned
+    * @param pageSize the maximum number of changes to return
+    * @return the changes and the sequence number to continue with
+    * @throws org.eclipse.tractusx.semantics.hub.ChangeLogPrunedException if changes after the given sequence number
+    *       or time were already removed from the change log
+    */
+   SemanticModelChangeList getModelChanges( @Nullable Long sinceSequence, @Nullable Instant sinceModified, int pageSize );
+
+   /**
+    * stores the state of an asynchronous upload, so every instance can report it, and removes the expired jobs
+    *
+    * @param job the current state of the job, replaces the previous one
+    * @param expiresAt the job is no longer found after this time
+    */
+   void saveUploadJob( SemanticModelJob job, Instant expiresAt );
+
+   /**
+    * returns the state of an asynchronous upload
+    *
+    * @param jobId the id of the job
+    * @return the job, empty if it is unknown or expired
+    */
+   Optional<SemanticModelJob> findUploadJob( String jobId );
+
    boolean echo();
 
    public SemanticModelList findModelListByUrns(List<AspectModelUrn> urns, int page, int pageSize);
+
+   /**
+    * registers a listener that is notified whenever a model package is modified or deleted
+    *
+    * @param listener the listener to notify
+    */
+   void addModelPackageListener( ModelPackageListener listener );
 }
@@ -38,6 +38,7 @@ import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.rdf.model.StmtIterator;
 import org.apache.jena.vocabulary.RDF;
 import org.eclipse.tractusx.semantics.hub.InvalidAspectModelException;
+import org.eclipse.tractusx.semantics.hub.cache.ShapeValidators;
 
 import io.openmanufacturing.sds.aspectmodel.MissingMetaModelVersionException;
 import io.openmanufacturing.sds.aspectmodel.MultipleMetaModelVersionsException;
@@ -51,7 +52,6 @@ import io.openmanufacturing.sds.aspectmodel.resolver.services.SdsAspectMetaModel
 import io.openmanufacturing.sds.aspectmodel.resolver.services.VersionedModel;
 import io.openmanufacturing.sds.aspectmodel.shacl.violation.Violation;
 import io.openmanufacturing.sds.aspectmodel.urn.AspectModelUrn;
-import io.openmanufacturing.sds.aspectmodel.validation.services.AspectModelValidator;
 import io.vavr.control.Try;
 
 /**
@@ -66,12 +66,10 @@ public class BAMMSdk {
 
    private final AspectMetaModelResourceResolver aspectMetaModelResourceResolver;
    private final AspectModelResolver aspectModelResolver;
-   private final AspectModelValidator aspectModelValidator;
 
    public BAMMSdk() {
       aspectMetaModelResourceResolver = new SdsAspectMetaModelResourceResolver();
       aspectModelResolver = new AspectModelResolver();
-      aspectModelValidator = new AspectModelValidator();
    }
 
    public boolean isApplicable(final Model model){
@@ -82,21 +80,20 @@ public class BAMMSdk {
    public void validate( final Model model, final Function<String, Model> tripleStoreRequester ) {
       final io.openmanufacturing.sds.aspectmodel.resolver.ResolutionStrategy resolutionStrategy = new BAMMSdk.TripleStoreResolutionStrategy( tripleStoreRequester );
 
-      final VersionNumber knownVersion = getKnownVersion( model );
-      final Try<VersionedModel> versionedModel = aspectMetaModelResourceResolver
-            .mergeMetaModelIntoRawModel( model, knownVersion );
+      // fails with a readable message if the meta model version is missing or not supported
+      getKnownVersion( model );
+      // the resolver merges the meta model into the resolved model itself, so the payload is resolved as is
       final ResolutionStrategy firstPayloadThenTripleStore = new EitherStrategy(
-            new SelfResolutionStrategy( versionedModel.get().getRawModel() ),
+            new SelfResolutionStrategy( model ),
             resolutionStrategy );
 
       final AspectModelUrn modelUrn = getAspectUrn( model );
-      final Try<VersionedModel> resolvedModel = versionedModel.flatMap( loadedModel ->
-            aspectModelResolver.resolveAspectModel( firstPayloadThenTripleStore, modelUrn ) );
+      final Try<VersionedModel> resolvedModel = aspectModelResolver.resolveAspectModel( firstPayloadThenTripleStore, modelUrn );
 
       if ( resolvedModel.isFailure() ) {
          throw new InvalidAspectModelException( resolvedModel.getCause().getMessage() );
       }
-      final List<Violation> violations = aspectModelValidator.validateModel( resolvedModel );
+      final List<Violation> violations = ShapeValidators.forLatestBamm().validateModel( resolvedModel );
       if ( !violations.isEmpty() ) {
          final Map<String, String> detailsMap=violations.stream().collect( Collectors.toMap( Violation::errorCode,Violation::message ) );
          throw new InvalidAspectModelException( detailsMap );
@@ -0,0 +1,45 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.rdfconnection.RDFConnection;
+
+/**
+ * Connects to a dataset in this process, e.g. a disk-backed TDB2 database. Queries and updates are executed directly
+ * on the dataset without an HTTP round trip, every query runs in a read transaction and every update in a write
+ * transaction of the dataset.
+ */
+public class LocalDatasetConnectionSource implements TripleStoreConnectionSource {
+
+   private final Dataset dataset;
+
+   public LocalDatasetConnectionSource( final Dataset dataset ) {
+      this.dataset = dataset;
+   }
+
+   @Override
+   public RDFConnection connect() {
+      return RDFConnection.connect( dataset );
+   }
+
+   public Dataset getDataset() {
+      return dataset;
+   }
+}
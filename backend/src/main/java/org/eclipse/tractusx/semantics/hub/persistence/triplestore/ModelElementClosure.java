@@ -0,0 +1,131 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+
+/**
+ * Collects all statements reachable from a model element, i.e. the element itself, everything it references and,
+ * transitively, everything those elements reference.
+ * <p>
+ * The statements are read package by package: the graph of a model package is only loaded when the first element of
+ * that package is reached. Elements of the meta model are not stored and never loaded. Loaded packages are kept for
+ * the lifetime of the instance, so collecting the closures of several elements reads each package only once.
+ */
+final class ModelElementClosure {
+
+   private static final Pattern META_MODEL_PACKAGE = Pattern.compile( SparqlQueries.ALL_SAMM_ASPECT_URN_PREFIX );
+
+   private final Function<String, Model> packageLoader;
+   private final Model loadedPackages = ModelFactory.createDefaultModel();
+   private final Set<String> loadedPackageUrns = new HashSet<>();
+
+   /**
+    * @param packageLoader returns all statements of the model package with the given urn
+    */
+   ModelElementClosure( final Function<String, Model> packageLoader ) {
+      this.packageLoader = packageLoader;
+   }
+
+   /**
+    * @param elementUrn the urn of the element to start from
+    * @param packageLoader returns all statements of the model package with the given urn
+    * @return the statements reachable from the element
+    */
+   static Model of( final String elementUrn, final Function<String, Model> packageLoader ) {
+      return new ModelElementClosure( packageLoader ).collect( elementUrn );
+   }
+
+   /**
+    * @param uri the uri of a model element
+    * @return the urn of the model package the element belongs to, i.e. the uri up to and including the '#'
+    */
+   static Optional<String> packageOf( final String uri ) {
+      final int separator = uri.indexOf( '#' );
+      if ( !uri.startsWith( "urn:" ) || separator < 0 ) {
+         return Optional.empty();
+      }
+      return Optional.of( uri.substring( 0, separator + 1 ) );
+   }
+
+   /**
+    * @param packageUrn the urn of a model package
+    * @return true if the package belongs to the meta model, e.g. the characteristics or units, which are not stored
+    */
+   static boolean isMetaModelPackage( final String packageUrn ) {
+      return META_MODEL_PACKAGE.matcher( packageUrn ).matches();
+   }
+
+   /**
+    * @param elementUrn the urn of the element to start from
+    * @return the statements reachable from the element
+    */
+   Model collect( final String elementUrn ) {
+      final Model closure = ModelFactory.createDefaultModel();
+      collect( elementUrn, closure.getGraph()::add );
+      return closure;
+   }
+
+   /**
+    * Passes the statements reachable from the element to the output as they are found, without collecting them.
+    *
+    * @param elementUrn the urn of the element to start from
+    * @param output receives the statements reachable from the element
+    */
+   void collect( final String elementUrn, final Consumer<Triple> output ) {
+      final Resource root = loadedPackages.createResource( elementUrn );
+      final Deque<Resource> pending = new ArrayDeque<>();
+      final Set<Resource> visited = new HashSet<>();
+      pending.add( root );
+      visited.add( root );
+      while ( !pending.isEmpty() ) {
+         final Resource element = pending.poll();
+         if ( element.isURIResource() ) {
+            loadPackageOf( element.getURI() );
+         }
+         loadedPackages.listStatements( element, null, (RDFNode) null ).forEachRemaining( statement -> {
+            output.accept( statement.asTriple() );
+            final RDFNode object = statement.getObject();
+            if ( object.isResource() && visited.add( object.asResource() ) ) {
+               pending.add( object.asResource() );
+            }
+         } );
+      }
+   }
+
+   private void loadPackageOf( final String uri ) {
+      packageOf( uri )
+            .filter( packageUrn -> !isMetaModelPackage( packageUrn ) )
+            .filter( loadedPackageUrns::add )
+            .ifPresent( packageUrn -> loadedPackages.add( packageLoader.apply( packageUrn ) ) );
+   }
+}
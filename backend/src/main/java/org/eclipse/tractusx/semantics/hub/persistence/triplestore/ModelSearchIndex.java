@@ -0,0 +1,269 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Statement;
+
+/**
+ * In-memory full-text index over the preferred names and descriptions of the stored aspect models.
+ * <p>
+ * Every aspect is one document holding the texts of all elements of its package, the texts of the aspect itself and
+ * preferred names weigh more than the rest. Matches are ranked with BM25. The index is loaded once and then updated on
+ * every write of this instance, so a search does not need to query the triple store.
+ */
+final class ModelSearchIndex {
+
+   private static final Pattern TOKEN_SEPARATOR = Pattern.compile( "[^\\p{L}\\p{N}]+" );
+
+   private static final String PREFERRED_NAME = "preferredName";
+   private static final String DESCRIPTION = "description";
+
+   private static final double PREFERRED_NAME_WEIGHT = 2.0;
+   private static final double DESCRIPTION_WEIGHT = 1.0;
+   private static final double ASPECT_WEIGHT = 2.0;
+   /**
+    * A term that only starts with a search term counts less than the search term itself.
+    */
+   private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+   private static final double K1 = 1.2;
+   private static final double B = 0.75;
+
+   /**
+    * The texts of an aspect in one language: the weighted frequency of every term and the weighted number of terms.
+    */
+   private record Field(Map<String, Double> termFrequencies, double length) {}
+
+   private record Document(String packageUrn, Map<String, Field> fieldsByLanguage) {}
+
+   private record Match(String aspectUrn, double score) {}
+
+   private final Map<String, Document> documents = new HashMap<>();
+   private final NavigableMap<String, Set<String>> postings = new TreeMap<>();
+   private final Map<String, Set<String>> aspectsByPackage = new HashMap<>();
+   private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+   /**
+    * Adds the aspect or replaces its previous texts.
+    *
+    * @param aspectUrn the urn of the aspect
+    * @param packageUrn the urn of the package the aspect belongs to
+    * @param model the model of the package, only the preferred names and descriptions are indexed
+    */
+   void put( final String aspectUrn, final String packageUrn, final Model model ) {
+      final Map<String, Map<String, Double>> termFrequencies = new HashMap<>();
+      model.listStatements().forEachRemaining( statement -> {
+         final double weight = weightOf( statement );
+         if ( weight == 0 ) {
+            return;
+         }
+         final Literal text = statement.getLiteral();
+         final Map<String, Double> frequencies = termFrequencies.computeIfAbsent( text.getLanguage().toLowerCase( Locale.ROOT ),
+               language -> new HashMap<>() );
+         final double elementWeight = aspectUrn.equals( statement.getSubject().getURI() ) ? weight * ASPECT_WEIGHT : weight;
+         tokenize( text.getLexicalForm() ).forEach( term -> frequencies.merge( term, elementWeight, Double::sum ) );
+      } );
+      final Map<String, Field> fields = new HashMap<>();
+      termFrequencies.forEach( ( language, frequencies ) -> fields.put( language,
+            new Field( frequencies, frequencies.values().stream().mapToDouble( Double::doubleValue ).sum() ) ) );
+
+      lock.writeLock().lock();
+      try {
+         remove( aspectUrn );
+         documents.put( aspectUrn, new Document( packageUrn, fields ) );
+         aspectsByPackage.computeIfAbsent( packageUrn, urn -> new HashSet<>() ).add( aspectUrn );
+         fields.values().forEach( field -> field.termFrequencies().keySet()
+               .forEach( term -> postings.computeIfAbsent( term, t -> new HashSet<>() ).add( aspectUrn ) ) );
+      } finally {
+         lock.writeLock().unlock();
+      }
+   }
+
+   void removePackage( final String packageUrn ) {
+      lock.writeLock().lock();
+      try {
+         final Set<String> aspectUrns = aspectsByPackage.get( packageUrn );
+         if ( aspectUrns != null ) {
+            List.copyOf( aspectUrns ).forEach( this::remove );
+         }
+      } finally {
+         lock.writeLock().unlock();
+      }
+   }
+
+   void clear() {
+      lock.writeLock().lock();
+      try {
+         documents.clear();
+         postings.clear();
+         aspectsByPackage.clear();
+      } finally {
+         lock.writeLock().unlock();
+      }
+   }
+
+   /**
+    * Finds the aspects whose texts contain every term of the query, a term also matches the terms starting with it.
+    *
+    * @param query the search terms
+    * @param language only texts in this language are searched, e.g. "en" also matches "en-US". All texts are searched
+    *       if null.
+    * @return the urns of the matching aspects, the most relevant first
+    */
+   List<String> search( final String query, @Nullable final String language ) {
+      final List<String> terms = tokenize( query ).stream().distinct().toList();
+      if ( terms.isEmpty() ) {
+         return List.of();
+      }
+      final String languageFilter = language == null || language.isBlank() ? null : language.toLowerCase( Locale.ROOT );
+      lock.readLock().lock();
+      try {
+         final double averageLength = averageLength( languageFilter );
+         Map<String, Double> scores = null;
+         for ( final String term : terms ) {
+            final Map<String, Double> termScores = score( term, languageFilter, averageLength );
+            if ( scores == null ) {
+               scores = termScores;
+            } else {
+               scores.keySet().retainAll( termScores.keySet() );
+               scores.replaceAll( ( aspectUrn, score ) -> score + termScores.get( aspectUrn ) );
+            }
+         }
+         return scores.entrySet().stream()
+               .map( entry -> new Match( entry.getKey(), entry.getValue() ) )
+               .sorted( Comparator.comparingDouble( Match::score ).reversed().thenComparing( Match::aspectUrn ) )
+               .map( Match::aspectUrn )
+               .toList();
+      } finally {
+         lock.readLock().unlock();
+      }
+   }
+
+   /**
+    * @return the BM25 score of every aspect containing the term or a term starting with it
+    */
+   private Map<String, Double> score( final String term, @Nullable final String language, final double averageLength ) {
+      final Map<String, Double> scores = new HashMap<>();
+      postings.subMap( term, true, term + Character.MAX_VALUE, false ).forEach( ( indexedTerm, aspectUrns ) -> {
+         final double idf = Math.log( 1 + (documents.size() - aspectUrns.size() + 0.5) / (aspectUrns.size() + 0.5) );
+         final double matchWeight = indexedTerm.equals( term ) ? 1 : PREFIX_MATCH_WEIGHT;
+         aspectUrns.forEach( aspectUrn -> {
+            double frequency = 0;
+            double length = 0;
+            for ( final Map.Entry<String, Field> field : documents.get( aspectUrn ).fieldsByLanguage().entrySet() ) {
+               if ( matchesLanguage( field.getKey(), language ) ) {
+                  frequency += field.getValue().termFrequencies().getOrDefault( indexedTerm, 0.0 );
+                  length += field.getValue().length();
+               }
+            }
+            if ( frequency > 0 ) {
+               final double score = idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+               scores.merge( aspectUrn, matchWeight * score, Double::sum );
+            }
+         } );
+      } );
+      return scores;
+   }
+
+   private double averageLength( @Nullable final String language ) {
+      double length = 0;
+      int count = 0;
+      for ( final Document document : documents.values() ) {
+         for ( final Map.Entry<String, Field> field : document.fieldsByLanguage().entrySet() ) {
+            if ( matchesLanguage( field.getKey(), language ) ) {
+               length += field.getValue().length();
+               count++;
+            }
+         }
+      }
+      return count == 0 ? 1 : length / count;
+   }
+
+   private void remove( final String aspectUrn ) {
+      final Document document = documents.remove( aspectUrn );
+      if ( document == null ) {
+         return;
+      }
+      final Set<String> packageAspects = aspectsByPackage.get( document.packageUrn() );
+      packageAspects.remove( aspectUrn );
+      if ( packageAspects.isEmpty() ) {
+         aspectsByPackage.remove( document.packageUrn() );
+      }
+      document.fieldsByLanguage().values().forEach( field -> field.termFrequencies().keySet().forEach( term -> {
+         final Set<String> aspectUrns = postings.get( term );
+         aspectUrns.remove( aspectUrn );
+         if ( aspectUrns.isEmpty() ) {
+            postings.remove( term );
+         }
+      } ) );
+   }
+
+   private static boolean matchesLanguage( final String fieldLanguage, @Nullable final String language ) {
+      return language == null || fieldLanguage.equals( language ) || fieldLanguage.startsWith( language + "-" );
+   }
+
+   /**
+    * @return the weight of the statement if it is a preferred name or description of the meta model, 0 otherwise
+    */
+   private static double weightOf( final Statement statement ) {
+      if ( !statement.getObject().isLiteral() || !statement.getSubject().isURIResource() ) {
+         return 0;
+      }
+      final String property = statement.getPredicate().getURI();
+      final boolean metaModelProperty = ModelElementClosure.packageOf( property )
+            .filter( ModelElementClosure::isMetaModelPackage )
+            .isPresent();
+      if ( !metaModelProperty ) {
+         return 0;
+      }
+      return switch ( statement.getPredicate().getLocalName() ) {
+         case PREFERRED_NAME -> PREFERRED_NAME_WEIGHT;
+         case DESCRIPTION -> DESCRIPTION_WEIGHT;
+         default -> 0;
+      };
+   }
+
+   private static List<String> tokenize( final String text ) {
+      final List<String> terms = new ArrayList<>();
+      for ( final String token : TOKEN_SEPARATOR.split( text.toLowerCase( Locale.ROOT ) ) ) {
+         if ( !token.isEmpty() ) {
+            terms.add( token );
+         }
+      }
+      return terms;
+   }
+}
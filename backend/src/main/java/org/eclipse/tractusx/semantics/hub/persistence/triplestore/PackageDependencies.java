@@ -0,0 +1,140 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
+
+/**
+ * In-memory index of the stored model packages: the status of every package, the packages it references and the
+ * packages referencing it.
+ * <p>
+ * The index mirrors the catalog, it is loaded once and then updated on every write of this instance and from the
+ * change log for writes of other instances, so the dependencies of a package can be looked up without querying the
+ * triple store.
+ */
+final class PackageDependencies {
+
+   private final Map<String, ModelPackageStatus> statuses = new HashMap<>();
+   private final Map<String, Set<String>> dependencies = new HashMap<>();
+   private final Map<String, Set<String>> dependents = new HashMap<>();
+
+   /**
+    * @param packageUrn the urn of the package the model belongs to
+    * @param model the model of the package
+    * @return the urns of all other packages the model references, without the packages of the meta model
+    */
+   static Set<String> referencedPackages( final String packageUrn, final Model model ) {
+      final Set<String> referencedPackages = new TreeSet<>();
+      model.listStatements().forEachRemaining( statement ->
+            Stream.of( statement.getSubject(), statement.getPredicate(), statement.getObject() )
+                  .filter( RDFNode::isURIResource )
+                  .map( node -> ((Resource) node).getURI() )
+                  .map( ModelElementClosure::packageOf )
+                  .flatMap( Optional::stream )
+                  .filter( referencedPackage -> !referencedPackage.equals( packageUrn ) )
+                  .filter( referencedPackage -> !ModelElementClosure.isMetaModelPackage( referencedPackage ) )
+                  .forEach( referencedPackages::add ) );
+      return referencedPackages;
+   }
+
+   /**
+    * Adds the package or replaces its previous status and references.
+    */
+   synchronized void put( final String packageUrn, final ModelPackageStatus status, final Set<String> referencedPackages ) {
+      remove( packageUrn );
+      statuses.put( packageUrn, status );
+      dependencies.put( packageUrn, new TreeSet<>( referencedPackages ) );
+      referencedPackages.forEach( referencedPackage ->
+            dependents.computeIfAbsent( referencedPackage, urn -> new TreeSet<>() ).add( packageUrn ) );
+   }
+
+   synchronized void remove( final String packageUrn ) {
+      statuses.remove( packageUrn );
+      final Set<String> referencedPackages = dependencies.remove( packageUrn );
+      if ( referencedPackages == null ) {
+         return;
+      }
+      referencedPackages.forEach( referencedPackage -> {
+         final Set<String> packageDependents = dependents.get( referencedPackage );
+         packageDependents.remove( packageUrn );
+         if ( packageDependents.isEmpty() ) {
+            dependents.remove( referencedPackage );
+         }
+      } );
+   }
+
+   synchronized void clear() {
+      statuses.clear();
+      dependencies.clear();
+      dependents.clear();
+   }
+
+   /**
+    * @return the urns of all known packages
+    */
+   synchronized Set<String> packages() {
+      return Set.copyOf( statuses.keySet() );
+   }
+
+   synchronized Optional<ModelPackageStatus> statusOf( final String packageUrn ) {
+      return Optional.ofNullable( statuses.get( packageUrn ) );
+   }
+
+   /**
+    * @return the urns of the packages the package references, ordered by urn
+    */
+   synchronized List<String> dependenciesOf( final String packageUrn ) {
+      return List.copyOf( dependencies.getOrDefault( packageUrn, Set.of() ) );
+   }
+
+   /**
+    * @return the urns of the packages referencing the package, ordered by urn
+    */
+   synchronized List<String> dependentsOf( final String packageUrn ) {
+      return List.copyOf( dependents.getOrDefault( packageUrn, Set.of() ) );
+   }
+
+   /**
+    * @return the urns of the packages referencing the package directly or indirectly, ordered by urn
+    */
+   synchronized Set<String> allDependentsOf( final String packageUrn ) {
+      final Set<String> allDependents = new TreeSet<>();
+      final Deque<String> pending = new ArrayDeque<>( List.of( packageUrn ) );
+      while ( !pending.isEmpty() ) {
+         dependents.getOrDefault( pending.pop(), Set.of() ).stream()
+               .filter( allDependents::add )
+               .forEach( pending::push );
+      }
+      allDependents.remove( packageUrn );
+      return allDependents;
+   }
+}
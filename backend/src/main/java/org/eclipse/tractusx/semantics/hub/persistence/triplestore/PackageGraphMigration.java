@@ -0,0 +1,160 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves models stored by older versions in the default graph into one named graph per model package.
+ * <p>
+ * Every statement goes to the package of its subject, statements about blank nodes go to the package of the resource
+ * the blank node belongs to. The package status is not copied, it is kept in the catalog only.
+ * <p>
+ * Only one instance of the hub migrates at a time: it claims the migration in the catalog first, and copies every
+ * package in a separate update that only applies while it holds the claim and that records the package as copied. A
+ * claim without progress for {@link #STALE_AFTER} is taken over, the new owner skips the packages already copied.
+ */
+final class PackageGraphMigration {
+
+   private static final Logger LOG = LoggerFactory.getLogger( PackageGraphMigration.class );
+
+   static final Duration STALE_AFTER = Duration.ofMinutes( 5 );
+   static final Duration MAX_WAIT = Duration.ofSeconds( 30 );
+   private static final Duration POLL_INTERVAL = Duration.ofSeconds( 1 );
+
+   private PackageGraphMigration() {
+   }
+
+   /**
+    * Migrates the content of the default graph, if there is any. Waits up to {@link #MAX_WAIT} if another instance is
+    * migrating.
+    *
+    * @param rdfConnection the connection to the triple store
+    * @throws IllegalStateException if another instance is still migrating
+    */
+   static void migrate( final RDFConnection rdfConnection ) {
+      migrate( rdfConnection, MAX_WAIT );
+   }
+
+   static void migrate( final RDFConnection rdfConnection, final Duration maxWait ) {
+      final Instant deadline = Instant.now().plus( maxWait );
+      while ( rdfConnection.queryAsk( SparqlQueries.buildDefaultGraphNotEmptyQuery() ) ) {
+         final Instant started = Instant.now();
+         rdfConnection.update( SparqlQueries.buildClaimMigrationRequest( started, started.minus( STALE_AFTER ) ) );
+         if ( rdfConnection.queryAsk( SparqlQueries.buildMigrationClaimedQuery( started ) ) ) {
+            copyPackages( rdfConnection, started );
+            return;
+         }
+         if ( Instant.now().isAfter( deadline ) ) {
+            throw new IllegalStateException( "The models in the default graph are being moved by another instance." );
+         }
+         LOG.info( "Waiting for another instance to move the models in the default graph into package graphs." );
+         try {
+            Thread.sleep( POLL_INTERVAL.toMillis() );
+         } catch ( final InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted while waiting for the migration of the default graph.", exception );
+         }
+      }
+   }
+
+   private static void copyPackages( final RDFConnection rdfConnection, final Instant started ) {
+      final Model defaultGraph = rdfConnection.queryConstruct( SparqlQueries.buildFindDefaultGraphQuery() );
+      final Set<String> migratedPackages = new HashSet<>();
+      rdfConnection.querySelect( SparqlQueries.buildFindMigratedPackagesQuery(),
+            result -> migratedPackages.add( result.get( SparqlQueries.PACKAGE ).toString() ) );
+      final Map<String, Model> packages = splitByPackage( defaultGraph );
+      Instant claim = started;
+      for ( final Map.Entry<String, Model> modelPackage : packages.entrySet() ) {
+         if ( migratedPackages.contains( modelPackage.getKey() ) ) {
+            continue;
+         }
+         final Instant progress = Instant.now();
+         rdfConnection.update( SparqlQueries.buildMigratePackageRequest( modelPackage.getKey(), modelPackage.getValue(), claim,
+               progress ) );
+         claim = progress;
+         if ( !rdfConnection.queryAsk( SparqlQueries.buildMigrationClaimedQuery( claim ) ) ) {
+            throw new IllegalStateException( "The migration of the default graph was taken over by another instance." );
+         }
+      }
+      rdfConnection.update( SparqlQueries.buildFinishMigrationRequest() );
+      LOG.info( "Moved {} triples of {} model packages from the default graph into package graphs, {} were moved before.",
+            defaultGraph.size(), packages.size() - migratedPackages.size(), migratedPackages.size() );
+   }
+
+   /**
+    * Splits the given model into one model per model package.
+    *
+    * @param model the model containing any number of packages
+    * @return the models keyed by the package urn
+    */
+   static Map<String, Model> splitByPackage( final Model model ) {
+      final Map<String, Model> packages = new LinkedHashMap<>();
+      model.listSubjects().filterKeep( Resource::isURIResource ).forEachRemaining( subject -> {
+         final String uri = subject.getURI();
+         final int separator = uri.indexOf( '#' );
+         if ( separator < 0 ) {
+            LOG.warn( "Skipping statements of {}, it does not belong to any model package.", uri );
+            return;
+         }
+         final String packageUrn = uri.substring( 0, separator + 1 );
+         copyWithBlankNodes( model, subject, packages.computeIfAbsent( packageUrn, urn -> ModelFactory.createDefaultModel() ) );
+      } );
+      return packages;
+   }
+
+   private static void copyWithBlankNodes( final Model source, final Resource subject, final Model target ) {
+      final Deque<Resource> pending = new ArrayDeque<>();
+      final Set<Resource> visited = new HashSet<>();
+      pending.add( subject );
+      while ( !pending.isEmpty() ) {
+         source.listStatements( pending.poll(), null, (RDFNode) null ).forEachRemaining( statement -> {
+            if ( isPackageStatus( statement ) ) {
+               return;
+            }
+            target.add( statement );
+            final RDFNode object = statement.getObject();
+            if ( object.isAnon() && visited.add( object.asResource() ) ) {
+               pending.add( object.asResource() );
+            }
+         } );
+      }
+   }
+
+   private static boolean isPackageStatus( final Statement statement ) {
+      return statement.getPredicate().equals( SparqlQueries.STATUS_PROPERTY ) && statement.getSubject().getURI() != null
+            && statement.getSubject().getURI().endsWith( "#" );
+   }
+}
@@ -0,0 +1,166 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.syntax.Element;
+import org.apache.jena.sparql.syntax.ElementData;
+import org.apache.jena.sparql.syntax.ElementSubQuery;
+import org.apache.jena.sparql.syntax.ElementVisitorBase;
+import org.apache.jena.sparql.syntax.ElementWalker;
+import org.apache.jena.sparql.syntax.syntaxtransform.ElementTransformSubst;
+import org.apache.jena.sparql.syntax.syntaxtransform.ExprTransformNodeElement;
+import org.apache.jena.sparql.syntax.syntaxtransform.NodeTransformSubst;
+import org.apache.jena.sparql.syntax.syntaxtransform.QueryTransformOps;
+
+/**
+ * A SPARQL query that is parsed once and then bound to the parameters of each request. Binding works on the parsed
+ * query, so the query text is not parsed again per request.
+ * <p>
+ * Parameters are variables of the query, e.g. {@code $urnParam}, that are replaced by the bound values. A parameter
+ * that is not bound stays an unbound variable. Besides parameters, a binding can fill the rows of a {@code VALUES}
+ * block that is empty in the template, and set the page of every (sub) query that has a {@code LIMIT} in the template.
+ */
+final class QueryTemplate {
+
+   private final Query template;
+
+   private QueryTemplate( final Query template ) {
+      this.template = template;
+   }
+
+   /**
+    * @param query the SPARQL query, without prefix declarations
+    * @param prefixes the prefixes used by the query
+    */
+   static QueryTemplate parse( final String query, final PrefixMapping prefixes ) {
+      final Query template = new Query();
+      template.setPrefixMapping( prefixes );
+      QueryFactory.parse( template, query, null, null );
+      template.setResultVars();
+      return new QueryTemplate( template );
+   }
+
+   /**
+    * @return the query itself, for templates without parameters. The query is shared and must not be modified.
+    */
+   Query asQuery() {
+      return template;
+   }
+
+   Bindings bind() {
+      return new Bindings();
+   }
+
+   /**
+    * The values of one request. Each call of {@link #asQuery()} returns a new query, the template is left unchanged.
+    */
+   final class Bindings {
+
+      private final Map<Var, Node> parameters = new HashMap<>();
+      private final Map<Var, List<Node>> rows = new HashMap<>();
+      private Long limit;
+      private Long offset;
+
+      Bindings set( final String parameter, final Node value ) {
+         parameters.put( Var.alloc( parameter ), value );
+         return this;
+      }
+
+      Bindings setIri( final String parameter, final String iri ) {
+         return set( parameter, NodeFactory.createURI( iri ) );
+      }
+
+      Bindings setLiteral( final String parameter, final String value ) {
+         return set( parameter, NodeFactory.createLiteral( value ) );
+      }
+
+      /**
+       * Fills the empty {@code VALUES} block of the variable, one row per value.
+       */
+      Bindings values( final String variable, final List<Node> values ) {
+         rows.put( Var.alloc( variable ), values );
+         return this;
+      }
+
+      Bindings limit( final long limit ) {
+         this.limit = limit;
+         return this;
+      }
+
+      Bindings offset( final long offset ) {
+         this.offset = offset;
+         return this;
+      }
+
+      Query asQuery() {
+         if ( rows.isEmpty() && limit == null && offset == null ) {
+            return parameters.isEmpty() ? template : QueryTransformOps.transform( template, parameters );
+         }
+         final ElementTransformSubst transform = new ElementTransformSubst( parameters ) {
+            @Override
+            public Element transform( final ElementData data ) {
+               if ( data.getVars().size() != 1 || !rows.containsKey( data.getVars().get( 0 ) ) ) {
+                  return super.transform( data );
+               }
+               final Var variable = data.getVars().get( 0 );
+               return new ElementData( List.of( variable ), rows.get( variable ).stream()
+                     .map( value -> BindingFactory.binding( variable, value ) )
+                     .collect( Collectors.toList() ) );
+            }
+         };
+         final Query query = QueryTransformOps.transform( template, transform,
+               new ExprTransformNodeElement( new NodeTransformSubst( parameters ), transform ) );
+         applyPage( query );
+         return query;
+      }
+
+      /**
+       * Sets the page of the query and its sub queries. The transformation copied all of them, the template is not
+       * affected.
+       */
+      private void applyPage( final Query query ) {
+         if ( query.hasLimit() ) {
+            if ( limit != null ) {
+               query.setLimit( limit );
+            }
+            if ( offset != null ) {
+               query.setOffset( offset );
+            }
+         }
+         ElementWalker.walk( query.getQueryPattern(), new ElementVisitorBase() {
+            @Override
+            public void visit( final ElementSubQuery subQuery ) {
+               applyPage( subQuery.getQuery() );
+            }
+         } );
+      }
+   }
+}
@@ -49,8 +49,8 @@ import org.eclipse.esmf.aspectmodel.resolver.services.SammAspectMetaModelResourc
 import org.eclipse.esmf.aspectmodel.resolver.services.VersionedModel;
 import org.eclipse.esmf.aspectmodel.shacl.violation.Violation;
 import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
-import org.eclipse.esmf.aspectmodel.validation.services.AspectModelValidator;
 import org.eclipse.tractusx.semantics.hub.InvalidAspectModelException;
+import org.eclipse.tractusx.semantics.hub.cache.ShapeValidators;
 
 import io.vavr.control.Try;
 
@@ -62,32 +62,30 @@ public class SAMMSdk {
 
    private final AspectMetaModelResourceResolver aspectMetaModelResourceResolver;
    private final AspectModelResolver aspectModelResolver;
-   private final AspectModelValidator aspectModelValidator;
 
    public SAMMSdk() {
       aspectMetaModelResourceResolver = new SammAspectMetaModelResourceResolver();
       aspectModelResolver = new AspectModelResolver();
-      aspectModelValidator = new AspectModelValidator();
    }
 
    public void validate( final Model model, final Function<String, Model> tripleStoreRequester ) {
       final ResolutionStrategy resolutionStrategy =
             new SAMMSdk.TripleStoreResolutionStrategy( tripleStoreRequester );
 
-      final VersionNumber knownVersion = getKnownVersion( model );
-      final Try<VersionedModel> versionedModel = aspectMetaModelResourceResolver.mergeMetaModelIntoRawModel( model, knownVersion );
+      // fails with a readable message if the meta model version is missing or not supported
+      getKnownVersion( model );
+      // the resolver merges the meta model into the resolved model itself, so the payload is resolved as is
       final ResolutionStrategy firstPayloadThenTripleStore = new EitherStrategy(
-            new SelfResolutionStrategy( versionedModel.get().getRawModel() ),
+            new SelfResolutionStrategy( model ),
             resolutionStrategy );
 
       final AspectModelUrn modelUrn = getAspectUrn( model );
-      final Try<VersionedModel> resolvedModel = versionedModel.flatMap( loadedModel ->
-            aspectModelResolver.resolveAspectModel( firstPayloadThenTripleStore, modelUrn ) );
+      final Try<VersionedModel> resolvedModel = aspectModelResolver.resolveAspectModel( firstPayloadThenTripleStore, modelUrn );
 
       if ( resolvedModel.isFailure() ) {
          throw new InvalidAspectModelException( resolvedModel.getCause().getMessage() );
       }
-      final List<Violation> violations = aspectModelValidator.validateModel( resolvedModel );
+      final List<Violation> violations = ShapeValidators.forLatestSamm().validateModel( resolvedModel );
       if ( !violations.isEmpty() ) {
          final Map<String, String> detailsMap=violations.stream().collect( Collectors.toMap( Violation::errorCode,Violation::message ) );
          throw new InvalidAspectModelException( detailsMap );
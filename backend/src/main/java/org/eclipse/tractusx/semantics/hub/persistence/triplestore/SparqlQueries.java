@@ -20,44 +20,64 @@
 package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
 
 import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
 import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelChangeType;
 
-import com.google.common.collect.Lists;
-
-import ch.qos.logback.core.pattern.LiteralConverter;
-
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.apache.commons.lang3.StringUtils;
-import org.apache.jena.datatypes.BaseDatatype;
-import org.apache.jena.datatypes.RDFDatatype;
-import org.apache.jena.datatypes.xsd.impl.XSDPlainType;
-import org.apache.jena.graph.impl.AdhocDatatype;
-import org.apache.jena.query.ParameterizedSparqlString;
 import org.apache.jena.query.Query;
-import org.apache.jena.query.QuerySolutionMap;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.Property;
-import org.apache.jena.rdf.model.RDFList;
-import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.ResourceFactory;
-import org.apache.jena.rdf.model.impl.RDFListImpl;
-import org.apache.jena.reasoner.rulesys.FunctorDatatype;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.syntax.syntaxtransform.UpdateTransformOps;
+import org.apache.jena.update.UpdateFactory;
 import org.apache.jena.update.UpdateRequest;
+import org.apache.jena.arq.querybuilder.UpdateBuilder;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.sparql.modify.request.UpdateModify;
+import org.apache.jena.sparql.syntax.ElementGroup;
+import org.apache.jena.sparql.syntax.ElementNamedGraph;
+import org.apache.jena.sparql.syntax.ElementPathBlock;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sparql.modify.request.UpdateDrop;
 
 import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
 
 public class SparqlQueries {
    private static final String AUXILIARY_NAMESPACE = "urn:bamm:io.openmanufacturing:aspect-model:aux#";
 
-   private static final String NAME_TYPE_NAME = "_NAME_";
-   private static final String NAME_TYPE_DESCRIPTION = "_DESCRIPTION_";
-
    public static final String ASPECT = "aspect";
    public static final String STATUS_RESULT = "statusResult";
+   public static final String ASPECT_MODEL_COUNT = "aspectModelCount";
+   public static final String PACKAGE = "package";
+   public static final String DEPENDENCY = "dependency";
+   public static final String REVISION = "revision";
+   public static final String MODIFIED = "modified";
+   public static final String ELEMENT = "element";
+   public static final String PROPERTY = "property";
+   public static final String TEXT = "text";
+   public static final String SEQUENCE = "sequence";
+   public static final String CHANGE_TYPE = "changeType";
+   public static final String LAST_SEQUENCE = "lastSequence";
+   public static final String PRUNED_SEQUENCE = "prunedSequence";
+   public static final String PRUNED_BEFORE = "prunedBefore";
+   public static final String PREVIOUS_STATUS = "previousStatus";
    public static final String SAMM_ASPECT_URN_REGEX = "(urn:samm:org.eclipse.esmf.samm:meta-model:\\d\\.\\d\\.\\d#Aspect)|(urn:bamm:io.openmanufacturing:meta-model:\\d\\.\\d\\.\\d#Aspect)";
    public static final String BAMM_ASPECT_URN_REGEX = "(urn:samm:org.eclipse.esmf.samm:meta-model:\\d\\.\\d\\.\\d#Aspect)|(urn:bamm:io.openmanufacturing:meta-model:\\d\\.\\d\\.\\d#Aspect)";
    public static final String ALL_SAMM_ASPECT_URN_PREFIX = "(urn:samm:org.eclipse.esmf.samm:([a-z]|-)+:\\d\\.\\d\\.\\d#)|(urn:bamm:io.openmanufacturing:([a-z]|-)+:\\d\\.\\d\\.\\d#)";
@@ -67,209 +87,897 @@ public class SparqlQueries {
 
    public static final Property STATUS_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "status" );
 
-   private static final String DELETE_BY_URN_QUERY =
-         "DELETE { ?s ?p ?o . } \n"
-               + "WHERE \n"
-               + "{ \n"
-               + "    ?s ?p ?o ;\n"
-               + "    bind( $urnParam as ?urn )\n"
-               + "    FILTER ( strstarts(str(?s), ?urn) )\n"
-               + "    ?s ?p ?o .\n"
-               + "}\n";
-
-   private static final String CONSTRUCT_BY_URN_QUERY =
-         "CONSTRUCT {\n"
-               + " ?s ?p ?o .\n"
-               + "} WHERE {\n"
-               + "    bind( ns: as ?aspect )\n"
-               + "    ?aspect (<>|!<>)* ?s .\n"
-               + "    ?otherAspect (<>|!<>)* ?s .\n"
-               + "    ?s ?p ?o .\n"
+   /**
+    * Named graph holding one compact entry per aspect: its package, status, name, version and model type. It is
+    * maintained on every write, so listings and lookups do not need to scan the model triples.
+    */
+   public static final String CATALOG_GRAPH = AUXILIARY_NAMESPACE + "catalog";
+   public static final Property PACKAGE_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "package" );
+   public static final Property NAME_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "name" );
+   public static final Property VERSION_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "version" );
+   public static final Property TYPE_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "type" );
+   public static final Property CATALOG_VERSION_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "catalogVersion" );
+   public static final int CATALOG_VERSION = 1;
+
+   /**
+    * Links a package in the catalog to every other package its model references. The entries are deleted with the
+    * other catalog entries of the package.
+    */
+   public static final Property DEPENDS_ON_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "dependsOn" );
+   public static final Property DEPENDENCIES_VERSION_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "dependenciesVersion" );
+   public static final int DEPENDENCIES_VERSION = 1;
+
+   /**
+    * Mark the migration of the default graph into package graphs: the time the running migration was started or last
+    * made progress, and the packages it has already copied.
+    */
+   public static final Property MIGRATION_STARTED_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "migrationStarted" );
+   public static final Property MIGRATED_PACKAGE_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "migratedPackage" );
+
+   /**
+    * Identify the stored state of a package, both are replaced whenever the package or its status is modified.
+    */
+   public static final Property REVISION_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "revision" );
+   public static final Property MODIFIED_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "modified" );
+
+   /**
+    * Marks a package while an update replaces it, with the revision the update stores. Only exists within that update.
+    */
+   public static final Property PENDING_REVISION_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "pendingRevision" );
+
+   /**
+    * Named graph holding the change log: one entry per aspect of a created, modified, status changed or deleted
+    * package with an increasing sequence number, and the last assigned sequence number. The entries are written in the
+    * same update as the change itself. Entries older than the retention are removed whenever a change is recorded, the
+    * highest removed sequence number and the time before which entries were removed are kept, so a reader that asks
+    * for removed changes is told instead of silently missing them.
+    */
+   public static final String CHANGES_GRAPH = AUXILIARY_NAMESPACE + "changes";
+   private static final String CHANGE_ENTRY_PREFIX = AUXILIARY_NAMESPACE + "change-";
+
+   /**
+    * Named graph holding the state of the asynchronous uploads, so every instance can report every job. Each job is a
+    * blank node with its id, status, times, stored model or error, and its expiry. Expired jobs are removed whenever a
+    * job is saved.
+    */
+   public static final String JOBS_GRAPH = AUXILIARY_NAMESPACE + "jobs";
+   public static final Property JOB_ID_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "jobId" );
+   public static final Property SUBMITTED_AT_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "submittedAt" );
+   public static final Property STARTED_AT_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "startedAt" );
+   public static final Property FINISHED_AT_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "finishedAt" );
+   public static final Property EXPIRES_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "expires" );
+   public static final Property MODEL_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "model" );
+   public static final Property MODEL_STATUS_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "modelStatus" );
+   public static final Property ERROR_MESSAGE_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "errorMessage" );
+   public static final Property ERROR_DETAILS_PROPERTY = ResourceFactory.createProperty( AUXILIARY_NAMESPACE, "errorDetails" );
+
+   /**
+    * Page queries are parsed with this limit and offset 0, the page of each request replaces both.
+    */
+   private static final int PAGE_SIZE_PLACEHOLDER = 10;
+
+   /**
+    * Replaces the status of the package and of its aspects and the revision of the package in the catalog.
+    */
+   private static final String UPDATE_STATUS_BY_URN_QUERY =
+         "DELETE { GRAPH aux:catalog { ?entry aux:status ?status . } }\n"
+               + "INSERT { GRAPH aux:catalog { ?entry aux:status $statusParam . } }\n"
+               + "WHERE { GRAPH aux:catalog {\n"
+               + "  { ?entry aux:package $packageParam . } UNION { BIND($packageParam AS ?entry) }\n"
+               + "  ?entry aux:status ?status .\n"
+               + "} } ;\n"
+               + "DELETE WHERE { GRAPH aux:catalog { $packageParam aux:revision ?revision . } } ;\n"
+               + "DELETE WHERE { GRAPH aux:catalog { $packageParam aux:modified ?modified . } } ;\n"
+               + "INSERT { GRAPH aux:catalog { $packageParam aux:revision $revisionParam ; aux:modified $modifiedParam . } } WHERE {}";
+
+   /**
+    * Appends an entry for every aspect of the package to the change log. The sequence number is assigned by the triple
+    * store, so it increases across all instances of the hub. Each aspect gets its own sequence number, in the order of
+    * the aspect URNs, and the last sequence number advances by the number of aspects. Parameters that are not bound are
+    * left out of the entries.
+    */
+   private static final String RECORD_CHANGE_QUERY =
+         "DELETE { GRAPH aux:changes { aux:changes aux:lastSequence ?last . } }\n"
+               + "INSERT { GRAPH aux:changes {\n"
+               + "  aux:changes aux:lastSequence ?next .\n"
+               + "  ?change aux:sequence ?sequence ; aux:aspect ?aspect ; aux:package $packageParam ; aux:changeType $changeTypeParam ;\n"
+               + "    aux:previousStatus $previousStatusParam ; aux:status $statusParam ; aux:revision $revisionParam ;\n"
+               + "    aux:modified $modifiedParam .\n"
+               + "} }\n"
+               + "WHERE {\n"
+               + "  { SELECT ?aspect (COUNT(?preceding) AS ?offset)\n"
+               + "    WHERE {\n"
+               + "      GRAPH aux:catalog { ?aspect aux:package $packageParam . ?preceding aux:package $packageParam . }\n"
+               + "      FILTER ( str(?preceding) <= str(?aspect) )\n"
+               + "    }\n"
+               + "    GROUP BY ?aspect }\n"
+               + "  { SELECT (COUNT(?other) AS ?aspects) WHERE { GRAPH aux:catalog { ?other aux:package $packageParam . } } }\n"
+               + "  OPTIONAL { GRAPH aux:changes { aux:changes aux:lastSequence ?last . } }\n"
+               + "  BIND( coalesce( ?last, 0 ) + ?offset AS ?sequence )\n"
+               + "  BIND( coalesce( ?last, 0 ) + ?aspects AS ?next )\n"
+               + "  BIND( iri( concat( \"" + CHANGE_ENTRY_PREFIX + "\", str( ?sequence ) ) ) AS ?change )\n"
+               + "}";
+
+   /**
+    * Advances the marks of the removed part of the change log to the entries recorded before the given time, if there
+    * are any. The marks never move backwards, e.g. if instances are configured with different retentions.
+    */
+   private static final String MARK_PRUNED_CHANGES_QUERY =
+         "DELETE { GRAPH aux:changes { aux:changes aux:prunedSequence ?previousSequence ; aux:prunedBefore ?previousBefore . } }\n"
+               + "INSERT { GRAPH aux:changes { aux:changes aux:prunedSequence ?prunedSequence ; aux:prunedBefore ?prunedBefore . } }\n"
+               + "WHERE {\n"
+               + "  { SELECT (MAX(?sequence) AS ?lastPruned)\n"
+               + "    WHERE {\n"
+               + "      GRAPH aux:changes { ?change aux:sequence ?sequence ; aux:modified ?modified . }\n"
+               + "      FILTER ( ?modified < $prunedBeforeParam )\n"
+               + "    } }\n"
+               + "  FILTER ( bound( ?lastPruned ) )\n"
+               + "  OPTIONAL { GRAPH aux:changes { aux:changes aux:prunedSequence ?previousSequence ; aux:prunedBefore ?previousBefore . } }\n"
+               + "  BIND( IF( coalesce( ?previousSequence, 0 ) > ?lastPruned, ?previousSequence, ?lastPruned ) AS ?prunedSequence )\n"
+               + "  BIND( IF( coalesce( ?previousBefore < $prunedBeforeParam, true ), $prunedBeforeParam, ?previousBefore ) AS ?prunedBefore )\n"
+               + "}";
+
+   /**
+    * Removes the entries recorded before the given time from the change log.
+    */
+   private static final String PRUNE_CHANGES_QUERY =
+         "DELETE { GRAPH aux:changes { ?change ?property ?value . } }\n"
+               + "WHERE {\n"
+               + "  GRAPH aux:changes {\n"
+               + "    ?change aux:sequence ?sequence ; aux:modified ?modified ; ?property ?value .\n"
+               + "    FILTER ( ?modified < $prunedBeforeParam )\n"
+               + "  }\n"
+               + "}";
+
+   /**
+    * Marks the package as being replaced, only if its status in the catalog is still the expected one or, if no status
+    * is expected, the package is still not stored.
+    */
+   private static final String CLAIM_PACKAGE_QUERY =
+         "INSERT { GRAPH aux:catalog { $packageParam aux:pendingRevision $revisionParam . } }\n"
+               + "WHERE {\n"
+               + "  OPTIONAL { GRAPH aux:catalog { $packageParam aux:status ?status . } }\n"
+               + "  FILTER ( coalesce( ?status, \"\" ) = coalesce( $previousStatusParam, \"\" ) )\n"
+               + "}";
+
+   /**
+    * Deletes the package graph and the catalog entries of the package except the mark, only if the package is marked.
+    */
+   private static final String DELETE_CLAIMED_PACKAGE_QUERY =
+         "DELETE { GRAPH $packageParam { ?s ?p ?o . } }\n"
+               + "WHERE {\n"
+               + "  GRAPH aux:catalog { $packageParam aux:pendingRevision $revisionParam . }\n"
+               + "  GRAPH $packageParam { ?s ?p ?o . }\n"
+               + "} ;\n"
+               + "DELETE { GRAPH aux:catalog { ?aspect ?p ?o . } }\n"
+               + "WHERE { GRAPH aux:catalog { $packageParam aux:pendingRevision $revisionParam . ?aspect aux:package $packageParam ; ?p ?o . } } ;\n"
+               + "DELETE { GRAPH aux:catalog { $packageParam ?p ?o . } }\n"
+               + "WHERE {\n"
+               + "  GRAPH aux:catalog { $packageParam aux:pendingRevision $revisionParam ; ?p ?o . }\n"
+               + "  FILTER ( ?p != aux:pendingRevision )\n"
+               + "}";
+
+   private static final String RELEASE_PACKAGE_QUERY =
+         "DELETE WHERE { GRAPH aux:catalog { $packageParam aux:pendingRevision $revisionParam . } }";
+
+   private static final String PACKAGE_REVISION_STORED_QUERY =
+         "ASK { GRAPH aux:catalog { $packageParam aux:revision $revisionParam } }";
+
+   private static final String DELETE_CATALOG_ENTRIES_BY_URN_QUERY =
+         "DELETE WHERE { GRAPH aux:catalog { ?aspect aux:package $packageParam ; ?p ?o . } } ;\n"
+               + "DELETE WHERE { GRAPH aux:catalog { $packageParam ?p ?o . } }";
+
+   /**
+    * Finds all aspects with the status of their package by scanning the model triples. Only used to build the catalog
+    * for data that was stored before the catalog existed.
+    */
+   private static final String FIND_ALL_FOR_CATALOG_QUERY =
+         "SELECT DISTINCT ?aspect (?status as ?statusResult)\n"
+               + "WHERE {\n"
+               + "BIND($bammAspectUrnRegexParam AS ?bammAspectUrnRegex)\n"
+               + "?aspect  a ?bammAspect .\n"
+               + "FILTER regex(str(?bammAspect), ?bammAspectUrnRegex, \"\")\n"
+               + "BIND(iri(concat(strbefore(str(?aspect ), \"#\"), \"#\")) AS ?package)\n"
+               + "?package  aux:status  ?status\n"
+               + "}";
+
+   private static final String CATALOG_INITIALIZED_QUERY =
+         "ASK { GRAPH aux:catalog { aux:catalog aux:catalogVersion $catalogVersionParam } }";
+
+   private static final String DEPENDENCIES_INDEXED_QUERY =
+         "ASK { GRAPH aux:catalog { aux:catalog aux:dependenciesVersion $dependenciesVersionParam } }";
+
+   /**
+    * Finds all packages in the catalog with their status and the packages they reference, one row per reference.
+    */
+   private static final String FIND_ALL_PACKAGE_DEPENDENCIES_QUERY =
+         "SELECT DISTINCT ?package (?status as ?statusResult) ?dependency\n"
+               + "WHERE {\n"
+               + "  GRAPH aux:catalog {\n"
+               + "    ?aspect aux:package ?package .\n"
+               + "    ?package aux:status ?status .\n"
+               + "    OPTIONAL { ?package aux:dependsOn ?dependency . }\n"
+               + "  }\n"
+               + "}";
+
+   /**
+    * Finds the status of the given packages in the catalog, packages that are not stored are left out.
+    */
+   private static final String FIND_PACKAGE_STATUSES_QUERY =
+         "SELECT ?package (?status as ?statusResult)\n"
+               + "WHERE {\n"
+               + "  VALUES ?package { }\n"
+               + "  GRAPH aux:catalog { ?package aux:status ?status . }\n"
+               + "}";
+
+   /**
+    * Finds the packages the package references according to the catalog.
+    */
+   private static final String FIND_PACKAGE_DEPENDENCIES_QUERY =
+         "SELECT ?dependency\n"
+               + "WHERE { GRAPH aux:catalog { $packageParam aux:dependsOn ?dependency . } }";
+
+   /**
+    * Finds the package and all packages it references directly or indirectly with their revisions, packages that are
+    * not stored are left out.
+    */
+   private static final String FIND_REVISION_CLOSURE_QUERY =
+         "SELECT DISTINCT ?package ?revision ?modified\n"
+               + "WHERE {\n"
+               + "  GRAPH aux:catalog {\n"
+               + "    $packageParam aux:dependsOn* ?package .\n"
+               + "    ?package aux:status ?status .\n"
+               + "    OPTIONAL { ?package aux:revision ?revision ; aux:modified ?modified . }\n"
+               + "  }\n"
+               + "}";
+
+   private static final String MODEL_TEXTS_PATTERN =
+         "    ?element ?property ?text .\n"
+               + "    FILTER ( isLiteral(?text) && ( strends(str(?property), \"#preferredName\") || strends(str(?property), \"#description\") ) )\n";
+
+   /**
+    * Returns the preferred names and descriptions of all model elements together with the aspect of their package.
+    * Used to load the search index.
+    */
+   private static final String FIND_ALL_MODEL_TEXTS_QUERY =
+         "SELECT ?aspect ?package ?element ?property ?text\n"
+               + "WHERE {\n"
+               + "  GRAPH aux:catalog { ?aspect aux:package ?package . }\n"
+               + "  GRAPH ?package {\n"
+               + MODEL_TEXTS_PATTERN
+               + "  }\n"
                + "}";
 
    /**
-    * This query finds all elements belonging to the provided urn
+    * Returns the preferred names and descriptions of the model elements of one package together with its aspect.
     */
-   private static final String FIND_MODEL_ELEMENT_CLOSURE =
+   private static final String FIND_PACKAGE_MODEL_TEXTS_QUERY =
+         "SELECT ?aspect ?element ?property ?text\n"
+               + "WHERE {\n"
+               + "  GRAPH aux:catalog { ?aspect aux:package $packageParam . }\n"
+               + "  GRAPH $packageParam {\n"
+               + MODEL_TEXTS_PATTERN
+               + "  }\n"
+               + "}";
+
+   /**
+    * Returns the changes after the given sequence number or time in the order they were made, together with the last
+    * assigned sequence number and the marks of the removed part of the change log. Every row carries the last sequence
+    * number and the marks; if there are no changes, a single row with only those is returned.
+    */
+   private static final String FIND_CHANGES_QUERY =
+         "SELECT ?sequence ?aspect ?package ?changeType ?previousStatus ?statusResult ?revision ?modified ?lastSequence\n"
+               + "  ?prunedSequence ?prunedBefore\n"
+               + "WHERE {\n"
+               + "{ SELECT ?lastSequence ?prunedSequence ?prunedBefore\n"
+               + "  WHERE {\n"
+               + "    OPTIONAL { GRAPH aux:changes { aux:changes aux:lastSequence ?lastSequence . } }\n"
+               + "    OPTIONAL { GRAPH aux:changes { aux:changes aux:prunedSequence ?prunedSequence ; aux:prunedBefore ?prunedBefore . } }\n"
+               + "  } }\n"
+               + "OPTIONAL {\n"
+               + "  SELECT ?sequence ?aspect ?package ?changeType ?previousStatus ?statusResult ?revision ?modified\n"
+               + "  WHERE {\n"
+               + "    BIND($sinceSequenceParam AS ?sinceSequence)\n"
+               + "    BIND($sinceModifiedParam AS ?sinceModified)\n"
+               + "    GRAPH aux:changes {\n"
+               + "      ?change aux:sequence ?sequence ; aux:aspect ?aspect ; aux:package ?package ; aux:changeType ?changeType ;\n"
+               + "        aux:modified ?modified .\n"
+               + "      OPTIONAL { ?change aux:previousStatus ?previousStatus . }\n"
+               + "      OPTIONAL { ?change aux:status ?statusResult . }\n"
+               + "      OPTIONAL { ?change aux:revision ?revision . }\n"
+               + "    }\n"
+               + "    FILTER ( !bound(?sinceSequence) || ?sequence > ?sinceSequence )\n"
+               + "    FILTER ( !bound(?sinceModified) || ?modified > ?sinceModified )\n"
+               + "  }\n"
+               + "  ORDER BY ?sequence\n"
+               + "  LIMIT " + PAGE_SIZE_PLACEHOLDER + "\n"
+               + "}\n"
+               + "}\n"
+               + "ORDER BY ?sequence";
+
+   /**
+    * This query returns all triples of the provided model package
+    */
+   private static final String FIND_PACKAGE_GRAPH_QUERY =
          "CONSTRUCT {\n"
                + " ?s ?p ?o .\n"
                + "} WHERE {\n"
-               + "    bind( ns: as ?urn )\n"
-               + "    ?urn (<>|!<>)* ?s .\n"
-               + "    ?s ?p ?o .\n"
+               + "    GRAPH $packageParam { ?s ?p ?o . }\n"
+               + "}";
+
+   private static final String DEFAULT_GRAPH_NOT_EMPTY_QUERY = "ASK { ?s ?p ?o }";
+
+   private static final String FIND_DEFAULT_GRAPH_QUERY = "CONSTRUCT WHERE { ?s ?p ?o }";
+
+   /**
+    * Claims the migration of the default graph, unless another migration was started or made progress after the given
+    * time. The caller owns the migration if the marker holds its start time afterwards.
+    */
+   private static final String CLAIM_MIGRATION_QUERY =
+         "DELETE { GRAPH aux:catalog { aux:catalog aux:migrationStarted ?started . } }\n"
+               + "INSERT { GRAPH aux:catalog { aux:catalog aux:migrationStarted $startedParam . } }\n"
+               + "WHERE {\n"
+               + "  OPTIONAL { GRAPH aux:catalog { aux:catalog aux:migrationStarted ?started . } }\n"
+               + "  FILTER ( !bound(?started) || ?started < $staleBeforeParam )\n"
                + "}";
 
+   private static final String MIGRATION_CLAIMED_QUERY =
+         "ASK { GRAPH aux:catalog { aux:catalog aux:migrationStarted $startedParam } }";
+
+   /**
+    * Marks the package as copied and renews the claim, if the migration is still owned by the caller.
+    */
+   private static final String MIGRATION_PROGRESS_QUERY =
+         "DELETE { GRAPH aux:catalog { aux:catalog aux:migrationStarted $startedParam . } }\n"
+               + "INSERT { GRAPH aux:catalog { aux:catalog aux:migrationStarted $progressParam ; aux:migratedPackage $packageParam . } }\n"
+               + "WHERE { GRAPH aux:catalog { aux:catalog aux:migrationStarted $startedParam . } }";
+
+   /**
+    * Removes the previous state of the job and all expired jobs.
+    */
+   private static final String DELETE_JOBS_QUERY =
+         "DELETE { GRAPH aux:jobs { ?job ?property ?value . } }\n"
+               + "WHERE {\n"
+               + "  GRAPH aux:jobs {\n"
+               + "    ?job aux:jobId ?jobId ; aux:expires ?expires ; ?property ?value .\n"
+               + "    FILTER ( ?jobId = $jobIdParam || ?expires < $nowParam )\n"
+               + "  }\n"
+               + "}";
+
+   private static final String FIND_JOB_QUERY =
+         "CONSTRUCT { ?job ?property ?value . }\n"
+               + "WHERE {\n"
+               + "  GRAPH aux:jobs {\n"
+               + "    ?job aux:jobId $jobIdParam ; aux:expires ?expires ; ?property ?value .\n"
+               + "    FILTER ( ?expires >= $nowParam )\n"
+               + "  }\n"
+               + "}";
+
+   private static final String FIND_MIGRATED_PACKAGES_QUERY =
+         "SELECT ?package WHERE { GRAPH aux:catalog { aux:catalog aux:migratedPackage ?package . } }";
+
+   private static final String FINISH_MIGRATION_QUERY =
+         "DELETE WHERE { GRAPH aux:catalog { aux:catalog aux:migratedPackage ?package . } } ;\n"
+               + "DELETE WHERE { GRAPH aux:catalog { aux:catalog aux:migrationStarted ?started . } } ;\n"
+               + "CLEAR DEFAULT";
+
    private static final String FIND_BY_URN_QUERY =
          "SELECT  ?aspect (?status as ?statusResult)\n"
                + "WHERE\n"
                + "  {\n"
-               + "      bind( $urnParam as ?urn ) \n"
-               + "      bind( $packageUrnParam as ?packageUrn ) \n"
-               + "      bind( $bammAspectUrnParam as ?bammAspectUrn )\n"
-               + "      ?aspect a ?bammAspect .\n"
-               + "      ?s aux:status ?status .\n"
-               + "      FILTER ( regex(str(?bammAspect), ?bammAspectUrn, \"\") && ( str(?aspect) = ?urn )\n"
-               + "            && (str(?s) = ?packageUrn) )\n"
+               + "      VALUES ?aspect { }\n"
+               + "      GRAPH aux:catalog { ?aspect aux:status ?status . }\n"
                + "  }";
 
    private static final String FIND_BY_MULTIPLE_URNS_QUERY =
          "SELECT DISTINCT ?aspect (?status as ?statusResult)\n"
                + "WHERE\n"
                + "  {\n"
-               + "      VALUES (?urns) { ?urnParamList } \n"
-               + "      VALUES (?packageUrns) { ?packageUrnParamList } \n"
-               + "      bind( $bammAspectUrnParam as ?bammAspectUrn )\n"
-               + "      ?aspect a ?bammAspect .\n"
-               + "      ?s aux:status ?status .\n"
-               + "      FILTER ( regex(str(?bammAspect), ?bammAspectUrn, \"\") \n"
-               + "      && ( str(?aspect) IN (?urns) )  \n"
-               + "      && ( str(?s) IN (?packageUrns)) ) \n"
+               + "      VALUES ?aspect { }\n"
+               + "      GRAPH aux:catalog { ?aspect aux:status ?status . }\n"
                + "  }"
                + "ORDER BY lcase(str(?aspect))\n"
-               + "OFFSET  $offsetParam\n"
-               + "LIMIT   $limitParam";
+               + "OFFSET  0\n"
+               + "LIMIT   " + PAGE_SIZE_PLACEHOLDER;
 
    private static final String FIND_BY_PACKAGE_URN_QUERY =
          "SELECT (?status as ?statusResult)\n"
                + "WHERE\n"
                + "  {\n"
-               + "      bind( $urnParam as ?urn ) \n"
-               + "      ?s aux:status ?status .\n"
-               + "      FILTER ( ( str(?s) = ?urn ) )\n"
-               + "      ?s aux:status ?status .\n"
+               + "      GRAPH aux:catalog { $urnParam aux:status ?status . }\n"
                + "  }";
 
-   private static final String FILTER_QUERY_MINIMAL_WHERE_CLAUSE = "WHERE {\n"
-           + "BIND($bammAspectUrnRegexParam AS ?bammAspectUrnRegex)\n"
-           + "BIND(iri($bammFieldToSearchInParam) AS ?bammFieldToSearchIn)\n"
-           + "BIND($bammFieldSearchValueParam AS ?bammFieldSearchValue)\n"
-           + "BIND($statusFilterParam AS ?statusFilter)\n"
+   private static final String FILTER_QUERY_MINIMAL_PATTERN =
+           "BIND($statusFilterParam AS ?statusFilter)\n"
            + "BIND($namespaceFilterParam AS ?namespaceFilter)\n"
-           + "?aspect  a ?bammAspect .\n"
-           + "FILTER regex(str(?bammAspect), ?bammAspectUrnRegex, \"\")\n"
-           + "BIND(iri(concat(strbefore(str(?aspect ), \"#\"), \"#\")) AS ?package)\n"
-           + "?package  aux:status  ?status\n"
-           + "FILTER ( !bound(?statusFilter) || contains(str(?status), ?statusFilter) )\n"
-           + "FILTER ( !bound(?namespaceFilter) || contains(lcase(str(?aspect)), lcase(?namespaceFilter) ) )\n"
+           + "GRAPH aux:catalog { ?aspect  aux:package ?package ; aux:status  ?status . }\n"
+           + "FILTER ( !bound(?statusFilter) || ?status = ?statusFilter )\n"
+           + "FILTER ( !bound(?namespaceFilter) || contains(lcase(str(?aspect)), lcase(?namespaceFilter) ) )\n";
+
+   private static final String FILTER_QUERY_MINIMAL_WHERE_CLAUSE = "WHERE {\n"
+           + FILTER_QUERY_MINIMAL_PATTERN
+           + "}\n";
+
+   /**
+    * Keyset pagination: only matches aspects sorting after the aspect given as cursor, in the order
+    * lcase(str(?aspect)), str(?aspect).
+    */
+   private static final String FILTER_QUERY_MINIMAL_AFTER_CURSOR_WHERE_CLAUSE = "WHERE {\n"
+           + FILTER_QUERY_MINIMAL_PATTERN
+           + "BIND($cursorParam AS ?cursor)\n"
+           + "FILTER ( lcase(str(?aspect)) > lcase(?cursor)\n"
+           + "      || ( lcase(str(?aspect)) = lcase(?cursor) && str(?aspect) > ?cursor ) )\n"
            + "}\n";
 
    private static final String FILTER_QUERY_MINIMAL_WHERE_CLAUSE_SELECTIVE = "WHERE {\n"
-           + "BIND($bammAspectUrnRegexParam AS ?bammAspectUrnRegex)\n"
-           + "BIND(iri($bammFieldToSearchInParam) AS ?bammFieldToSearchIn)\n"
-           + "BIND($bammFieldSearchValueParam AS ?bammFieldSearchValue)\n"
-           + "BIND($statusFilterParam AS ?statusFilter)\n"
-           + "BIND($namespaceFilterParam AS ?namespaceFilter)\n"
-           + "VALUES (?urns) { ?urnParamList } \n"
-           + "?aspect  a ?bammAspect .\n"
-           + "FILTER regex(str(?bammAspect), ?bammAspectUrnRegex, \"\")\n"
-           + "BIND(iri(concat(strbefore(str(?aspect ), \"#\"), \"#\")) AS ?package)\n"
-           + "?package  aux:status  ?status\n"
-           + "FILTER ( !bound(?statusFilter) || contains(str(?status), ?statusFilter) )\n"
-           + "FILTER ( !bound(?namespaceFilter) || contains(lcase(str(?aspect)), lcase(?namespaceFilter) ) )\n"
-           + "FILTER ( str(?aspect) IN (?urns) ) "
+           + "VALUES ?aspect { }\n"
+           + FILTER_QUERY_MINIMAL_PATTERN
            + "}\n";
 
    private static final String FIND_ALL_MINIMAL_QUERY =
            "SELECT DISTINCT ?aspect (?status as ?statusResult)\n"
                    + FILTER_QUERY_MINIMAL_WHERE_CLAUSE
                    + "ORDER BY lcase(str(?aspect))\n"
-                   + "OFFSET  $offsetParam\n"
-                   + "LIMIT   $limitParam";
+                   + "OFFSET  0\n"
+                   + "LIMIT   " + PAGE_SIZE_PLACEHOLDER;
 
    private static final String COUNT_ASPECT_MODELS_MINIMAL_QUERY =
            "SELECT (count(DISTINCT ?aspect) as ?aspectModelCount)\n"
                    + FILTER_QUERY_MINIMAL_WHERE_CLAUSE;
 
+   private static final String FIND_ALL_AFTER_CURSOR_MINIMAL_QUERY =
+           "SELECT DISTINCT ?aspect (?status as ?statusResult)\n"
+                   + FILTER_QUERY_MINIMAL_AFTER_CURSOR_WHERE_CLAUSE
+                   + "ORDER BY lcase(str(?aspect)) str(?aspect)\n"
+                   + "LIMIT   " + PAGE_SIZE_PLACEHOLDER;
+
    private static final String COUNT_ASPECT_MODELS_MINIMAL_QUERY_SELECTIVE =
             "SELECT (count(DISTINCT ?aspect) as ?aspectModelCount)\n"
                   + FILTER_QUERY_MINIMAL_WHERE_CLAUSE_SELECTIVE;
 
+   /**
+    * Returns the requested page together with the total number of matches in one round trip. Every row carries the
+    * total count; if the page is empty, a single row with only the count is returned.
+    */
+   private static final String FIND_ALL_WITH_COUNT_MINIMAL_QUERY =
+         "SELECT ?aspect ?statusResult ?aspectModelCount\n"
+               + "WHERE {\n"
+               + "{ " + COUNT_ASPECT_MODELS_MINIMAL_QUERY + "}\n"
+               + "OPTIONAL { " + FIND_ALL_MINIMAL_QUERY + " }\n"
+               + "}\n"
+               + "ORDER BY lcase(str(?aspect))";
+
+   private static final String FIND_ALL_AFTER_CURSOR_WITH_COUNT_MINIMAL_QUERY =
+         "SELECT ?aspect ?statusResult ?aspectModelCount\n"
+               + "WHERE {\n"
+               + "{ " + COUNT_ASPECT_MODELS_MINIMAL_QUERY + "}\n"
+               + "OPTIONAL { " + FIND_ALL_AFTER_CURSOR_MINIMAL_QUERY + " }\n"
+               + "}\n"
+               + "ORDER BY lcase(str(?aspect)) str(?aspect)";
+
+   private static final String FIND_BY_MULTIPLE_URNS_WITH_COUNT_QUERY =
+         "SELECT ?aspect ?statusResult ?aspectModelCount\n"
+               + "WHERE {\n"
+               + "{ " + COUNT_ASPECT_MODELS_MINIMAL_QUERY_SELECTIVE + "}\n"
+               + "OPTIONAL { " + FIND_BY_MULTIPLE_URNS_QUERY + " }\n"
+               + "}\n"
+               + "ORDER BY lcase(str(?aspect))";
+
+   /*
+    * The queries are parsed once, the build methods only bind the values of the request to the parsed queries.
+    */
+   private static final PrefixMapping PREFIXES = PrefixMapping.Factory.create().setNsPrefix( "aux", AUXILIARY_NAMESPACE ).lock();
+
+   private static final QueryTemplate FIND_BY_URN = QueryTemplate.parse( FIND_BY_URN_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_BY_MULTIPLE_URNS = QueryTemplate.parse( FIND_BY_MULTIPLE_URNS_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_BY_MULTIPLE_URNS_WITH_COUNT = QueryTemplate.parse( FIND_BY_MULTIPLE_URNS_WITH_COUNT_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_BY_PACKAGE_URN = QueryTemplate.parse( FIND_BY_PACKAGE_URN_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_PACKAGE_GRAPH = QueryTemplate.parse( FIND_PACKAGE_GRAPH_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_ALL_MINIMAL = QueryTemplate.parse( FIND_ALL_MINIMAL_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_ALL_WITH_COUNT_MINIMAL = QueryTemplate.parse( FIND_ALL_WITH_COUNT_MINIMAL_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_ALL_AFTER_CURSOR_MINIMAL = QueryTemplate.parse( FIND_ALL_AFTER_CURSOR_MINIMAL_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_ALL_AFTER_CURSOR_WITH_COUNT_MINIMAL =
+         QueryTemplate.parse( FIND_ALL_AFTER_CURSOR_WITH_COUNT_MINIMAL_QUERY, PREFIXES );
+   private static final QueryTemplate COUNT_ASPECT_MODELS_MINIMAL = QueryTemplate.parse( COUNT_ASPECT_MODELS_MINIMAL_QUERY, PREFIXES );
+   private static final QueryTemplate COUNT_ASPECT_MODELS_MINIMAL_SELECTIVE =
+         QueryTemplate.parse( COUNT_ASPECT_MODELS_MINIMAL_QUERY_SELECTIVE, PREFIXES );
+
+   private static final QueryTemplate FIND_CHANGES = QueryTemplate.parse( FIND_CHANGES_QUERY, PREFIXES );
+
+   private static final Query DEFAULT_GRAPH_NOT_EMPTY = QueryTemplate.parse( DEFAULT_GRAPH_NOT_EMPTY_QUERY, PREFIXES ).asQuery();
+   private static final Query FIND_DEFAULT_GRAPH = QueryTemplate.parse( FIND_DEFAULT_GRAPH_QUERY, PREFIXES ).asQuery();
+   private static final QueryTemplate MIGRATION_CLAIMED = QueryTemplate.parse( MIGRATION_CLAIMED_QUERY, PREFIXES );
+   private static final Query FIND_MIGRATED_PACKAGES = QueryTemplate.parse( FIND_MIGRATED_PACKAGES_QUERY, PREFIXES ).asQuery();
+   private static final QueryTemplate FIND_JOB = QueryTemplate.parse( FIND_JOB_QUERY, PREFIXES );
+   private static final QueryTemplate PACKAGE_REVISION_STORED = QueryTemplate.parse( PACKAGE_REVISION_STORED_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_PACKAGE_STATUSES = QueryTemplate.parse( FIND_PACKAGE_STATUSES_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_PACKAGE_DEPENDENCIES = QueryTemplate.parse( FIND_PACKAGE_DEPENDENCIES_QUERY, PREFIXES );
+   private static final QueryTemplate FIND_REVISION_CLOSURE = QueryTemplate.parse( FIND_REVISION_CLOSURE_QUERY, PREFIXES );
+   private static final Query FIND_ALL_PACKAGE_DEPENDENCIES = QueryTemplate.parse( FIND_ALL_PACKAGE_DEPENDENCIES_QUERY, PREFIXES ).asQuery();
+   private static final Query FIND_ALL_MODEL_TEXTS = QueryTemplate.parse( FIND_ALL_MODEL_TEXTS_QUERY, PREFIXES ).asQuery();
+   private static final QueryTemplate FIND_PACKAGE_MODEL_TEXTS = QueryTemplate.parse( FIND_PACKAGE_MODEL_TEXTS_QUERY, PREFIXES );
+   private static final Query FIND_ALL_FOR_CATALOG = QueryTemplate.parse( FIND_ALL_FOR_CATALOG_QUERY, PREFIXES ).bind()
+         .setLiteral( "bammAspectUrnRegexParam", SAMM_ASPECT_URN_REGEX ).asQuery();
+   private static final Query CATALOG_INITIALIZED = QueryTemplate.parse( CATALOG_INITIALIZED_QUERY, PREFIXES ).bind()
+         .setLiteral( "catalogVersionParam", String.valueOf( CATALOG_VERSION ) ).asQuery();
+   private static final Query DEPENDENCIES_INDEXED = QueryTemplate.parse( DEPENDENCIES_INDEXED_QUERY, PREFIXES ).bind()
+         .setLiteral( "dependenciesVersionParam", String.valueOf( DEPENDENCIES_VERSION ) ).asQuery();
+   private static final Query ECHO = QueryTemplate.parse( "ASK {}", PREFIXES ).asQuery();
+
+   private static final UpdateRequest DELETE_CATALOG_ENTRIES_BY_URN = parseUpdate( DELETE_CATALOG_ENTRIES_BY_URN_QUERY );
+   private static final UpdateRequest UPDATE_STATUS_BY_URN = parseUpdate( UPDATE_STATUS_BY_URN_QUERY );
+   private static final UpdateRequest RECORD_CHANGE = parseUpdate( RECORD_CHANGE_QUERY );
+   private static final UpdateRequest MARK_PRUNED_CHANGES = parseUpdate( MARK_PRUNED_CHANGES_QUERY );
+   private static final UpdateRequest PRUNE_CHANGES = parseUpdate( PRUNE_CHANGES_QUERY );
+   private static final UpdateRequest CLAIM_PACKAGE = parseUpdate( CLAIM_PACKAGE_QUERY );
+   private static final UpdateRequest DELETE_CLAIMED_PACKAGE = parseUpdate( DELETE_CLAIMED_PACKAGE_QUERY );
+   private static final UpdateRequest RELEASE_PACKAGE = parseUpdate( RELEASE_PACKAGE_QUERY );
+   private static final UpdateRequest CLAIM_MIGRATION = parseUpdate( CLAIM_MIGRATION_QUERY );
+   private static final UpdateRequest MIGRATION_PROGRESS = parseUpdate( MIGRATION_PROGRESS_QUERY );
+   private static final UpdateRequest FINISH_MIGRATION = parseUpdate( FINISH_MIGRATION_QUERY );
+   private static final UpdateRequest DELETE_JOBS = parseUpdate( DELETE_JOBS_QUERY );
+
    private SparqlQueries() {
    }
 
    public static Query buildFindByUrnQuery( final AspectModelUrn urn ) {
-      final ParameterizedSparqlString pss = create( FIND_BY_URN_QUERY );
-      pss.setLiteral( "$urnParam", urn.toString() );
-      pss.setLiteral( "$bammAspectUrnParam", SAMM_ASPECT_URN_REGEX );
-      pss.setLiteral( "$packageUrnParam", ModelPackageUrn.fromUrn( urn ).getUrn() );
-      return pss.asQuery();
+      return FIND_BY_URN.bind()
+            .values( ASPECT, List.of( NodeFactory.createURI( urn.toString() ) ) )
+            .asQuery();
    }
-   
+
    public static Query buildFindListByUrns( final List<AspectModelUrn> urns, int page, int pageSize ) {
-      final ParameterizedSparqlString pss = create( FIND_BY_MULTIPLE_URNS_QUERY );
+      return buildFindListByUrns( FIND_BY_MULTIPLE_URNS, urns, page, pageSize );
+   }
 
-      List<RDFNode> urnList = new ArrayList<>();
-      List<RDFNode> modelPackageUrnList = new ArrayList<>();
+   /**
+    * Same as {@link #buildFindListByUrns(List, int, int)}, but every row additionally carries the total number of
+    * matching aspect models in {@link #ASPECT_MODEL_COUNT}.
+    */
+   public static Query buildFindListByUrnsWithCount( final List<AspectModelUrn> urns, int page, int pageSize ) {
+      return buildFindListByUrns( FIND_BY_MULTIPLE_URNS_WITH_COUNT, urns, page, pageSize );
+   }
 
-      urns.forEach((AspectModelUrn urn) -> {
-         urnList.add(ResourceFactory.createStringLiteral(urn.toString()));
-         modelPackageUrnList.add(ResourceFactory.createStringLiteral(ModelPackageUrn.fromUrn(urn).getUrn()));
-      });
+   private static Query buildFindListByUrns( final QueryTemplate template, final List<AspectModelUrn> urns, int page, int pageSize ) {
+      return template.bind()
+            .values( ASPECT, toNodes( urns ) )
+            .offset( getOffset( page, pageSize ) )
+            .limit( pageSize )
+            .asQuery();
+   }
 
-      pss.setValues("urnParamList", urnList);
-      pss.setLiteral( "$bammAspectUrnParam", SAMM_ASPECT_URN_REGEX );
-      pss.setValues( "packageUrnParamList", modelPackageUrnList );
-      pss.setLiteral("offsetParam", getOffset(page, pageSize));
-      pss.setLiteral("limitParam", pageSize);
-      
-      return pss.asQuery();
+   private static List<Node> toNodes( final List<AspectModelUrn> urns ) {
+      return urns.stream()
+            .map( urn -> NodeFactory.createURI( urn.toString() ) )
+            .collect( Collectors.toList() );
    }
 
    public static Query buildCountAspectModelsQuery( String namespaceFilter,
          ModelPackageStatus status ) {
-      return buildMinimalQuery(COUNT_ASPECT_MODELS_MINIMAL_QUERY, namespaceFilter, status).asQuery();
+      return bindFilters( COUNT_ASPECT_MODELS_MINIMAL, namespaceFilter, status ).asQuery();
    }
 
-   public static Query buildCountSelectiveAspectModelsQuery( String namespaceFilter, String nameFilter, String nameType,
-         ModelPackageStatus status, List<AspectModelUrn> urns ) {
-      ParameterizedSparqlString pss = buildMinimalQuery(COUNT_ASPECT_MODELS_MINIMAL_QUERY_SELECTIVE, namespaceFilter, status);
-      
-      List<RDFNode> urnList = new ArrayList<>();
-      List<RDFNode> modelPackageUrnList = new ArrayList<>();
+   public static Query buildCountSelectiveAspectModelsQuery( String namespaceFilter, ModelPackageStatus status,
+         List<AspectModelUrn> urns ) {
+      return bindFilters( COUNT_ASPECT_MODELS_MINIMAL_SELECTIVE, namespaceFilter, status )
+            .values( ASPECT, toNodes( urns ) )
+            .asQuery();
+   }
 
-      urns.forEach((AspectModelUrn urn) -> {
-         urnList.add(ResourceFactory.createStringLiteral(urn.toString()));
-         modelPackageUrnList.add(ResourceFactory.createStringLiteral(ModelPackageUrn.fromUrn(urn).getUrn()));
-      });
+   public static Query buildFindByPackageQuery( final ModelPackageUrn modelsPackage ) {
+      return FIND_BY_PACKAGE_URN.bind()
+            .setIri( "urnParam", modelsPackage.getUrn() )
+            .asQuery();
+   }
 
-      pss.setValues("urnParamList", urnList);
-      pss.setValues( "packageUrnParamList", modelPackageUrnList );
+   /**
+    * Drops the graph of the package and deletes its catalog entries.
+    */
+   public static UpdateRequest buildDeleteByUrnRequest( final ModelPackageUrn modelsPackage ) {
+      final Node packageNode = NodeFactory.createURI( modelsPackage.getUrn() );
+      final UpdateRequest request = new UpdateRequest().add( new UpdateDrop( packageNode, true ) );
+      UpdateTransformOps.transform( DELETE_CATALOG_ENTRIES_BY_URN, Map.of( Var.alloc( "packageParam" ), packageNode ) )
+            .getOperations().forEach( request::add );
+      return request;
+   }
+
+   /**
+    * Replaces the package graph and the catalog entries of the package and records the change, all only if the package
+    * still has the expected status. The check and the replacement run in the update that is built, so of two
+    * concurrent updates of a package the one that lost the race changes nothing instead of merging both models.
+    * Whether the package was replaced is found with {@link #buildPackageRevisionStoredQuery}.
+    *
+    * @param previousStatus the status the package is expected to have, null if it is expected not to be stored
+    * @param revision the revision the catalog entry stores
+    * @param packageGraph the model of the package
+    * @param catalogEntry the catalog entries of the package
+    * @param changeRecord records the change in the change log, see {@link #buildRecordChangeRequest}
+    */
+   public static UpdateRequest buildReplacePackageRequest( final ModelPackageUrn modelsPackage,
+         @Nullable final ModelPackageStatus previousStatus, final ModelRevision revision, final Model packageGraph,
+         final Model catalogEntry, final UpdateRequest changeRecord ) {
+      final Node packageNode = NodeFactory.createURI( modelsPackage.getUrn() );
+      final Node revisionNode = NodeFactory.createLiteral( revision.getTag() );
+      final Map<Var, Node> parameters = Map.of( Var.alloc( "packageParam" ), packageNode, Var.alloc( "revisionParam" ), revisionNode );
+      final UpdateRequest claimed = UpdateTransformOps.transform( DELETE_CLAIMED_PACKAGE, parameters );
+      final UpdateModify insert = new UpdateModify();
+      insert.setHasInsertClause( true );
+      packageGraph.getGraph().find().forEachRemaining( triple -> insert.getInsertAcc().addQuad( new Quad( packageNode, triple ) ) );
+      catalogEntry.getGraph().find().forEachRemaining( triple -> insert.getInsertAcc()
+            .addQuad( new Quad( NodeFactory.createURI( CATALOG_GRAPH ), triple ) ) );
+      insert.setElement( new ElementGroup() );
+      claimed.add( insert );
+      changeRecord.getOperations().forEach( claimed::add );
+      claimed.getOperations().forEach( update -> whileClaimed( (UpdateModify) update, packageNode, revisionNode ) );
 
-      return pss.asQuery();
+      final Map<Var, Node> claimParameters = new HashMap<>( parameters );
+      if ( previousStatus != null ) {
+         claimParameters.put( Var.alloc( "previousStatusParam" ), NodeFactory.createLiteral( previousStatus.toString() ) );
+      }
+      final UpdateRequest request = UpdateTransformOps.transform( CLAIM_PACKAGE, claimParameters );
+      claimed.getOperations().forEach( request::add );
+      UpdateTransformOps.transform( RELEASE_PACKAGE, parameters ).getOperations().forEach( request::add );
+      return request;
    }
 
-   public static Query buildFindByPackageQuery( final ModelPackageUrn modelsPackage ) {
-      final ParameterizedSparqlString pss = create( FIND_BY_PACKAGE_URN_QUERY );
-      pss.setLiteral( "$urnParam", modelsPackage.getUrn() );
-      return pss.asQuery();
+   /**
+    * Restricts the update to the time the package is marked with the revision.
+    */
+   private static void whileClaimed( final UpdateModify update, final Node packageNode, final Node revisionNode ) {
+      final ElementPathBlock claimed = new ElementPathBlock();
+      claimed.addTriple( Triple.create( packageNode, PENDING_REVISION_PROPERTY.asNode(), revisionNode ) );
+      final ElementGroup where = new ElementGroup();
+      where.addElement( new ElementNamedGraph( NodeFactory.createURI( CATALOG_GRAPH ), claimed ) );
+      where.addElement( update.getWherePattern() );
+      update.setElement( where );
    }
 
-   public static UpdateRequest buildDeleteByUrnRequest( final ModelPackageUrn modelsPackage ) {
-      final ParameterizedSparqlString pss = create( DELETE_BY_URN_QUERY );
-      pss.setLiteral( "$urnParam", modelsPackage.getUrn() );
-      return pss.asUpdate();
+   public static Query buildPackageRevisionStoredQuery( final ModelPackageUrn modelsPackage, final ModelRevision revision ) {
+      return PACKAGE_REVISION_STORED.bind()
+            .setIri( "packageParam", modelsPackage.getUrn() )
+            .setLiteral( "revisionParam", revision.getTag() )
+            .asQuery();
    }
 
-   public static Query echoQuery() {
-      return create("ASK {}").asQuery();
+   /**
+    * Changes the status and the revision of the package in the catalog, the package graph is not touched.
+    */
+   public static UpdateRequest buildUpdateStatusRequest( final ModelPackageUrn modelsPackage, final ModelPackageStatus status,
+         final ModelRevision revision ) {
+      return UpdateTransformOps.transform( UPDATE_STATUS_BY_URN, Map.of(
+            Var.alloc( "packageParam" ), NodeFactory.createURI( modelsPackage.getUrn() ),
+            Var.alloc( "statusParam" ), NodeFactory.createLiteral( status.toString() ),
+            Var.alloc( "revisionParam" ), NodeFactory.createLiteral( revision.getTag() ),
+            Var.alloc( "modifiedParam" ), modifiedLiteral( revision ).asNode() ) );
+   }
+
+   public static Literal modifiedLiteral( final ModelRevision revision ) {
+      return dateTimeLiteral( revision.getLastModified() );
    }
 
+   public static Literal dateTimeLiteral( final Instant instant ) {
+      return ResourceFactory.createTypedLiteral( instant.toString(), XSDDatatype.XSDdateTime );
+   }
 
    /**
-    * Returns a Sparql Query based on the given filter parameters.
-    *
-    * If nameFilter and nameType is provided an extended query is returned, else a simple query.
+    * Appends the change of the package to the change log. Has to be part of the update that changes the package: after
+    * the package is stored, or before it is deleted. The entries recorded before the retention are removed first.
     *
-    * Simple Query:
-    *    Searches all aspect models based on status and namespaceFilter.
-    *
-    * Extended Query:
-    *    Searches all aspect models based on status and namespaceFilter and any model elements that matches the nameType and nameFilter.
+    * @param previousStatus the status before the change, null if the package is created
+    * @param status the status after the change, null if the package is deleted
+    * @param revision the revision after the change, null if the package is deleted
+    * @param prunedBefore entries recorded before this time are removed from the change log
+    */
+   public static UpdateRequest buildRecordChangeRequest( final ModelPackageUrn modelsPackage, final SemanticModelChangeType changeType,
+         @Nullable final ModelPackageStatus previousStatus, @Nullable final ModelPackageStatus status,
+         @Nullable final ModelRevision revision, final Instant modified, final Instant prunedBefore ) {
+      final Map<Var, Node> pruneParameters = Map.of( Var.alloc( "prunedBeforeParam" ), dateTimeLiteral( prunedBefore ).asNode() );
+      final UpdateRequest request = UpdateTransformOps.transform( MARK_PRUNED_CHANGES, pruneParameters );
+      UpdateTransformOps.transform( PRUNE_CHANGES, pruneParameters ).getOperations().forEach( request::add );
+
+      final Map<Var, Node> parameters = new HashMap<>();
+      parameters.put( Var.alloc( "packageParam" ), NodeFactory.createURI( modelsPackage.getUrn() ) );
+      parameters.put( Var.alloc( "changeTypeParam" ), NodeFactory.createLiteral( changeType.toString() ) );
+      parameters.put( Var.alloc( "modifiedParam" ), dateTimeLiteral( modified ).asNode() );
+      if ( previousStatus != null ) {
+         parameters.put( Var.alloc( "previousStatusParam" ), NodeFactory.createLiteral( previousStatus.toString() ) );
+      }
+      if ( status != null ) {
+         parameters.put( Var.alloc( "statusParam" ), NodeFactory.createLiteral( status.toString() ) );
+      }
+      if ( revision != null ) {
+         parameters.put( Var.alloc( "revisionParam" ), NodeFactory.createLiteral( revision.getTag() ) );
+      }
+      UpdateTransformOps.transform( RECORD_CHANGE, parameters ).getOperations().forEach( request::add );
+      return request;
+   }
+
+   /**
+    * @param sinceSequence only changes with a higher sequence number are returned, if set
+    * @param sinceModified only changes after this time are returned, if set
+    * @param limit the maximum number of changes
+    */
+   public static Query buildFindChangesQuery( @Nullable final Long sinceSequence, @Nullable final Instant sinceModified,
+         final int limit ) {
+      final QueryTemplate.Bindings bindings = FIND_CHANGES.bind().limit( limit );
+      if ( sinceSequence != null ) {
+         bindings.set( "sinceSequenceParam", ResourceFactory.createTypedLiteral( sinceSequence ).asNode() );
+      }
+      if ( sinceModified != null ) {
+         bindings.set( "sinceModifiedParam", dateTimeLiteral( sinceModified ).asNode() );
+      }
+      return bindings.asQuery();
+   }
+
+   public static Query buildFindPackageGraphQuery( final ModelPackageUrn modelsPackage ) {
+      return FIND_PACKAGE_GRAPH.bind()
+            .setIri( "packageParam", modelsPackage.getUrn() )
+            .asQuery();
+   }
+
+   public static Query buildDefaultGraphNotEmptyQuery() {
+      return DEFAULT_GRAPH_NOT_EMPTY;
+   }
+
+   public static Query buildFindDefaultGraphQuery() {
+      return FIND_DEFAULT_GRAPH;
+   }
+
+   /**
+    * @param started the start time of the caller, identifies its claim
+    * @param staleBefore a migration that made no progress since this time is taken over
+    */
+   public static UpdateRequest buildClaimMigrationRequest( final Instant started, final Instant staleBefore ) {
+      return UpdateTransformOps.transform( CLAIM_MIGRATION, Map.of(
+            Var.alloc( "startedParam" ), dateTimeLiteral( started ).asNode(),
+            Var.alloc( "staleBeforeParam" ), dateTimeLiteral( staleBefore ).asNode() ) );
+   }
+
+   public static Query buildMigrationClaimedQuery( final Instant started ) {
+      return MIGRATION_CLAIMED.bind()
+            .set( "startedParam", dateTimeLiteral( started ).asNode() )
+            .asQuery();
+   }
+
+   /**
+    * Copies the triples of a package from the default graph into the package graph and records the progress, only
+    * if the claim is still held. Blank nodes of the model are created once.
     *
-    * Because the whole graph database has to be scanned for the property name search,
-    * the extended query is very slow. With 10 Aspect Models the query takes 9 seconds to complete.
+    * @param claim the current claim of the caller
+    * @param progress replaces the claim
+    */
+   public static UpdateRequest buildMigratePackageRequest( final String packageUrn, final Model model, final Instant claim,
+         final Instant progress ) {
+      final Node packageNode = NodeFactory.createURI( packageUrn );
+      final Node claimNode = dateTimeLiteral( claim ).asNode();
+      final ElementPathBlock claimed = new ElementPathBlock();
+      claimed.addTriple( Triple.create( NodeFactory.createURI( CATALOG_GRAPH ), MIGRATION_STARTED_PROPERTY.asNode(), claimNode ) );
+      final ElementGroup where = new ElementGroup();
+      where.addElement( new ElementNamedGraph( NodeFactory.createURI( CATALOG_GRAPH ), claimed ) );
+      final UpdateModify insert = new UpdateModify();
+      insert.setHasInsertClause( true );
+      model.getGraph().find().forEachRemaining( triple -> insert.getInsertAcc().addQuad( new Quad( packageNode, triple ) ) );
+      insert.setElement( where );
+
+      final UpdateRequest request = new UpdateRequest().add( insert );
+      UpdateTransformOps.transform( MIGRATION_PROGRESS, Map.of(
+                  Var.alloc( "startedParam" ), claimNode,
+                  Var.alloc( "progressParam" ), dateTimeLiteral( progress ).asNode(),
+                  Var.alloc( "packageParam" ), packageNode ) )
+            .getOperations().forEach( request::add );
+      return request;
+   }
+
+   /**
+    * Replaces the state of the job and removes the expired jobs.
     *
-    * The simple query needs 50 milliseconds for the same dataset.
+    * @param job the entry of the job in the jobs graph
+    * @param now jobs that expired before are removed
+    */
+   public static UpdateRequest buildSaveJobRequest( final String jobId, final Model job, final Instant now ) {
+      final UpdateRequest request = UpdateTransformOps.transform( DELETE_JOBS, Map.of(
+            Var.alloc( "jobIdParam" ), NodeFactory.createLiteral( jobId ),
+            Var.alloc( "nowParam" ), dateTimeLiteral( now ).asNode() ) );
+      request.add( new UpdateBuilder().addInsert( NodeFactory.createURI( JOBS_GRAPH ), job ).build() );
+      return request;
+   }
+
+   /**
+    * @param now the job is not found if it expired before
+    */
+   public static Query buildFindJobQuery( final String jobId, final Instant now ) {
+      return FIND_JOB.bind()
+            .setLiteral( "jobIdParam", jobId )
+            .set( "nowParam", dateTimeLiteral( now ).asNode() )
+            .asQuery();
+   }
+
+   public static Query buildFindMigratedPackagesQuery() {
+      return FIND_MIGRATED_PACKAGES;
+   }
+
+   /**
+    * Removes the migration marks and empties the default graph.
+    */
+   public static UpdateRequest buildFinishMigrationRequest() {
+      return FINISH_MIGRATION;
+   }
+
+   public static Query buildFindAllForCatalogQuery() {
+      return FIND_ALL_FOR_CATALOG;
+   }
+
+   public static Query buildCatalogInitializedQuery() {
+      return CATALOG_INITIALIZED;
+   }
+
+   public static Query buildDependenciesIndexedQuery() {
+      return DEPENDENCIES_INDEXED;
+   }
+
+   public static Query buildFindPackageStatusesQuery( final Collection<String> packageUrns ) {
+      return FIND_PACKAGE_STATUSES.bind()
+            .values( PACKAGE, packageUrns.stream().map( NodeFactory::createURI ).collect( Collectors.toList() ) )
+            .asQuery();
+   }
+
+   public static Query buildFindPackageDependenciesQuery( final ModelPackageUrn modelsPackage ) {
+      return FIND_PACKAGE_DEPENDENCIES.bind()
+            .setIri( "packageParam", modelsPackage.getUrn() )
+            .asQuery();
+   }
+
+   public static Query buildFindRevisionClosureQuery( final ModelPackageUrn modelsPackage ) {
+      return FIND_REVISION_CLOSURE.bind()
+            .setIri( "packageParam", modelsPackage.getUrn() )
+            .asQuery();
+   }
+
+   public static Query buildFindAllPackageDependenciesQuery() {
+      return FIND_ALL_PACKAGE_DEPENDENCIES;
+   }
+
+   public static Query buildFindAllModelTextsQuery() {
+      return FIND_ALL_MODEL_TEXTS;
+   }
+
+   public static Query buildFindPackageModelTextsQuery( final ModelPackageUrn modelsPackage ) {
+      return FIND_PACKAGE_MODEL_TEXTS.bind()
+            .setIri( "packageParam", modelsPackage.getUrn() )
+            .asQuery();
+   }
+
+
+   /**
+    * Adds the given dependency entries to the catalog and marks the dependencies of all packages as indexed.
+    */
+   public static UpdateRequest buildIndexDependenciesRequest( final Model dependencies ) {
+      final Model content = ModelFactory.createDefaultModel().add( dependencies );
+      content.add( content.createResource( CATALOG_GRAPH ), DEPENDENCIES_VERSION_PROPERTY, String.valueOf( DEPENDENCIES_VERSION ) );
+      return new UpdateRequest().add( new UpdateBuilder().addInsert( NodeFactory.createURI( CATALOG_GRAPH ), content ).build() );
+   }
+
+   /**
+    * Replaces the catalog with the given entries and marks it as initialized.
+    */
+   public static UpdateRequest buildReplaceCatalogRequest( final Model catalog ) {
+      final Node catalogGraph = NodeFactory.createURI( CATALOG_GRAPH );
+      final Model content = ModelFactory.createDefaultModel().add( catalog );
+      content.add( content.createResource( CATALOG_GRAPH ), CATALOG_VERSION_PROPERTY, String.valueOf( CATALOG_VERSION ) );
+      final UpdateRequest request = new UpdateRequest();
+      request.add( new UpdateDrop( catalogGraph, true ) );
+      request.add( new UpdateBuilder().addInsert( catalogGraph, content ).build() );
+      return request;
+   }
+
+   public static Query echoQuery() {
+      return ECHO;
+   }
+
+
+   /**
+    * Returns a page of the aspect models in the catalog that match the given filters, ordered by their URN. The text
+    * search over the model elements is answered by the search index, not by this query.
     *
     * @param namespaceFilter searches for any namespace matching this parameter
     * @param status matches the package status
@@ -280,56 +988,58 @@ public class SparqlQueries {
    public static Query buildFindAllQuery( String namespaceFilter, ModelPackageStatus status,
          int page, int pageSize ) {
 
-      final ParameterizedSparqlString pss = buildMinimalQuery(FIND_ALL_MINIMAL_QUERY, namespaceFilter, status);
-      pss.setLiteral( "$limitParam", pageSize );
-      pss.setLiteral( "$offsetParam", getOffset( page, pageSize ) );
-      return pss.asQuery();
+      return bindFilters( FIND_ALL_MINIMAL, namespaceFilter, status )
+            .limit( pageSize )
+            .offset( getOffset( page, pageSize ) )
+            .asQuery();
    }
 
-   private static ParameterizedSparqlString buildMinimalQuery(String query, String namespaceFilter, ModelPackageStatus status){
-      final ParameterizedSparqlString pss = create( query );
-      pss.setLiteral( "$bammAspectUrnRegexParam", SAMM_ASPECT_URN_REGEX );
-      if ( StringUtils.isNotBlank( namespaceFilter ) ) {
-         pss.setLiteral( "$namespaceFilterParam", namespaceFilter );
-      }
+   /**
+    * Same as {@link #buildFindAllQuery(String, ModelPackageStatus, int, int)}, but every row additionally carries the
+    * total number of matching aspect models in {@link #ASPECT_MODEL_COUNT}. This saves the separate count query.
+    */
+   public static Query buildFindAllWithCountQuery( String namespaceFilter, ModelPackageStatus status,
+         int page, int pageSize ) {
+      return bindFilters( FIND_ALL_WITH_COUNT_MINIMAL, namespaceFilter, status )
+            .limit( pageSize )
+            .offset( getOffset( page, pageSize ) )
+            .asQuery();
+   }
 
-      if ( status != null ) {
-         pss.setLiteral( "$statusFilterParam", status.name() );
-      }
-      return pss;
+   /**
+    * Returns the aspect models sorting directly after the given cursor aspect. Unlike offset based paging, the cost of
+    * this query does not grow with the position of the page in the result.
+    *
+    * @param namespaceFilter searches for any namespace matching this parameter
+    * @param status matches the package status
+    * @param cursor the URN of the last aspect of the previous page
+    * @param pageSize the page size
+    * @param withCount whether every row should additionally carry the total number of matches in
+    *       {@link #ASPECT_MODEL_COUNT}
+    * @return a Sparql query with the provided search filters
+    */
+   public static Query buildFindAllAfterCursorQuery( String namespaceFilter, ModelPackageStatus status,
+         String cursor, int pageSize, boolean withCount ) {
+      return bindFilters( withCount ? FIND_ALL_AFTER_CURSOR_WITH_COUNT_MINIMAL : FIND_ALL_AFTER_CURSOR_MINIMAL,
+            namespaceFilter, status )
+            .setLiteral( "cursorParam", cursor )
+            .limit( pageSize )
+            .asQuery();
    }
 
-   private static ParameterizedSparqlString buildExtendedSearchQuery( String query, String namespaceFilter,
-         String nameFilter, String nameType,
-         ModelPackageStatus status ) {
-      final ParameterizedSparqlString pss = create( query );
-      pss.setLiteral( "$bammAspectUrnRegexParam", SAMM_ASPECT_URN_REGEX );
-      boolean nameFilterExists = StringUtils.isNotBlank( nameFilter );
-
-      if ( NAME_TYPE_NAME.equals( nameType ) && nameFilterExists ) {
-         pss.setLiteral( "$bammFieldToSearchInParam", SAMM_PREFERRED_NAME );
-         pss.setLiteral( "$bammFieldSearchValueParam", nameFilter );
-      } else if ( NAME_TYPE_DESCRIPTION.equals( nameType ) && nameFilterExists ) {
-         pss.setLiteral( "$bammFieldToSearchInParam", SAMM_DESCRIPTION );
-         pss.setLiteral( "$bammFieldSearchValueParam", nameFilter );
-      } else if ( StringUtils.isNotBlank( nameType ) && nameFilterExists ) {
-         pss.setLiteral( "$bammTypeUrnRegexParam", SAMM_ASPECT_URN_PREFIX + nameType.replace( "samm:", "" ).strip() );
-         pss.setLiteral( "$bammFieldToSearchInParam", SAMM_PREFERRED_NAME );
-         pss.setLiteral( "$bammFieldSearchValueParam", nameFilter );
-      } else {
-         pss.setLiteral( "$bammFieldToSearchInParam", SAMM_PREFERRED_NAME );
-         pss.setLiteral( "$bammTypeUrnRegexParam", SAMM_ASPECT_URN_REGEX );
+   private static QueryTemplate.Bindings bindFilters( QueryTemplate template, String namespaceFilter, ModelPackageStatus status ) {
+      final QueryTemplate.Bindings bindings = template.bind();
+      if ( StringUtils.isNotBlank( namespaceFilter ) ) {
+         bindings.setLiteral( "namespaceFilterParam", namespaceFilter );
       }
+
       if ( status != null ) {
-         pss.setLiteral( "$statusFilterParam", status.name() );
-      }
-      if ( StringUtils.isNotBlank( namespaceFilter ) ) {
-         pss.setLiteral( "$namespaceFilterParam", namespaceFilter );
+         bindings.setLiteral( "statusFilterParam", status.name() );
       }
-      return pss;
+      return bindings;
    }
 
-   private static Integer getOffset( int page, int pageSize ) {
+   static Integer getOffset( int page, int pageSize ) {
       if ( page == 0 ) {
          return page;
       }
@@ -339,22 +1049,10 @@ public class SparqlQueries {
       return (page - 1) * pageSize;
    }
 
-   public static Query buildFindByUrnConstructQuery( final AspectModelUrn urn ) {
-      final ParameterizedSparqlString pss = create( CONSTRUCT_BY_URN_QUERY );
-      pss.setNsPrefix( "ns", urn.getUrn().toString() );
-      return pss.asQuery();
-   }
-
-   public static Query buildFindModelElementClosureQuery( final String urn ) {
-      final ParameterizedSparqlString pss = create( FIND_MODEL_ELEMENT_CLOSURE );
-      pss.setNsPrefix( "ns", urn );
-      return pss.asQuery();
-   }
-
-   private static ParameterizedSparqlString create( final String query ) {
-      final ParameterizedSparqlString pss = new ParameterizedSparqlString();
-      pss.setCommandText( query );
-      pss.setNsPrefix( "aux", AUXILIARY_NAMESPACE );
-      return pss;
+   private static UpdateRequest parseUpdate( final String update ) {
+      final UpdateRequest request = new UpdateRequest();
+      request.setPrefixMapping( PREFIXES );
+      UpdateFactory.parse( request, update );
+      return request;
    }
 }
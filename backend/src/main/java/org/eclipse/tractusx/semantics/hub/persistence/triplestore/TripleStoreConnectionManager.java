@@ -0,0 +1,163 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.rdfconnection.LibSec;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.rdfconnection.RDFConnectionRemote;
+import org.apache.jena.rdfconnection.RDFConnectionRemoteBuilder;
+import org.apache.jena.rdfconnection.RDFConnectionWrapper;
+import org.eclipse.tractusx.semantics.hub.TripleStoreProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out connections to the triple store. All connections share a single {@link HttpClient} that belongs to this
+ * manager, so the underlying HTTP connections are reused between SPARQL calls instead of being set up per request.
+ * <p>
+ * The client runs on its own executor with a bounded number of threads and has its own connect timeout. Nothing is
+ * configured JVM-wide, other HTTP clients in the process are not affected. Idle threads end, so the executor is never
+ * shut down: a client whose executor was shut down waits forever instead of failing.
+ */
+public class TripleStoreConnectionManager implements TripleStoreConnectionSource {
+
+   private static final long KEEP_ALIVE_SECONDS = 60;
+
+   private final TripleStoreProperties.ConnectionPool poolProperties;
+   private final ThreadPoolExecutor executor;
+   private final RDFConnectionRemoteBuilder connectionBuilder;
+   private final AtomicInteger openConnections = new AtomicInteger();
+   private final AtomicLong openedConnections = new AtomicLong();
+
+   public TripleStoreConnectionManager( final TripleStoreProperties properties ) {
+      this.poolProperties = properties.getConnection();
+      final int threads = Math.max( 1, poolProperties.getThreads() );
+      this.executor = new ThreadPoolExecutor( threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), daemonThreads() );
+      executor.allowCoreThreadTimeOut( true );
+      final HttpClient httpClient = HttpClient.newBuilder()
+            .executor( executor )
+            .connectTimeout( poolProperties.getConnectTimeout() )
+            .authenticator( LibSec.authenticator( properties.getUsername(), properties.getPassword() ) )
+            .build();
+      this.connectionBuilder = RDFConnectionRemote.create()
+            .httpClient( httpClient )
+            .destination( properties.getBaseUrl().toString() )
+            .queryEndpoint( properties.getQueryEndpoint() )
+            .updateEndpoint( properties.getUpdateEndpoint() );
+   }
+
+   /**
+    * Opens a connection backed by the shared HTTP client. Connections are cheap and must be closed after use.
+    *
+    * @return the connection
+    */
+   @Override
+   public RDFConnection connect() {
+      openedConnections.incrementAndGet();
+      openConnections.incrementAndGet();
+      return new ManagedConnection( connectionBuilder.build() );
+   }
+
+   /**
+    * @return the builder used for all connections, configured with the shared HTTP client
+    */
+   public RDFConnectionRemoteBuilder getConnectionBuilder() {
+      return connectionBuilder;
+   }
+
+   /**
+    * @return the number of {@link RDFConnection}s handed out and not closed yet, not the number of HTTP connections
+    */
+   public int getOpenConnections() {
+      return openConnections.get();
+   }
+
+   public long getOpenedConnections() {
+      return openedConnections.get();
+   }
+
+   public int getThreads() {
+      return poolProperties.getThreads();
+   }
+
+   public void bindTo( final MeterRegistry meterRegistry ) {
+      Gauge.builder( "hub.triplestore.rdfconnections.open", openConnections, AtomicInteger::get )
+            .description( "RDF connections to the triple store handed out and not closed yet" )
+            .register( meterRegistry );
+      FunctionCounter.builder( "hub.triplestore.rdfconnections.opened", openedConnections, AtomicLong::get )
+            .description( "RDF connections to the triple store handed out since startup" )
+            .register( meterRegistry );
+      Gauge.builder( "hub.triplestore.client.threads", poolProperties, TripleStoreProperties.ConnectionPool::getThreads )
+            .description( "Threads of the HTTP client that talks to the triple store" )
+            .register( meterRegistry );
+   }
+
+   private static ThreadFactory daemonThreads() {
+      final AtomicInteger threads = new AtomicInteger();
+      return runnable -> {
+         final Thread thread = new Thread( runnable, "triplestore-client-" + threads.incrementAndGet() );
+         thread.setDaemon( true );
+         return thread;
+      };
+   }
+
+   /**
+    * Applies the configured query timeout and keeps track of the open connections.
+    */
+   private class ManagedConnection extends RDFConnectionWrapper {
+
+      private final AtomicBoolean closed = new AtomicBoolean();
+
+      ManagedConnection( final RDFConnection connection ) {
+         super( connection );
+      }
+
+      @Override
+      public QueryExecution query( final Query query ) {
+         final Duration timeout = poolProperties.getQueryTimeout();
+         if ( timeout == null || timeout.isZero() ) {
+            return super.query( query );
+         }
+         return get().newQuery().query( query ).timeout( timeout.toMillis(), TimeUnit.MILLISECONDS ).build();
+      }
+
+      @Override
+      public void close() {
+         if ( closed.compareAndSet( false, true ) ) {
+            openConnections.decrementAndGet();
+         }
+         super.close();
+      }
+   }
+}
@@ -21,76 +21,232 @@ package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
 
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
-import org.eclipse.esmf.aspectmodel.urn.UrnSyntaxException;
-import io.vavr.control.Try;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 
 import org.eclipse.tractusx.semantics.hub.AspectModelNotFoundException;
+import org.eclipse.tractusx.semantics.hub.CacheProperties;
+import org.eclipse.tractusx.semantics.hub.ChangeLogPrunedException;
+import org.eclipse.tractusx.semantics.hub.InvalidAspectModelException;
 import org.eclipse.tractusx.semantics.hub.ModelPackageNotFoundException;
+import org.eclipse.tractusx.semantics.hub.ValidationProperties;
+import org.eclipse.tractusx.semantics.hub.cache.NamespaceCache;
 import org.eclipse.tractusx.semantics.hub.domain.ModelPackage;
 import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
 import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
+import org.eclipse.tractusx.semantics.hub.model.Error;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModel;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelChange;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelChangeList;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelChangeType;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelDependencies;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelImportReport;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelImportResult;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelJob;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelJobStatus;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModelList;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelPackage;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModelStatus;
 import org.eclipse.tractusx.semantics.hub.model.SemanticModelType;
-import org.apache.jena.arq.querybuilder.UpdateBuilder;
 import org.apache.jena.query.Query;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
-import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.rdfconnection.RDFConnection;
-import org.apache.jena.rdfconnection.RDFConnectionRemoteBuilder;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
 import org.apache.jena.update.UpdateRequest;
 
-import org.eclipse.esmf.aspectmodel.resolver.AspectModelResolver;
 import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
 
 import org.eclipse.tractusx.semantics.hub.InvalidStateTransitionException;
+import org.eclipse.tractusx.semantics.hub.persistence.ModelPackageListener;
 import org.eclipse.tractusx.semantics.hub.persistence.PersistenceLayer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class TripleStorePersistence implements PersistenceLayer {
 
-   private final RDFConnectionRemoteBuilder rdfConnectionRemoteBuilder;
+   private static final Logger LOG = LoggerFactory.getLogger( TripleStorePersistence.class );
+
+   private static final int MAX_CACHED_COUNTS = 1000;
+   private static final int REFRESH_PAGE_SIZE = 1000;
+   private static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds( 5 );
+   private static final Duration DEFAULT_CHANGE_LOG_RETENTION = Duration.ofDays( 30 );
+   private static final ObjectMapper ERROR_DETAILS_MAPPER = new ObjectMapper();
+
+   private record CountKey(String namespaceFilter, ModelPackageStatus status) {}
+
+   /**
+    * A page of aspect models and the total number of matches, read from a query that returns both.
+    */
+   private record Page(List<SemanticModel> items, int totalItems) {
+
+      static Page from( final List<QuerySolution> querySolutions ) {
+         final List<SemanticModel> items = querySolutions.stream()
+               .filter( querySolution -> querySolution.contains( SparqlQueries.ASPECT ) )
+               .map( TripleStorePersistence::aspectModelFrom )
+               .collect( Collectors.toList() );
+         final int totalItems = querySolutions.stream()
+               .filter( querySolution -> querySolution.contains( SparqlQueries.ASPECT_MODEL_COUNT ) )
+               .map( querySolution -> querySolution.getLiteral( SparqlQueries.ASPECT_MODEL_COUNT ).getInt() )
+               .findFirst()
+               .orElse( items.size() );
+         return new Page( items, totalItems );
+      }
+   }
+
+   private final TripleStoreConnectionSource connectionSource;
    private final SdsSdk sdsSdk;
+   private final ValidationExecutor validationExecutor;
+   private final NamespaceCache namespaceCache;
+   private final PackageDependencies packageDependencies = new PackageDependencies();
+   private final ModelSearchIndex searchIndex = new ModelSearchIndex();
+   private final List<ModelPackageListener> modelPackageListeners = new CopyOnWriteArrayList<>();
 
-   public TripleStorePersistence( final RDFConnectionRemoteBuilder rdfConnectionRemoteBuilder,
+   /**
+    * The total number of matches per list filter. Any change to the stored models invalidates all counts.
+    */
+   private final Cache<CountKey, Integer> totalItemsCounts = CacheBuilder.newBuilder()
+         .maximumSize( MAX_CACHED_COUNTS )
+         .build();
+   private final AtomicLong dataVersion = new AtomicLong();
+   private volatile boolean storageLayoutInitialized;
+
+   /**
+    * The last change in the change log that the search index, the dependencies and the listeners of this instance
+    * reflect.
+    */
+   private volatile long appliedSequence;
+   private volatile long lastRefresh;
+   private volatile Duration refreshInterval = DEFAULT_REFRESH_INTERVAL;
+   private volatile Duration changeLogRetention = DEFAULT_CHANGE_LOG_RETENTION;
+   private final AtomicBoolean refreshing = new AtomicBoolean();
+
+   public TripleStorePersistence( final TripleStoreConnectionSource connectionSource,
          final SdsSdk sdsSdk ) {
-      this.rdfConnectionRemoteBuilder = rdfConnectionRemoteBuilder;
+      this( connectionSource, sdsSdk, new ValidationExecutor( new ValidationProperties() ),
+            new NamespaceCache( new CacheProperties().getNamespaces() ) );
+   }
+
+   public TripleStorePersistence( final TripleStoreConnectionSource connectionSource,
+         final SdsSdk sdsSdk, final ValidationExecutor validationExecutor, final NamespaceCache namespaceCache ) {
+      this.connectionSource = connectionSource;
       this.sdsSdk = sdsSdk;
+      this.validationExecutor = validationExecutor;
+      this.namespaceCache = namespaceCache;
+      modelPackageListeners.add( namespaceCache );
    }
 
    @Override
    public SemanticModelList getModels( String namespaceFilter,
          @Nullable ModelPackageStatus status, Integer page, Integer pageSize ) {
-      final Query query = SparqlQueries.buildFindAllQuery( namespaceFilter, status, page,
-            pageSize );
-      final AtomicReference<List<SemanticModel>> aspectModels = new AtomicReference<>();
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
-         rdfConnection.queryResultSet( query, resultSet -> {
-            final List<QuerySolution> querySolutions = ResultSetFormatter.toList( resultSet );
-            aspectModels.set( TripleStorePersistence.aspectModelFrom( querySolutions ) );
-         } );
+      return findModels( new CountKey( namespaceFilter, status ), withCount -> withCount
+            ? SparqlQueries.buildFindAllWithCountQuery( namespaceFilter, status, page, pageSize )
+            : SparqlQueries.buildFindAllQuery( namespaceFilter, status, page, pageSize ), page, pageSize );
+   }
+
+   @Override
+   public SemanticModelList getModelsAfter( String namespaceFilter, @Nullable ModelPackageStatus status,
+         String cursor, Integer pageSize ) {
+      return findModels( new CountKey( namespaceFilter, status ), withCount ->
+            SparqlQueries.buildFindAllAfterCursorQuery( namespaceFilter, status, cursor, pageSize, withCount ), 0, pageSize );
+   }
+
+   @Override
+   public SemanticModelList searchModels( String query, @Nullable String language, String namespaceFilter,
+         @Nullable ModelPackageStatus status, int page, int pageSize ) {
+      ensureStorageLayout();
+      final String namespace = namespaceFilter.toLowerCase( Locale.ROOT );
+      final List<SemanticModel> matches = searchIndex.search( query, language ).stream()
+            .filter( urn -> urn.toLowerCase( Locale.ROOT ).contains( namespace ) )
+            .flatMap( urn -> packageDependencies.statusOf( AspectModelUrn.fromUrn( urn ).getUrnPrefix() )
+                  .filter( packageStatus -> status == null || status.equals( packageStatus ) )
+                  .map( packageStatus -> aspectModelFrom( urn, packageStatus.name() ) )
+                  .stream() )
+            .collect( Collectors.toList() );
+      final int fromIndex = Math.min( SparqlQueries.getOffset( page, pageSize ), matches.size() );
+      final int toIndex = Math.min( fromIndex + pageSize, matches.size() );
+      return modelListFrom( matches.subList( fromIndex, toIndex ), matches.size(), page, pageSize );
+   }
+
+   /**
+    * Runs the page query and takes the total count from the cache or, on a miss, from the same query.
+    *
+    * @param countKey the filter the total count belongs to
+    * @param queryBuilder builds the page query, with or without the total count
+    */
+   private SemanticModelList findModels( CountKey countKey, Function<Boolean, Query> queryBuilder, int page,
+         int pageSize ) {
+      final Integer cachedCount = totalItemsCounts.getIfPresent( countKey );
+      if ( cachedCount != null ) {
+         return modelListFrom( findPage( queryBuilder.apply( false ) ).items(), cachedCount, page, pageSize );
       }
-      int totalSemanticModelCount = getTotalItemsCount( namespaceFilter, status );
+      final long countVersion = dataVersion.get();
+      final Page result = findPage( queryBuilder.apply( true ) );
+      if ( countVersion == dataVersion.get() ) {
+         totalItemsCounts.put( countKey, result.totalItems() );
+      }
+      return modelListFrom( result.items(), result.totalItems(), page, pageSize );
+   }
+
+   private Page findPage( final Query query ) {
+      ensureStorageLayout();
+      final AtomicReference<List<QuerySolution>> querySolutions = new AtomicReference<>();
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         rdfConnection.queryResultSet( query, resultSet -> querySolutions.set( ResultSetFormatter.toList( resultSet ) ) );
+      }
+      return Page.from( querySolutions.get() );
+   }
+
+   private static SemanticModelList modelListFrom( List<SemanticModel> semanticModels, int totalSemanticModelCount,
+         int page, int pageSize ) {
       int totalPages = getTotalPages( totalSemanticModelCount, pageSize );
       SemanticModelList modelList = new SemanticModelList();
-      List<SemanticModel> semanticModels = aspectModels.get();
       modelList.setCurrentPage( page );
       modelList.setItemCount( semanticModels.size() );
       modelList.setTotalPages( totalPages );
       modelList.setTotalItems( totalSemanticModelCount );
-      modelList.setItems( aspectModels.get() );
+      modelList.setItems( semanticModels );
       return modelList;
    }
 
@@ -106,62 +262,158 @@ public class TripleStorePersistence implements PersistenceLayer {
       return findByUrn( urn );
    }
 
+   /**
+    * Validates the model and stores it in one update that also deletes the package it replaces, so the stored package
+    * is either the old or the new one. The update only takes effect if the package still has the status the transition
+    * was checked against, otherwise the request fails. The model is validated as if its package was not stored yet.
+    */
    @Override
    public SemanticModel save( SemanticModelType type, String newModel, SemanticModelStatus status ) {
       final Model rdfModel = sdsSdk.load( newModel.getBytes( StandardCharsets.UTF_8 ) );
       final AspectModelUrn modelUrn = sdsSdk.getAspectUrn( rdfModel );
-      Optional<ModelPackage> existsByPackage = findByPackageByUrn( ModelPackageUrn.fromUrn( modelUrn ) );
+      final ModelPackageUrn modelsPackage = ModelPackageUrn.fromUrn( modelUrn );
+      final ModelPackageStatus desiredModelStatus = ModelPackageStatus.valueOf( status.name() );
+      final Set<String> referencedPackages = PackageDependencies.referencedPackages( modelUrn.getUrnPrefix(), rdfModel );
+      final Optional<ModelPackageStatus> previousStatus = checkStatusTransition( modelUrn, referencedPackages, desiredModelStatus );
 
-      if ( existsByPackage.isPresent() ) {
-         ModelPackageStatus persistedModelStatus = existsByPackage.get().getStatus();
-         final ModelPackageStatus desiredModelStatus = ModelPackageStatus.valueOf( status.name() );
-         switch ( persistedModelStatus ) {
-         case DRAFT:
-            if ( desiredModelStatus.equals( ModelPackageStatus.RELEASED ) && !hasReferenceToDraftPackage( modelUrn, rdfModel ) ) {
-               throw new InvalidStateTransitionException( "It is not allowed to release an aspect that has dependencies in DRAFT state." );
-            } else if ( desiredModelStatus.equals( ModelPackageStatus.STANDARDIZED ) ) {
-               throw new IllegalArgumentException(
-                     String.format( "The package %s is in status %s. Only a transition to RELEASED or DEPRECATED is possible.",
-                           ModelPackageUrn.fromUrn( modelUrn ).getUrn(), persistedModelStatus.name() ) );
-            }
-            deleteByUrn( ModelPackageUrn.fromUrn( modelUrn ) );
-            break;
-         case RELEASED:
-            // released models can only be updated when the new state is deprecated or standardized
-            if ( desiredModelStatus.equals( ModelPackageStatus.DEPRECATED ) || desiredModelStatus.equals( ModelPackageStatus.STANDARDIZED ) ) {
-               deleteByUrn( ModelPackageUrn.fromUrn( modelUrn ) );
-            } else {
-               throw new IllegalArgumentException(
-                     String.format( "The package %s is already in status %s and cannot be modified. Only a transition to STANDARDIZED or DEPRECATED is possible.",
-                           ModelPackageUrn.fromUrn( modelUrn ).getUrn(), persistedModelStatus.name() ) );
-            }
-            break;
-         case STANDARDIZED:
-            if ( desiredModelStatus.equals( ModelPackageStatus.DEPRECATED ) ) {
-               deleteByUrn( ModelPackageUrn.fromUrn( modelUrn ) );
-            } else {
-               throw new IllegalArgumentException(
-                     String.format( "The package %s is already in status %s and cannot be modified. Only a transition to DEPRECATED is possible.",
-                           ModelPackageUrn.fromUrn( modelUrn ).getUrn(), persistedModelStatus.name() ) );
-            }
-            break;
-         case DEPRECATED:
-            throw new IllegalArgumentException(
-                  String.format( "The package %s is already in status %s and cannot be modified.",
-                        ModelPackageUrn.fromUrn( modelUrn ).getUrn(), persistedModelStatus.name() ) );
+      validationExecutor.execute( () -> sdsSdk.validate( rdfModel, urn -> modelUrn.getUrnPrefix()
+            .equals( ModelElementClosure.packageOf( urn ).orElse( urn ) )
+            ? ModelFactory.createDefaultModel()
+            : findContainingModelByUrn( urn ) ) );
+
+      final ModelRevision revision = newRevision();
+      final UpdateRequest saveRequest = SparqlQueries.buildReplacePackageRequest( modelsPackage, previousStatus.orElse( null ),
+            revision, rdfModel, catalogEntryFor( modelUrn, desiredModelStatus, revision, referencedPackages ),
+            changeRecordFor( modelsPackage, previousStatus.orElse( null ), desiredModelStatus, revision ) );
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         rdfConnection.update( saveRequest );
+         if ( !rdfConnection.queryAsk( SparqlQueries.buildPackageRevisionStoredQuery( modelsPackage, revision ) ) ) {
+            throw concurrentChange( modelsPackage );
          }
       }
+      packageDependencies.put( modelUrn.getUrnPrefix(), desiredModelStatus, referencedPackages );
+      searchIndex.removePackage( modelUrn.getUrnPrefix() );
+      searchIndex.put( modelUrn.getUrn().toString(), modelUrn.getUrnPrefix(), rdfModel );
+      notifyPackageChanged( modelsPackage );
+      return aspectModelFrom( modelUrn.getUrn().toString(), desiredModelStatus.name() );
+   }
 
-      sdsSdk.validate( rdfModel, this::findContainingModelByUrn );
+   /**
+    * Changes only the status entries of the package in the catalog, with the same transition rules as {@link #save}.
+    * The model is not validated again, a release still requires that no referenced package is in DRAFT.
+    */
+   @Override
+   public SemanticModel updateStatus( final AspectModelUrn urn, final SemanticModelStatus status ) {
+      if ( findByUrn( urn ) == null ) {
+         throw new AspectModelNotFoundException( urn );
+      }
+      final ModelPackageUrn modelsPackage = ModelPackageUrn.fromUrn( urn );
+      final ModelPackageStatus desiredModelStatus = ModelPackageStatus.valueOf( status.name() );
+      final Set<String> referencedPackages = findDependencies( modelsPackage );
+      final Optional<ModelPackageStatus> previousStatus = checkStatusTransition( urn, referencedPackages, desiredModelStatus );
 
-      final Resource rootResource = ResourceFactory.createResource( modelUrn.getUrnPrefix() );
-      rdfModel.add( rootResource, SparqlQueries.STATUS_PROPERTY,
-            ModelPackageStatus.valueOf( status.name() ).toString() );
+      final ModelRevision revision = newRevision();
+      final UpdateRequest updateStatusRequest = SparqlQueries.buildUpdateStatusRequest( modelsPackage, desiredModelStatus, revision );
+      SparqlQueries.buildRecordChangeRequest( modelsPackage, SemanticModelChangeType.STATUS_CHANGED, previousStatus.orElse( null ),
+            desiredModelStatus, revision, revision.getLastModified(), prunedBefore() ).getOperations().forEach( updateStatusRequest::add );
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         rdfConnection.update( updateStatusRequest );
+      }
+      packageDependencies.put( modelsPackage.getUrn(), desiredModelStatus, referencedPackages );
+      notifyPackageChanged( modelsPackage );
+      return aspectModelFrom( urn.getUrn().toString(), desiredModelStatus.name() );
+   }
 
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
-         rdfConnection.update( new UpdateBuilder().addInsert( rdfModel ).build() );
+   @Override
+   public SemanticModelImportReport importModels( final Map<String, String> newModels, final SemanticModelStatus status ) {
+      ensureStorageLayout();
+      final ModelPackageStatus desiredModelStatus = ModelPackageStatus.valueOf( status.name() );
+      final List<ImportCandidate> candidates = newModels.entrySet().stream()
+            .map( newModel -> ImportCandidate.load( newModel.getKey(), newModel.getValue(), sdsSdk ) )
+            .collect( Collectors.toList() );
+
+      final Map<String, List<ImportCandidate>> candidatesByPackage = candidates.stream()
+            .filter( ImportCandidate::isValid )
+            .collect( Collectors.groupingBy( ImportCandidate::packageUrn ) );
+      candidatesByPackage.values().stream().filter( samePackage -> samePackage.size() > 1 ).flatMap( List::stream )
+            .forEach( candidate -> candidate.reject( new IllegalArgumentException(
+                  String.format( "The package %s is contained more than once in the import.", candidate.packageUrn() ) ) ) );
+      candidates.stream().filter( ImportCandidate::isValid ).forEach( candidate -> candidate.check(
+            () -> candidate.previousStatus = checkStatusTransition( candidate.urn, candidate.referencedPackages, desiredModelStatus ) ) );
+
+      final Map<String, Model> importedPackages = candidates.stream()
+            .filter( ImportCandidate::isValid )
+            .collect( Collectors.toMap( ImportCandidate::packageUrn, candidate -> candidate.model ) );
+      validationExecutor.executeAll( candidates.stream().filter( ImportCandidate::isValid )
+            .<Runnable> map( candidate -> () -> candidate.check( () -> sdsSdk.validate( candidate.model, urn -> {
+               final String packageUrn = ModelElementClosure.packageOf( urn ).orElse( urn );
+               if ( packageUrn.equals( candidate.packageUrn() ) ) {
+                  return ModelFactory.createDefaultModel();
+               }
+               final Model importedPackage = importedPackages.get( packageUrn );
+               if ( importedPackage == null ) {
+                  return findContainingModelByUrn( urn );
+               }
+               candidate.dependencies.add( packageUrn );
+               return importedPackage;
+            } ) ) )
+            .collect( Collectors.toList() ) );
+      rejectDependentsOfRejected( candidates );
+
+      final List<ImportCandidate> imported = candidates.stream().filter( ImportCandidate::isValid )
+            .collect( Collectors.toCollection( ArrayList::new ) );
+      if ( !imported.isEmpty() ) {
+         final UpdateRequest importRequest = new UpdateRequest();
+         imported.forEach( candidate -> {
+            candidate.revision = newRevision();
+            final ModelPackageUrn modelsPackage = ModelPackageUrn.fromUrn( candidate.urn );
+            SparqlQueries.buildReplacePackageRequest( modelsPackage, candidate.previousStatus.orElse( null ), candidate.revision,
+                        candidate.model, catalogEntryFor( candidate.urn, desiredModelStatus, candidate.revision, candidate.referencedPackages ),
+                        changeRecordFor( modelsPackage, candidate.previousStatus.orElse( null ), desiredModelStatus, candidate.revision ) )
+                  .getOperations().forEach( importRequest::add );
+         } );
+         try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+            rdfConnection.update( importRequest );
+            imported.stream()
+                  .filter( candidate -> !rdfConnection.queryAsk( SparqlQueries.buildPackageRevisionStoredQuery(
+                        ModelPackageUrn.fromUrn( candidate.urn ), candidate.revision ) ) )
+                  .forEach( candidate -> candidate.reject( concurrentChange( ModelPackageUrn.fromUrn( candidate.urn ) ) ) );
+         }
+         imported.removeIf( candidate -> !candidate.isValid() );
+         imported.forEach( candidate -> {
+            packageDependencies.put( candidate.packageUrn(), desiredModelStatus, candidate.referencedPackages );
+            searchIndex.removePackage( candidate.packageUrn() );
+            searchIndex.put( candidate.urn.getUrn().toString(), candidate.packageUrn(), candidate.model );
+         } );
+         imported.forEach( candidate -> notifyPackageChanged( ModelPackageUrn.fromUrn( candidate.urn ) ) );
+      }
+
+      return new SemanticModelImportReport()
+            .items( candidates.stream().map( ImportCandidate::toResult ).collect( Collectors.toList() ) )
+            .importedCount( imported.size() )
+            .failedCount( candidates.size() - imported.size() );
+   }
+
+   /**
+    * Rejects all models that reference a rejected model of the same import, until no more models are affected.
+    */
+   private static void rejectDependentsOfRejected( final List<ImportCandidate> candidates ) {
+      boolean rejected = true;
+      while ( rejected ) {
+         final Set<String> rejectedPackages = candidates.stream()
+               .filter( candidate -> !candidate.isValid() && candidate.urn != null )
+               .map( ImportCandidate::packageUrn )
+               .collect( Collectors.toSet() );
+         rejected = false;
+         for ( final ImportCandidate candidate : candidates ) {
+            final Optional<String> rejectedDependency = candidate.dependencies.stream().filter( rejectedPackages::contains ).findFirst();
+            if ( candidate.isValid() && rejectedDependency.isPresent() ) {
+               candidate.reject( new InvalidAspectModelException(
+                     String.format( "The referenced package %s could not be imported.", rejectedDependency.get() ) ) );
+               rejected = true;
+            }
+         }
       }
-      return findByUrn( modelUrn );
    }
 
    @Override
@@ -175,6 +427,27 @@ public class TripleStorePersistence implements PersistenceLayer {
       return out.toString();
    }
 
+   @Override
+   public void writeModelDefinition( final AspectModelUrn urn, final StreamRDF output ) {
+      ensureStorageLayout();
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         new ModelElementClosure( packageUrn -> findPackageGraph( rdfConnection, packageUrn ) )
+               .collect( urn.getUrn().toString(), output::triple );
+      }
+   }
+
+   @Override
+   public void writeModelDefinitions( final List<AspectModelUrn> urns, final StreamRDF output ) {
+      ensureStorageLayout();
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         final ModelElementClosure closure = new ModelElementClosure( packageUrn -> findPackageGraph( rdfConnection, packageUrn ) );
+         urns.stream().map( urn -> urn.getUrn().toString() ).distinct().forEach( urn -> {
+            final Node graphName = NodeFactory.createURI( urn );
+            closure.collect( urn, triple -> output.quad( Quad.create( graphName, triple ) ) );
+         } );
+      }
+   }
+
    @Override
    public void deleteModelsPackage( final ModelPackageUrn urn ) {
       ModelPackage modelsPackage = findByPackageByUrn( urn )
@@ -186,104 +459,590 @@ public class TripleStorePersistence implements PersistenceLayer {
                String.format( "The package %s is already in status %s and cannot be deleted.",
                      urn.getUrn(), status.name() ) );
       }
-      deleteByUrn( urn );
+      deleteByUrn( urn, status );
    }
 
    @Override
-   public SemanticModelList findModelListByUrns( List<AspectModelUrn> urns, int page, int pageSize ) {
-      final Query query = SparqlQueries.buildFindListByUrns( urns, page, pageSize );
-      final AtomicReference<List<SemanticModel>> aspectModels = new AtomicReference<>();
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
-         rdfConnection.queryResultSet( query, resultSet -> {
-            final List<QuerySolution> querySolutions = ResultSetFormatter.toList( resultSet );
-            aspectModels.set( TripleStorePersistence.aspectModelFrom( querySolutions ) );
-         } );
+   public SemanticModelDependencies getModelDependencies( final AspectModelUrn urn ) {
+      if ( findByUrn( urn ) == null ) {
+         throw new AspectModelNotFoundException( urn );
       }
-      int totalSemanticModelCount = getSelectiveItemsCount( null, null, null, null, urns );
-      int totalPages = getTotalPages( totalSemanticModelCount, pageSize );
-      SemanticModelList modelList = new SemanticModelList();
-      List<SemanticModel> semanticModels = aspectModels.get();
-      modelList.setCurrentPage( page );
-      modelList.setItemCount( semanticModels.size() );
-      modelList.setTotalPages( totalPages );
-      modelList.setTotalItems( totalSemanticModelCount );
-      modelList.setItems( aspectModels.get() );
-      return modelList;
+      final String packageUrn = urn.getUrnPrefix();
+      return new SemanticModelDependencies()
+            .packageUrn( packageUrn )
+            .dependsOn( packagesOf( packageDependencies.dependenciesOf( packageUrn ) ) )
+            .usedBy( packagesOf( packageDependencies.dependentsOf( packageUrn ) ) );
    }
 
-   public boolean echo() {
-      final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build();
+   /**
+    * Reads the dependencies known to this instance, it is called while listeners are notified of a change.
+    */
+   @Override
+   public Set<String> getDependentPackages( final ModelPackageUrn urn ) {
+      return packageDependencies.allDependentsOf( urn.getUrn() );
+   }
 
-      return rdfConnection.queryAsk( SparqlQueries.echoQuery() );
+   /**
+    * Combines the revisions of the package of the model and of all packages it references directly or indirectly,
+    * so the revision also changes if a referenced package changes. Read from the catalog with a single query, so
+    * changes made through other instances are seen as well.
+    */
+   @Override
+   public Optional<ModelRevision> getModelRevision( final AspectModelUrn urn ) {
+      ensureStorageLayout();
+      final SortedMap<String, Optional<ModelRevision>> revisions = new TreeMap<>();
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         rdfConnection.querySelect( SparqlQueries.buildFindRevisionClosureQuery( ModelPackageUrn.fromUrn( urn ) ),
+               result -> revisions.put( result.get( SparqlQueries.PACKAGE ).toString(), revisionFrom( result ) ) );
+      }
+      if ( revisions.isEmpty() ) {
+         return Optional.empty();
+      }
+      final Hasher tag = Hashing.sha256().newHasher().putString( urn.getUrn().toString(), StandardCharsets.UTF_8 );
+      revisions.forEach( ( packageUrn, revision ) -> tag
+            .putString( "\n" + packageUrn + "=" + revision.map( ModelRevision::getTag ).orElse( "" ), StandardCharsets.UTF_8 ) );
+      final boolean allModifiedKnown = revisions.values().stream()
+            .allMatch( revision -> revision.map( ModelRevision::getLastModified ).isPresent() );
+      final Instant lastModified = !allModifiedKnown ? null : revisions.values().stream()
+            .map( revision -> revision.get().getLastModified() )
+            .max( Comparator.naturalOrder() )
+            .orElse( null );
+      return Optional.of( new ModelRevision( tag.hash().toString(), lastModified ) );
    }
 
-   private boolean hasReferenceToDraftPackage( AspectModelUrn modelUrn, Model model ) {
-      Pattern pattern = Pattern.compile( SparqlQueries.ALL_SAMM_ASPECT_URN_PREFIX );
+   /**
+    * @return the revision of the package in the result, empty if none is stored for it
+    */
+   private static Optional<ModelRevision> revisionFrom( final QuerySolution querySolution ) {
+      if ( !querySolution.contains( SparqlQueries.REVISION ) ) {
+         return Optional.empty();
+      }
+      return Optional.of( new ModelRevision( querySolution.getLiteral( SparqlQueries.REVISION ).getLexicalForm(),
+            OffsetDateTime.parse( querySolution.getLiteral( SparqlQueries.MODIFIED ).getLexicalForm() ).toInstant() ) );
+   }
 
-      List<String> urns = AspectModelResolver.getAllUrnsInModel( model ).stream().filter( urn -> getAspectModelUrn( urn ).isSuccess() )
-            .map( urn -> getAspectModelUrn( urn ).get().getUrnPrefix() )
-            .distinct()
+   /**
+    * Reads one change more than requested to find out whether more changes follow.
+    *
+    * @throws ChangeLogPrunedException if changes after the given sequence number or time were already removed
+    */
+   @Override
+   public SemanticModelChangeList getModelChanges( @Nullable final Long sinceSequence, @Nullable final Instant sinceModified,
+         final int pageSize ) {
+      ensureStorageLayout();
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         return findChanges( rdfConnection, sinceSequence, sinceModified, pageSize );
+      }
+   }
+
+   private static SemanticModelChangeList findChanges( final RDFConnection rdfConnection, @Nullable final Long sinceSequence,
+         @Nullable final Instant sinceModified, final int pageSize ) {
+      final List<QuerySolution> querySolutions = new ArrayList<>();
+      rdfConnection.querySelect( SparqlQueries.buildFindChangesQuery( sinceSequence, sinceModified, pageSize + 1 ),
+            querySolutions::add );
+      querySolutions.stream().findFirst().ifPresent( querySolution -> {
+         if ( sinceSequence != null && querySolution.contains( SparqlQueries.PRUNED_SEQUENCE )
+               && sinceSequence < querySolution.getLiteral( SparqlQueries.PRUNED_SEQUENCE ).getLong() ) {
+            throw new ChangeLogPrunedException( String.valueOf( sinceSequence ) );
+         }
+         if ( sinceModified != null && querySolution.contains( SparqlQueries.PRUNED_BEFORE ) && sinceModified.isBefore(
+               OffsetDateTime.parse( querySolution.getLiteral( SparqlQueries.PRUNED_BEFORE ).getLexicalForm() ).toInstant() ) ) {
+            throw new ChangeLogPrunedException( sinceModified.toString() );
+         }
+      } );
+      final List<SemanticModelChange> changes = querySolutions.stream()
+            .filter( querySolution -> querySolution.contains( SparqlQueries.SEQUENCE ) )
+            .map( TripleStorePersistence::changeFrom )
             .collect( Collectors.toList() );
+      final boolean hasMore = changes.size() > pageSize;
+      final List<SemanticModelChange> page = hasMore ? changes.subList( 0, pageSize ) : changes;
+      final long lastSequence = page.isEmpty()
+            ? querySolutions.stream()
+                  .filter( querySolution -> querySolution.contains( SparqlQueries.LAST_SEQUENCE ) )
+                  .map( querySolution -> querySolution.getLiteral( SparqlQueries.LAST_SEQUENCE ).getLong() )
+                  .findFirst()
+                  .orElse( 0L )
+            : page.get( page.size() - 1 ).getSequence();
+      return new SemanticModelChangeList().items( page ).lastSequence( lastSequence ).hasMore( hasMore );
+   }
+
+   @Override
+   public void saveUploadJob( final SemanticModelJob job, final Instant expiresAt ) {
+      final Model entry = ModelFactory.createDefaultModel();
+      final Resource resource = entry.createResource()
+            .addProperty( SparqlQueries.JOB_ID_PROPERTY, job.getId() )
+            .addProperty( SparqlQueries.STATUS_PROPERTY, job.getStatus().getValue() )
+            .addLiteral( SparqlQueries.SUBMITTED_AT_PROPERTY, SparqlQueries.dateTimeLiteral( job.getSubmittedAt().toInstant() ) )
+            .addLiteral( SparqlQueries.EXPIRES_PROPERTY, SparqlQueries.dateTimeLiteral( expiresAt ) );
+      if ( job.getStartedAt() != null ) {
+         resource.addLiteral( SparqlQueries.STARTED_AT_PROPERTY, SparqlQueries.dateTimeLiteral( job.getStartedAt().toInstant() ) );
+      }
+      if ( job.getFinishedAt() != null ) {
+         resource.addLiteral( SparqlQueries.FINISHED_AT_PROPERTY, SparqlQueries.dateTimeLiteral( job.getFinishedAt().toInstant() ) );
+      }
+      if ( job.getModel() != null ) {
+         resource.addProperty( SparqlQueries.MODEL_PROPERTY, entry.createResource( job.getModel().getUrn() ) )
+               .addProperty( SparqlQueries.MODEL_STATUS_PROPERTY, job.getModel().getStatus().getValue() );
+      }
+      if ( job.getError() != null ) {
+         resource.addProperty( SparqlQueries.ERROR_MESSAGE_PROPERTY, Objects.toString( job.getError().getMessage(), "" ) );
+         try {
+            resource.addProperty( SparqlQueries.ERROR_DETAILS_PROPERTY,
+                  ERROR_DETAILS_MAPPER.writeValueAsString( job.getError().getDetails() ) );
+         } catch ( final JsonProcessingException exception ) {
+            throw new IllegalArgumentException( "The error details of job " + job.getId() + " cannot be stored", exception );
+         }
+      }
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         rdfConnection.update( SparqlQueries.buildSaveJobRequest( job.getId(), entry, Instant.now() ) );
+      }
+   }
 
-      for ( var entry : urns ) {
-         Matcher matcher = pattern.matcher( entry );
-         if ( !matcher.find() && !modelUrn.getUrnPrefix().equals( entry ) ) {
-            if ( findByPackageByUrn( ModelPackageUrn.fromUrn( entry ) ).get().getStatus().equals( ModelPackageStatus.DRAFT ) ) {
-               return false;
+   @Override
+   public Optional<SemanticModelJob> findUploadJob( final String jobId ) {
+      final Model entry;
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         entry = rdfConnection.queryConstruct( SparqlQueries.buildFindJobQuery( jobId, Instant.now() ) );
+      }
+      return entry.listSubjectsWithProperty( SparqlQueries.JOB_ID_PROPERTY ).nextOptional().map( resource -> {
+         final SemanticModelJob job = new SemanticModelJob()
+               .id( jobId )
+               .status( SemanticModelJobStatus.fromValue( resource.getProperty( SparqlQueries.STATUS_PROPERTY ).getString() ) )
+               .submittedAt( dateTimeOf( resource, SparqlQueries.SUBMITTED_AT_PROPERTY ) )
+               .startedAt( dateTimeOf( resource, SparqlQueries.STARTED_AT_PROPERTY ) )
+               .finishedAt( dateTimeOf( resource, SparqlQueries.FINISHED_AT_PROPERTY ) );
+         if ( resource.hasProperty( SparqlQueries.MODEL_PROPERTY ) ) {
+            job.model( aspectModelFrom( resource.getPropertyResourceValue( SparqlQueries.MODEL_PROPERTY ).getURI(),
+                  resource.getProperty( SparqlQueries.MODEL_STATUS_PROPERTY ).getString() ) );
+         }
+         if ( resource.hasProperty( SparqlQueries.ERROR_MESSAGE_PROPERTY ) ) {
+            try {
+               job.error( new Error().message( resource.getProperty( SparqlQueries.ERROR_MESSAGE_PROPERTY ).getString() )
+                     .details( ERROR_DETAILS_MAPPER.readValue( resource.getProperty( SparqlQueries.ERROR_DETAILS_PROPERTY ).getString(),
+                           new TypeReference<Map<String, Object>>() {} ) ) );
+            } catch ( final JsonProcessingException exception ) {
+               throw new IllegalStateException( "The error details of job " + jobId + " are invalid", exception );
             }
          }
+         return job;
+      } );
+   }
+
+   @Nullable
+   private static OffsetDateTime dateTimeOf( final Resource resource, final Property property ) {
+      return resource.hasProperty( property )
+            ? OffsetDateTime.parse( resource.getProperty( property ).getLiteral().getLexicalForm() )
+            : null;
+   }
+
+   private static SemanticModelChange changeFrom( final QuerySolution querySolution ) {
+      return new SemanticModelChange()
+            .sequence( querySolution.getLiteral( SparqlQueries.SEQUENCE ).getLong() )
+            .urn( querySolution.get( SparqlQueries.ASPECT ).toString() )
+            .packageUrn( querySolution.get( SparqlQueries.PACKAGE ).toString() )
+            .changeType( SemanticModelChangeType.fromValue( querySolution.getLiteral( SparqlQueries.CHANGE_TYPE ).getString() ) )
+            .previousStatus( statusFrom( querySolution, SparqlQueries.PREVIOUS_STATUS ) )
+            .status( statusFrom( querySolution, SparqlQueries.STATUS_RESULT ) )
+            .revision( querySolution.contains( SparqlQueries.REVISION )
+                  ? querySolution.getLiteral( SparqlQueries.REVISION ).getString()
+                  : null )
+            .modified( OffsetDateTime.parse( querySolution.getLiteral( SparqlQueries.MODIFIED ).getLexicalForm() ) );
+   }
+
+   @Nullable
+   private static SemanticModelStatus statusFrom( final QuerySolution querySolution, final String variable ) {
+      return querySolution.contains( variable ) ? SemanticModelStatus.fromValue( querySolution.getLiteral( variable ).getString() ) : null;
+   }
+
+   private List<SemanticModelPackage> packagesOf( final List<String> packageUrns ) {
+      return packageUrns.stream()
+            .map( packageUrn -> new SemanticModelPackage()
+                  .urn( packageUrn )
+                  .status( packageDependencies.statusOf( packageUrn )
+                        .map( status -> SemanticModelStatus.fromValue( status.name() ) )
+                        .orElse( null ) ) )
+            .collect( Collectors.toList() );
+   }
+
+   @Override
+   public SemanticModelList findModelListByUrns( List<AspectModelUrn> urns, int page, int pageSize ) {
+      final Page result = findPage( SparqlQueries.buildFindListByUrnsWithCount( urns, page, pageSize ) );
+      return modelListFrom( result.items(), result.totalItems(), page, pageSize );
+   }
+
+   @Override
+   public void addModelPackageListener( final ModelPackageListener listener ) {
+      modelPackageListeners.add( listener );
+   }
+
+   /**
+    * @param refreshInterval how long changes stored through other instances may take to reach the search index, the
+    *       dependencies and the listeners of this instance
+    */
+   public void setRefreshInterval( final Duration refreshInterval ) {
+      this.refreshInterval = refreshInterval;
+   }
+
+   /**
+    * @param changeLogRetention how long the entries of the change log are kept, older ones are removed whenever a change
+    *       is recorded
+    */
+   public void setChangeLogRetention( final Duration changeLogRetention ) {
+      this.changeLogRetention = changeLogRetention;
+   }
+
+   public boolean echo() {
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         return rdfConnection.queryAsk( SparqlQueries.echoQuery() );
       }
+   }
 
-      return true;
+   /**
+    * Checks whether the package of the model may be saved with the desired status. The status of the referenced
+    * packages is read from the catalog, so packages changed through other instances are seen as well.
+    *
+    * @param referencedPackages the packages the model references, none of them may be in DRAFT for a release
+    * @return the status of the stored package, which has to be replaced, empty if the package does not exist yet
+    * @throws IllegalArgumentException or InvalidStateTransitionException if the status transition is not allowed
+    */
+   private Optional<ModelPackageStatus> checkStatusTransition( final AspectModelUrn modelUrn, final Set<String> referencedPackages,
+         final ModelPackageStatus desiredModelStatus ) {
+      Optional<ModelPackage> existsByPackage = findByPackageByUrn( ModelPackageUrn.fromUrn( modelUrn ) );
+      if ( existsByPackage.isEmpty() ) {
+         return Optional.empty();
+      }
+
+      ModelPackageStatus persistedModelStatus = existsByPackage.get().getStatus();
+      switch ( persistedModelStatus ) {
+      case DRAFT:
+         if ( desiredModelStatus.equals( ModelPackageStatus.RELEASED )
+               && findPackageStatuses( referencedPackages ).containsValue( ModelPackageStatus.DRAFT ) ) {
+            throw new InvalidStateTransitionException( "It is not allowed to release an aspect that has dependencies in DRAFT state." );
+         } else if ( desiredModelStatus.equals( ModelPackageStatus.STANDARDIZED ) ) {
+            throw new IllegalArgumentException(
+                  String.format( "The package %s is in status %s. Only a transition to RELEASED or DEPRECATED is possible.",
+                        ModelPackageUrn.fromUrn( modelUrn ).getUrn(), persistedModelStatus.name() ) );
+         }
+         return Optional.of( persistedModelStatus );
+      case RELEASED:
+         // released models can only be updated when the new state is deprecated or standardized
+         if ( desiredModelStatus.equals( ModelPackageStatus.DEPRECATED ) || desiredModelStatus.equals( ModelPackageStatus.STANDARDIZED ) ) {
+            return Optional.of( persistedModelStatus );
+         } else {
+            throw new IllegalArgumentException(
+                  String.format( "The package %s is already in status %s and cannot be modified. Only a transition to STANDARDIZED or DEPRECATED is possible.",
+                        ModelPackageUrn.fromUrn( modelUrn ).getUrn(), persistedModelStatus.name() ) );
+         }
+      case STANDARDIZED:
+         if ( desiredModelStatus.equals( ModelPackageStatus.DEPRECATED ) ) {
+            return Optional.of( persistedModelStatus );
+         } else {
+            throw new IllegalArgumentException(
+                  String.format( "The package %s is already in status %s and cannot be modified. Only a transition to DEPRECATED is possible.",
+                        ModelPackageUrn.fromUrn( modelUrn ).getUrn(), persistedModelStatus.name() ) );
+         }
+      case DEPRECATED:
+         throw new IllegalArgumentException(
+               String.format( "The package %s is already in status %s and cannot be modified.",
+                     ModelPackageUrn.fromUrn( modelUrn ).getUrn(), persistedModelStatus.name() ) );
+      }
+      return Optional.of( persistedModelStatus );
    }
 
-   private Integer getTotalItemsCount( @Nullable String namespaceFilter,
-         @Nullable ModelPackageStatus status ) {
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
-         AtomicReference<Integer> count = new AtomicReference<>();
-         rdfConnection.querySelect(
-               SparqlQueries.buildCountAspectModelsQuery( namespaceFilter, status ),
-               querySolution -> {
-                  int countResult = querySolution.getLiteral( "aspectModelCount" ).getInt();
-                  count.set( countResult );
-               } );
-         return count.get();
+   /**
+    * @return the stored packages among the given ones with their status
+    */
+   private Map<String, ModelPackageStatus> findPackageStatuses( final Set<String> packageUrns ) {
+      final Map<String, ModelPackageStatus> statuses = new HashMap<>();
+      if ( packageUrns.isEmpty() ) {
+         return statuses;
       }
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         rdfConnection.querySelect( SparqlQueries.buildFindPackageStatusesQuery( packageUrns ), result -> statuses.put(
+               result.get( SparqlQueries.PACKAGE ).toString(),
+               ModelPackageStatus.valueOf( result.get( SparqlQueries.STATUS_RESULT ).toString() ) ) );
+      }
+      return statuses;
    }
 
-   private Integer getSelectiveItemsCount( @Nullable String namespaceFilter, @Nullable String nameFilter,
-         @Nullable String nameType,
-         @Nullable ModelPackageStatus status, List<AspectModelUrn> urns ) {
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
-         AtomicReference<Integer> count = new AtomicReference<>();
-         rdfConnection.querySelect(
-               SparqlQueries.buildCountSelectiveAspectModelsQuery( namespaceFilter, nameFilter, nameType, status, urns ),
-               querySolution -> {
-                  int countResult = querySolution.getLiteral( "aspectModelCount" ).getInt();
-                  count.set( countResult );
-               } );
-         return count.get();
+   /**
+    * @return the packages the package references according to the catalog
+    */
+   private Set<String> findDependencies( final ModelPackageUrn modelsPackage ) {
+      final Set<String> dependencies = new HashSet<>();
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         rdfConnection.querySelect( SparqlQueries.buildFindPackageDependenciesQuery( modelsPackage ),
+               result -> dependencies.add( result.get( SparqlQueries.DEPENDENCY ).toString() ) );
       }
+      return dependencies;
    }
 
-   private void deleteByUrn( final ModelPackageUrn modelsPackage ) {
-      final UpdateRequest deleteByUrn = SparqlQueries.buildDeleteByUrnRequest( modelsPackage );
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+   private void deleteByUrn( final ModelPackageUrn modelsPackage, final ModelPackageStatus status ) {
+      final UpdateRequest deleteByUrn = SparqlQueries.buildRecordChangeRequest( modelsPackage, SemanticModelChangeType.DELETED,
+            status, null, null, Instant.now(), prunedBefore() );
+      SparqlQueries.buildDeleteByUrnRequest( modelsPackage ).getOperations().forEach( deleteByUrn::add );
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
          rdfConnection.update( deleteByUrn );
       }
+      packageDependencies.remove( modelsPackage.getUrn() );
+      searchIndex.removePackage( modelsPackage.getUrn() );
+      notifyPackageChanged( modelsPackage );
    }
 
-   private Model findContainingModelByUrn( final String urn ) {
-      final Query query = SparqlQueries.buildFindModelElementClosureQuery( urn );
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
-         return rdfConnection.queryConstruct( query );
+   private void ensureStorageLayout() {
+      if ( !storageLayoutInitialized ) {
+         initializeStorageLayout();
+      }
+      refreshFromChangeLog();
+   }
+
+   /**
+    * Brings data stored by an older version into the current layout: builds the catalog if it does not exist yet and
+    * moves models from the default graph into their package graphs. The catalog is built first, it reads the package
+    * status from the default graph. The dependencies are indexed last, they are read from the package graphs. If another
+    * instance is still moving the models, the request fails and the next one tries again.
+    */
+   private void initializeStorageLayout() {
+      synchronized ( this ) {
+         if ( storageLayoutInitialized ) {
+            return;
+         }
+         try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+            if ( !rdfConnection.queryAsk( SparqlQueries.buildCatalogInitializedQuery() ) ) {
+               final Model catalog = ModelFactory.createDefaultModel();
+               rdfConnection.querySelect( SparqlQueries.buildFindAllForCatalogQuery(), result -> catalog.add(
+                     catalogEntryFor( AspectModelUrn.fromUrn( result.get( SparqlQueries.ASPECT ).toString() ),
+                           ModelPackageStatus.valueOf( result.get( SparqlQueries.STATUS_RESULT ).toString() ), null, Set.of() ) ) );
+               rdfConnection.update( SparqlQueries.buildReplaceCatalogRequest( catalog ) );
+               LOG.info( "Built the aspect catalog for {} existing aspect models.",
+                     catalog.listSubjectsWithProperty( SparqlQueries.PACKAGE_PROPERTY ).toList().size() );
+            }
+            PackageGraphMigration.migrate( rdfConnection );
+            indexPackageDependencies( rdfConnection );
+            appliedSequence = findChanges( rdfConnection, null, null, 0 ).getLastSequence();
+            lastRefresh = System.nanoTime();
+            loadPackageDependencies( rdfConnection );
+            loadSearchIndex( rdfConnection );
+         }
+         storageLayoutInitialized = true;
+      }
+   }
+
+   /**
+    * Applies the changes other instances made since the last refresh to the search index and the dependencies and
+    * notifies the listeners, at most once per refresh interval. The changed packages are read again from the catalog,
+    * so changes of this instance are applied again without harm. Everything is reloaded if the change log was reset
+    * or the changes since the last refresh were already removed from it.
+    */
+   private void refreshFromChangeLog() {
+      final long now = System.nanoTime();
+      if ( now - lastRefresh < refreshInterval.toNanos() || !refreshing.compareAndSet( false, true ) ) {
+         return;
+      }
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         lastRefresh = now;
+         final Set<String> changedPackages = new LinkedHashSet<>();
+         long sequence = appliedSequence;
+         boolean pruned = false;
+         SemanticModelChangeList changes;
+         try {
+            do {
+               changes = findChanges( rdfConnection, sequence, null, REFRESH_PAGE_SIZE );
+               changes.getItems().forEach( change -> changedPackages.add( change.getPackageUrn() ) );
+               sequence = changes.getLastSequence();
+            } while ( changes.getHasMore() );
+         } catch ( final ChangeLogPrunedException exception ) {
+            pruned = true;
+            sequence = findChanges( rdfConnection, null, null, 0 ).getLastSequence();
+         }
+
+         if ( pruned || sequence < appliedSequence ) {
+            changedPackages.addAll( packageDependencies.packages() );
+            loadPackageDependencies( rdfConnection );
+            loadSearchIndex( rdfConnection );
+            changedPackages.addAll( packageDependencies.packages() );
+            changedPackages.forEach( packageUrn -> notifyPackageChanged( ModelPackageUrn.fromUrn( packageUrn ) ) );
+         } else {
+            refreshPackages( rdfConnection, changedPackages );
+         }
+         appliedSequence = sequence;
+      } finally {
+         refreshing.set( false );
+      }
+   }
+
+   private void refreshPackages( final RDFConnection rdfConnection, final Set<String> packageUrns ) {
+      final Map<String, ModelPackageStatus> statuses = findPackageStatuses( packageUrns );
+      packageUrns.forEach( packageUrn -> {
+         final ModelPackageUrn modelsPackage = ModelPackageUrn.fromUrn( packageUrn );
+         final ModelPackageStatus status = statuses.get( packageUrn );
+         if ( status == null ) {
+            packageDependencies.remove( packageUrn );
+            searchIndex.removePackage( packageUrn );
+         } else {
+            packageDependencies.put( packageUrn, status, findDependencies( modelsPackage ) );
+            final Map<String, Model> texts = findModelTexts( rdfConnection, modelsPackage );
+            searchIndex.removePackage( packageUrn );
+            texts.forEach( ( aspectUrn, model ) -> searchIndex.put( aspectUrn, packageUrn, model ) );
+         }
+         notifyPackageChanged( modelsPackage );
+      } );
+   }
+
+   /**
+    * @return the preferred names and descriptions of the package by its aspect
+    */
+   private static Map<String, Model> findModelTexts( final RDFConnection rdfConnection, final ModelPackageUrn modelsPackage ) {
+      final Map<String, Model> texts = new HashMap<>();
+      rdfConnection.querySelect( SparqlQueries.buildFindPackageModelTextsQuery( modelsPackage ),
+            result -> addText( texts, result ) );
+      return texts;
+   }
+
+   private static void addText( final Map<String, Model> texts, final QuerySolution result ) {
+      final Model model = texts.computeIfAbsent( result.get( SparqlQueries.ASPECT ).toString(),
+            urn -> ModelFactory.createDefaultModel() );
+      model.add( result.getResource( SparqlQueries.ELEMENT ),
+            model.createProperty( result.getResource( SparqlQueries.PROPERTY ).getURI() ),
+            result.get( SparqlQueries.TEXT ) );
+   }
+
+   /**
+    * Adds the dependency entries to a catalog that was built before they were maintained. Reads every package graph
+    * once.
+    */
+   private static void indexPackageDependencies( final RDFConnection rdfConnection ) {
+      if ( rdfConnection.queryAsk( SparqlQueries.buildDependenciesIndexedQuery() ) ) {
+         return;
+      }
+      final Set<String> packageUrns = new HashSet<>();
+      rdfConnection.querySelect( SparqlQueries.buildFindAllPackageDependenciesQuery(),
+            result -> packageUrns.add( result.get( SparqlQueries.PACKAGE ).toString() ) );
+      final Model dependencies = ModelFactory.createDefaultModel();
+      packageUrns.forEach( packageUrn -> {
+         final Resource modelPackage = dependencies.createResource( packageUrn );
+         PackageDependencies.referencedPackages( packageUrn, findPackageGraph( rdfConnection, packageUrn ) )
+               .forEach( referencedPackage -> modelPackage.addProperty( SparqlQueries.DEPENDS_ON_PROPERTY,
+                     dependencies.createResource( referencedPackage ) ) );
+      } );
+      rdfConnection.update( SparqlQueries.buildIndexDependenciesRequest( dependencies ) );
+      LOG.info( "Indexed the dependencies of {} existing model packages.", packageUrns.size() );
+   }
+
+   private void loadPackageDependencies( final RDFConnection rdfConnection ) {
+      final Map<String, ModelPackageStatus> statuses = new HashMap<>();
+      final Map<String, Set<String>> references = new HashMap<>();
+      rdfConnection.querySelect( SparqlQueries.buildFindAllPackageDependenciesQuery(), result -> {
+         final String packageUrn = result.get( SparqlQueries.PACKAGE ).toString();
+         statuses.put( packageUrn, ModelPackageStatus.valueOf( result.get( SparqlQueries.STATUS_RESULT ).toString() ) );
+         final Set<String> referencedPackages = references.computeIfAbsent( packageUrn, urn -> new HashSet<>() );
+         if ( result.contains( SparqlQueries.DEPENDENCY ) ) {
+            referencedPackages.add( result.get( SparqlQueries.DEPENDENCY ).toString() );
+         }
+      } );
+      packageDependencies.clear();
+      statuses.forEach( ( packageUrn, status ) ->
+            packageDependencies.put( packageUrn, status, references.get( packageUrn ) ) );
+   }
+
+   /**
+    * Indexes the preferred names and descriptions of all stored models, grouped by the aspect of their package.
+    */
+   private void loadSearchIndex( final RDFConnection rdfConnection ) {
+      final Map<String, String> packages = new HashMap<>();
+      final Map<String, Model> texts = new HashMap<>();
+      rdfConnection.querySelect( SparqlQueries.buildFindAllModelTextsQuery(), result -> {
+         packages.put( result.get( SparqlQueries.ASPECT ).toString(), result.get( SparqlQueries.PACKAGE ).toString() );
+         addText( texts, result );
+      } );
+      searchIndex.clear();
+      texts.forEach( ( aspectUrn, model ) -> searchIndex.put( aspectUrn, packages.get( aspectUrn ), model ) );
+      LOG.info( "Indexed the texts of {} aspect models for search.", texts.size() );
+   }
+
+   /**
+    * @param revision the revision of the package, not stored if null
+    */
+   private static Model catalogEntryFor( final AspectModelUrn aspectUrn, final ModelPackageStatus status,
+         @Nullable final ModelRevision revision, final Set<String> referencedPackages ) {
+      final Model catalog = ModelFactory.createDefaultModel();
+      final String urn = aspectUrn.getUrn().toString();
+      final Resource modelPackage = catalog.createResource( ModelPackageUrn.fromUrn( aspectUrn ).getUrn() )
+            .addProperty( SparqlQueries.STATUS_PROPERTY, status.toString() );
+      if ( revision != null ) {
+         modelPackage.addProperty( SparqlQueries.REVISION_PROPERTY, revision.getTag() )
+               .addLiteral( SparqlQueries.MODIFIED_PROPERTY, SparqlQueries.modifiedLiteral( revision ) );
       }
+      referencedPackages.forEach( referencedPackage ->
+            modelPackage.addProperty( SparqlQueries.DEPENDS_ON_PROPERTY, catalog.createResource( referencedPackage ) ) );
+      catalog.createResource( urn )
+            .addProperty( SparqlQueries.PACKAGE_PROPERTY, modelPackage )
+            .addProperty( SparqlQueries.STATUS_PROPERTY, status.toString() )
+            .addProperty( SparqlQueries.NAME_PROPERTY, aspectUrn.getName() )
+            .addProperty( SparqlQueries.VERSION_PROPERTY, aspectUrn.getVersion() )
+            .addProperty( SparqlQueries.TYPE_PROPERTY, determineModelType( urn ).toString() );
+      return catalog;
+   }
+
+   /**
+    * Builds the entry of a stored package in the change log, it is written by the update that stores the package.
+    *
+    * @param previousStatus the status of the replaced package, null if the package is new
+    */
+   private UpdateRequest changeRecordFor( final ModelPackageUrn modelsPackage,
+         @Nullable final ModelPackageStatus previousStatus, final ModelPackageStatus status, final ModelRevision revision ) {
+      return SparqlQueries.buildRecordChangeRequest( modelsPackage,
+            previousStatus == null ? SemanticModelChangeType.CREATED : SemanticModelChangeType.MODIFIED,
+            previousStatus, status, revision, revision.getLastModified(), prunedBefore() );
+   }
+
+   /**
+    * @return the time before which the entries of the change log are removed
+    */
+   private Instant prunedBefore() {
+      return Instant.now().minus( changeLogRetention );
+   }
+
+   private static InvalidStateTransitionException concurrentChange( final ModelPackageUrn modelsPackage ) {
+      return new InvalidStateTransitionException( String.format(
+            "The package %s was changed by another request in the meantime. Please retry.", modelsPackage.getUrn() ) );
+   }
+
+   private static ModelRevision newRevision() {
+      return new ModelRevision( UUID.randomUUID().toString(), Instant.now() );
+   }
+
+   private void notifyPackageChanged( final ModelPackageUrn modelsPackage ) {
+      dataVersion.incrementAndGet();
+      totalItemsCounts.invalidateAll();
+      modelPackageListeners.forEach( listener -> listener.onPackageChanged( modelsPackage ) );
+   }
+
+   /**
+    * Returns the whole package graph the urn belongs to, the resolver loads each namespace only once. Graphs of
+    * RELEASED and STANDARDIZED packages are shared by all validations through the namespace cache.
+    */
+   private Model findContainingModelByUrn( final String urn ) {
+      ensureStorageLayout();
+      final String packageUrn = ModelElementClosure.packageOf( urn ).orElse( urn );
+      return namespaceCache.get( packageUrn,
+            () -> findByPackageByUrn( ModelPackageUrn.fromUrn( packageUrn ) ).map( ModelPackage::getStatus ).orElse( null ),
+            () -> {
+               try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+                  return findPackageGraph( rdfConnection, packageUrn );
+               }
+            } );
+   }
+
+   private static Model findPackageGraph( final RDFConnection rdfConnection, final String packageUrn ) {
+      return rdfConnection.queryConstruct( SparqlQueries.buildFindPackageGraphQuery( ModelPackageUrn.fromUrn( packageUrn ) ) );
    }
 
    private Optional<ModelPackage> findByPackageByUrn( ModelPackageUrn modelsPackage ) {
+      ensureStorageLayout();
       final Query query = SparqlQueries.buildFindByPackageQuery( modelsPackage );
       final AtomicReference<String> aspectModel = new AtomicReference<>();
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
          rdfConnection.querySelect( query,
                result -> aspectModel.set( result.get( SparqlQueries.STATUS_RESULT ).toString() ) );
       }
@@ -294,41 +1053,33 @@ public class TripleStorePersistence implements PersistenceLayer {
    }
 
    private SemanticModel findByUrn( final AspectModelUrn urn ) {
+      ensureStorageLayout();
       final Query query = SparqlQueries.buildFindByUrnQuery( urn );
       final AtomicReference<SemanticModel> aspectModel = new AtomicReference<>();
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
          rdfConnection.querySelect( query,
                result -> aspectModel.set( TripleStorePersistence.aspectModelFrom( result ) ) );
       }
       return aspectModel.get();
    }
 
+   /**
+    * Reads the aspect and everything it references, loading the graphs of the referenced packages as they are reached.
+    */
    private Model findJenaModelByUrn( final AspectModelUrn urn ) {
-      final Query constructQuery = SparqlQueries.buildFindByUrnConstructQuery( urn );
-      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
-         return rdfConnection.queryConstruct( constructQuery );
+      ensureStorageLayout();
+      try ( final RDFConnection rdfConnection = connectionSource.connect() ) {
+         return ModelElementClosure.of( urn.getUrn().toString(),
+               packageUrn -> findPackageGraph( rdfConnection, packageUrn ) );
       }
    }
 
-   private Try<AspectModelUrn> getAspectModelUrn( String urn ) {
-      try {
-         return Try.success( AspectModelUrn.fromUrn( urn ) );
-      } catch ( UrnSyntaxException var2 ) {
-         return Try.failure( var2 );
-      }
-   }
-
-   private static List<SemanticModel> aspectModelFrom(
-         final List<QuerySolution> querySolutions ) {
-      return querySolutions
-            .stream()
-            .map( TripleStorePersistence::aspectModelFrom )
-            .collect( Collectors.toList() );
+   private static SemanticModel aspectModelFrom( final QuerySolution querySolution ) {
+      return aspectModelFrom( querySolution.get( SparqlQueries.ASPECT ).toString(),
+            querySolution.get( SparqlQueries.STATUS_RESULT ).toString() );
    }
 
-   private static SemanticModel aspectModelFrom( final QuerySolution querySolution ) {
-      final String urn = querySolution.get( SparqlQueries.ASPECT ).toString();
-      final String status = querySolution.get( SparqlQueries.STATUS_RESULT ).toString();
+   private static SemanticModel aspectModelFrom( final String urn, final String status ) {
       AspectModelUrn aspectModelUrn = AspectModelUrn.fromUrn( urn );
       SemanticModel model = new SemanticModel();
       model.setUrn( aspectModelUrn.getUrn().toString() );
@@ -346,4 +1097,72 @@ public class TripleStorePersistence implements PersistenceLayer {
          return SemanticModelType.SAMM;
       }
    }
+
+   /**
+    * A model of a bulk import and the outcome of its checks.
+    */
+   private static final class ImportCandidate {
+
+      private final String fileName;
+      private final Model model;
+      private final AspectModelUrn urn;
+      private final Set<String> referencedPackages;
+      private final Set<String> dependencies = ConcurrentHashMap.newKeySet();
+      private volatile RuntimeException error;
+      private Optional<ModelPackageStatus> previousStatus = Optional.empty();
+      private ModelRevision revision;
+
+      private ImportCandidate( final String fileName, final Model model, final AspectModelUrn urn, final RuntimeException error ) {
+         this.fileName = fileName;
+         this.model = model;
+         this.urn = urn;
+         this.referencedPackages = model == null ? Set.of() : PackageDependencies.referencedPackages( urn.getUrnPrefix(), model );
+         this.error = error;
+      }
+
+      static ImportCandidate load( final String fileName, final String newModel, final SdsSdk sdsSdk ) {
+         try {
+            final Model model = sdsSdk.load( newModel.getBytes( StandardCharsets.UTF_8 ) );
+            return new ImportCandidate( fileName, model, sdsSdk.getAspectUrn( model ), null );
+         } catch ( final RuntimeException exception ) {
+            return new ImportCandidate( fileName, null, null, exception );
+         }
+      }
+
+      boolean isValid() {
+         return error == null;
+      }
+
+      String packageUrn() {
+         return urn.getUrnPrefix();
+      }
+
+      void check( final Runnable check ) {
+         try {
+            check.run();
+         } catch ( final RuntimeException exception ) {
+            reject( exception );
+         }
+      }
+
+      void reject( final RuntimeException exception ) {
+         if ( error == null ) {
+            error = exception;
+         }
+      }
+
+      SemanticModelImportResult toResult() {
+         final SemanticModelImportResult result = new SemanticModelImportResult()
+               .fileName( fileName )
+               .urn( urn == null ? null : urn.getUrn().toString() )
+               .imported( isValid() );
+         if ( error != null ) {
+            final Map<String, Object> details = error instanceof InvalidAspectModelException invalidModel
+                  ? new LinkedHashMap<>( invalidModel.getDetails() )
+                  : new LinkedHashMap<>();
+            result.error( new Error().message( error.getMessage() ).details( details ) );
+         }
+         return result;
+      }
+   }
 }
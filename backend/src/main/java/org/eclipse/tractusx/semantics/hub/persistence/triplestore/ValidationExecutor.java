@@ -0,0 +1,199 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.tractusx.semantics.hub.ValidationCapacityExceededException;
+import org.eclipse.tractusx.semantics.hub.ValidationProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs model validations on a bounded pool of worker threads instead of the request threads, so a burst of uploads
+ * can not occupy all request threads with SHACL validation. If all workers are busy and the queue is full, the
+ * validation is rejected with a {@link ValidationCapacityExceededException}.
+ */
+public class ValidationExecutor {
+
+   private static final long KEEP_ALIVE_SECONDS = 60;
+
+   private final ThreadPoolExecutor executor;
+   private final ValidationProperties properties;
+
+   private final LongAdder queuedValidations = new LongAdder();
+   private final LongAdder queueNanos = new LongAdder();
+   private final LongAdder completedValidations = new LongAdder();
+   private final LongAdder validationNanos = new LongAdder();
+   private final LongAdder rejectedValidations = new LongAdder();
+
+   public ValidationExecutor( final ValidationProperties properties ) {
+      this.properties = properties;
+      final BlockingQueue<Runnable> queue = properties.getQueueCapacity() > 0
+            ? new ArrayBlockingQueue<>( properties.getQueueCapacity() )
+            : new SynchronousQueue<>();
+      executor = new ThreadPoolExecutor( properties.getConcurrency(), properties.getConcurrency(), KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS, queue, workerThreadFactory(), new ThreadPoolExecutor.AbortPolicy() );
+      executor.allowCoreThreadTimeOut( true );
+   }
+
+   /**
+    * Runs the validation on a worker and waits for it. Exceptions of the validation are rethrown unchanged.
+    *
+    * @param validation the validation to run
+    * @throws ValidationCapacityExceededException if all workers are busy and the queue is full
+    */
+   public void execute( final Runnable validation ) {
+      final Future<?> future;
+      try {
+         future = executor.submit( timed( validation ) );
+      } catch ( final RejectedExecutionException exception ) {
+         throw rejected();
+      }
+      await( future );
+   }
+
+   /**
+    * Runs all validations on the workers and waits for them. If the queue is full, further validations are only
+    * submitted once earlier ones of this call are done, so a large batch yields to other uploads instead of being
+    * rejected. It is only rejected if none of its validations can be queued.
+    *
+    * @param validations the validations to run
+    * @throws ValidationCapacityExceededException if all workers are busy with other validations and the queue is full
+    */
+   public void executeAll( final List<Runnable> validations ) {
+      final Deque<Future<?>> pending = new ArrayDeque<>();
+      try {
+         for ( final Runnable validation : validations ) {
+            final Runnable timedValidation = timed( validation );
+            while ( true ) {
+               try {
+                  pending.add( executor.submit( timedValidation ) );
+                  break;
+               } catch ( final RejectedExecutionException exception ) {
+                  if ( pending.isEmpty() ) {
+                     throw rejected();
+                  }
+                  await( pending.poll() );
+               }
+            }
+         }
+         while ( !pending.isEmpty() ) {
+            await( pending.poll() );
+         }
+      } finally {
+         pending.forEach( future -> future.cancel( false ) );
+      }
+   }
+
+   public int getQueueSize() {
+      return executor.getQueue().size();
+   }
+
+   public int getActiveValidations() {
+      return executor.getActiveCount();
+   }
+
+   public long getRejectedValidations() {
+      return rejectedValidations.sum();
+   }
+
+   public void bindTo( final MeterRegistry meterRegistry ) {
+      FunctionTimer.builder( "hub.validation.queue", this,
+                  validationExecutor -> validationExecutor.queuedValidations.sum(), validationExecutor -> validationExecutor.queueNanos.sum(), TimeUnit.NANOSECONDS )
+            .description( "Time models waited for a free validation worker" )
+            .register( meterRegistry );
+      FunctionTimer.builder( "hub.validation.duration", this,
+                  validationExecutor -> validationExecutor.completedValidations.sum(), validationExecutor -> validationExecutor.validationNanos.sum(), TimeUnit.NANOSECONDS )
+            .description( "Time spent validating models" )
+            .register( meterRegistry );
+      Gauge.builder( "hub.validation.queue.size", this, ValidationExecutor::getQueueSize )
+            .description( "Models waiting for a free validation worker" )
+            .register( meterRegistry );
+      Gauge.builder( "hub.validation.active", this, ValidationExecutor::getActiveValidations )
+            .description( "Models currently being validated" )
+            .register( meterRegistry );
+      FunctionCounter.builder( "hub.validation.rejected", rejectedValidations, LongAdder::sum )
+            .description( "Validations rejected because the queue was full" )
+            .register( meterRegistry );
+   }
+
+   private Runnable timed( final Runnable validation ) {
+      final long submitted = System.nanoTime();
+      return () -> {
+         final long started = System.nanoTime();
+         queuedValidations.increment();
+         queueNanos.add( started - submitted );
+         try {
+            validation.run();
+         } finally {
+            completedValidations.increment();
+            validationNanos.add( System.nanoTime() - started );
+         }
+      };
+   }
+
+   private ValidationCapacityExceededException rejected() {
+      rejectedValidations.increment();
+      return new ValidationCapacityExceededException( properties.getRetryAfter() );
+   }
+
+   private static void await( final Future<?> future ) {
+      try {
+         future.get();
+      } catch ( final InterruptedException exception ) {
+         future.cancel( true );
+         Thread.currentThread().interrupt();
+         throw new IllegalStateException( "Interrupted while waiting for the model validation", exception );
+      } catch ( final ExecutionException exception ) {
+         if ( exception.getCause() instanceof RuntimeException runtimeException ) {
+            throw runtimeException;
+         }
+         if ( exception.getCause() instanceof Error error ) {
+            throw error;
+         }
+         throw new IllegalStateException( exception.getCause() );
+      }
+   }
+
+   private static ThreadFactory workerThreadFactory() {
+      final AtomicInteger workers = new AtomicInteger();
+      return runnable -> {
+         final Thread thread = new Thread( runnable, "model-validation-" + workers.incrementAndGet() );
+         thread.setDaemon( true );
+         return thread;
+      };
+   }
+}
@@ -44,11 +44,12 @@ import org.eclipse.esmf.aspectmodel.resolver.services.TurtleLoader;
 import org.eclipse.esmf.aspectmodel.resolver.services.VersionedModel;
 import org.eclipse.esmf.aspectmodel.shacl.violation.Violation;
 import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
-import org.eclipse.esmf.aspectmodel.validation.services.AspectModelValidator;
 import org.eclipse.esmf.metamodel.Aspect;
 import org.eclipse.esmf.metamodel.AspectContext;
 import org.eclipse.esmf.metamodel.loader.AspectModelLoader;
 import org.eclipse.tractusx.semantics.hub.ResolutionException;
+import org.eclipse.tractusx.semantics.hub.cache.ResolvedModelCache;
+import org.eclipse.tractusx.semantics.hub.cache.ShapeValidators;
 import org.eclipse.tractusx.semantics.hub.model.AasFormat;
 import org.eclipse.tractusx.semantics.hub.persistence.PersistenceLayer;
 
@@ -60,14 +61,20 @@ import io.vavr.control.Try;
 public class SDKAccessHelperSAMM {
 
    PersistenceLayer persistenceLayer;
+   private final ResolvedModelCache resolvedModelCache;
+
+   private record ResolvedAspectModel(VersionedModel versionedModel, Aspect aspect) {}
+
+   public SDKAccessHelperSAMM( ResolvedModelCache resolvedModelCache ) {
+      this.resolvedModelCache = resolvedModelCache;
+   }
 
    public void setPersistenceLayer( PersistenceLayer persistenceLayer ) {
       this.persistenceLayer = persistenceLayer;
    }
 
    public List<Violation> validateModel( Try<VersionedModel> model ) {
-      final AspectModelValidator validator = new AspectModelValidator();
-      return validator.validateModel( model );
+      return ShapeValidators.forLatestSamm().validateModel( model );
    }
 
    public Try<byte[]> generatePng( String urn ) {
@@ -92,11 +99,12 @@ public class SDKAccessHelperSAMM {
    }
 
    public Try<byte[]> getHtmlDocu( String urn ) {
-      VersionedModel versionedModel = getVersionedModel( urn );
+      final ResolvedAspectModel resolvedAspectModel = getResolvedAspectModel( urn );
+      final VersionedModel versionedModel = resolvedAspectModel.versionedModel();
       ByteArrayOutputStream output = new ByteArrayOutputStream();
 
-      final Aspect aspect = AspectModelLoader.getAspects(versionedModel).get().get(0);
-      
+      final Aspect aspect = resolvedAspectModel.aspect();
+
       AspectModelDocumentationGenerator documentationGenerator = new AspectModelDocumentationGenerator( new AspectContext(versionedModel, aspect) );
 
       Map<HtmlGenerationOption, String> options = new HashMap();
@@ -168,7 +176,26 @@ public class SDKAccessHelperSAMM {
       }
    }
 
-   private org.eclipse.esmf.aspectmodel.resolver.services.VersionedModel getVersionedModel( String urn ) {
+   private VersionedModel getVersionedModel( String urn ) {
+      return getResolvedAspectModel( urn ).versionedModel();
+   }
+
+   private Aspect getBamAspect( String urn ) {
+      return getResolvedAspectModel( urn ).aspect();
+   }
+
+   /**
+    * Loads the versioned model and its aspect from the persistence layer, or takes them from the cache if neither the
+    * model nor a referenced package changed since.
+    */
+   private ResolvedAspectModel getResolvedAspectModel( String urn ) {
+      return resolvedModelCache.get( urn, persistenceLayer.getModelRevision( AspectModelUrn.fromUrn( urn ) ).orElse( null ), () -> {
+         final VersionedModel versionedModel = loadVersionedModel( urn );
+         return new ResolvedAspectModel( versionedModel, loadAspect( versionedModel ) );
+      }, resolved -> resolved.versionedModel().getModel().size() );
+   }
+
+   private VersionedModel loadVersionedModel( String urn ) {
       final String modelDefinition = persistenceLayer.getModelDefinition( AspectModelUrn.fromUrn( urn ) );
       final Try<org.eclipse.esmf.aspectmodel.resolver.services.VersionedModel> versionedModel =
             loadSammModel( modelDefinition );
@@ -179,8 +206,8 @@ public class SDKAccessHelperSAMM {
       return versionedModel.get();
    }
 
-   private org.eclipse.esmf.metamodel.Aspect getBamAspect( String urn ) {
-      final Try<List<org.eclipse.esmf.metamodel.Aspect>> aspect = getAspectFromVersionedModel( getVersionedModel( urn ) );
+   private Aspect loadAspect( VersionedModel versionedModel ) {
+      final Try<List<Aspect>> aspect = getAspectFromVersionedModel( versionedModel );
       if ( aspect.isFailure() ) {
          throw new RuntimeException( "Failed to load aspect model", aspect.getCause() );
       }
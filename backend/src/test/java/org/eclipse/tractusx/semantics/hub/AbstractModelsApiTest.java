@@ -77,6 +77,13 @@ public abstract class AbstractModelsApiTest extends FusekiTestContainer {
                 .with(jwtTokenFactory.allRoles());
     }
 
+    public MockHttpServletRequestBuilder putStatus( String urn, String status ) {
+        return MockMvcRequestBuilders.put( "/api/v1/models/{urn}/status", urn )
+                .queryParam( "status", status )
+                .accept( MediaType.APPLICATION_JSON )
+                .with(jwtTokenFactory.allRoles());
+    }
+
     public MockHttpServletRequestBuilder delete(String urnPrefix){
         return MockMvcRequestBuilders.delete(
                         "/api/v1/models/{urn}",
@@ -86,7 +93,16 @@ public abstract class AbstractModelsApiTest extends FusekiTestContainer {
 
     public void deleteAllData(){
         try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
-            rdfConnection.update( "CLEAR DEFAULT" );
+            rdfConnection.update( "CLEAR ALL" );
+        }
+    }
+
+    /**
+     * Changes the store directly, e.g. to create data that older versions of the hub have stored.
+     */
+    public void updateStore( String update ){
+        try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+            rdfConnection.update( update );
         }
     }
 
@@ -0,0 +1,77 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.LocalDatasetConnectionSource;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.TripleStoreConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+/**
+ * Tests that the embedded mode accesses its dataset directly, without a triple store or a Fuseki server.
+ */
+@SpringBootTest( properties = {
+      "hub.triple-store.embedded.enabled=true",
+      "hub.triple-store.embedded.server-enabled=false" } )
+@AutoConfigureMockMvc
+@DirtiesContext( classMode = DirtiesContext.ClassMode.AFTER_CLASS )
+public class EmbeddedTripleStoreTest {
+
+   private static final String URN_PREFIX = "urn:samm:org.eclipse.tractusx.embedded:1.0.0#";
+
+   @Autowired
+   private MockMvc mvc;
+
+   @Autowired
+   private JwtTokenFactory jwtTokenFactory;
+
+   @Autowired
+   private ApplicationContext applicationContext;
+
+   @Test
+   public void testSaveModelInEmbeddedModeExpectLocalDatasetUsed() throws Exception {
+      assertThat( applicationContext.getBeansOfType( LocalDatasetConnectionSource.class ) ).hasSize( 1 );
+      assertThat( applicationContext.getBeansOfType( TripleStoreConnectionManager.class ) ).isEmpty();
+
+      mvc.perform( MockMvcRequestBuilders.post( "/api/v1/models" )
+               .queryParam( "type", "SAMM" )
+               .queryParam( "status", "DRAFT" )
+               .contentType( MediaType.TEXT_PLAIN )
+               .content( TestUtils.createValidModelRequest( URN_PREFIX ) )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isOk() );
+
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}", URN_PREFIX + "Movement" )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.status", is( "DRAFT" ) ) );
+   }
+}
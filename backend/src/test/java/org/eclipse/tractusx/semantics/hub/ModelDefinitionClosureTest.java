@@ -0,0 +1,100 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.rdfconnection.RDFConnectionRemoteBuilder;
+import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelStatus;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.SdsSdk;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.SparqlQueries;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.TripleStoreConnectionManager;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.TripleStorePersistence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Tests that the model definition read package by package is the same as the one read with a property path over
+ * all graphs.
+ */
+@DirtiesContext( classMode = DirtiesContext.ClassMode.AFTER_CLASS )
+public class ModelDefinitionClosureTest extends AbstractModelsApiTest {
+
+   private static final String PROPERTY_PATH_CLOSURE_QUERY =
+         "CONSTRUCT { ?s ?p ?o . } WHERE {\n"
+               + "   GRAPH <urn:x-arq:UnionGraph> { <%s> (<>|!<>)* ?s . }\n"
+               + "   GRAPH ?g { ?s ?p ?o . }\n"
+               + "   FILTER ( ?g != <" + SparqlQueries.CATALOG_GRAPH + "> )\n"
+               + "}";
+
+   private static final String URN_PREFIX = "urn:samm:org.eclipse.tractusx.closure:1.0.0#";
+
+   @Autowired
+   private TripleStoreConnectionManager connectionManager;
+
+   @Autowired
+   private RDFConnectionRemoteBuilder rdfConnectionRemoteBuilder;
+
+   private TripleStorePersistence persistence;
+
+   @BeforeEach
+   void init() throws IOException {
+      deleteAllData();
+      persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      persistence.save( null, TestUtils.createValidModelRequest( URN_PREFIX ), SemanticModelStatus.DRAFT );
+      persistence.save( null, TestUtils.createValidModelRequestBAMM( "urn:bamm:org.eclipse.tractusx.closure:1.0.0#" ),
+            SemanticModelStatus.DRAFT );
+      persistence.save( null, TestUtils.createModelDependency(), SemanticModelStatus.DRAFT );
+      persistence.save( null, TestUtils.createDependentModel( "urn:samm:org.eclipse.tractusx.dependent:1.0.0#" ),
+            SemanticModelStatus.DRAFT );
+      persistence.save( null, TestUtils.loadModelFromResources( TestUtils.TRACEABILITY_MODEL_PATH ), SemanticModelStatus.DRAFT );
+      persistence.save( null, TestUtils.loadModelFromResources( TestUtils.MODEL_WITH_REFERENCE_TO_TRACEABILITY_MODEL_PATH ),
+            SemanticModelStatus.DRAFT );
+   }
+
+   @ParameterizedTest
+   @ValueSource( strings = {
+         URN_PREFIX + "Movement",
+         "urn:bamm:org.eclipse.tractusx.closure:1.0.0#Movement",
+         "urn:samm:org.eclipse.tractusx.dependent:1.0.0#TestAspect",
+         "urn:samm:org.eclipse.tractusx.traceability:0.1.1#Traceability",
+         "urn:samm:org.eclipse.tractusx.modelwithreferencetotraceability:0.1.1#ModelWithReferenceToTraceability",
+         "urn:samm:org.eclipse.tractusx.closure:1.0.0#DoesNotExist" } )
+   public void testModelDefinitionExpectSameStatementsAsPropertyPathClosure( final String urn ) {
+      final Model expected;
+      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+         expected = rdfConnection.queryConstruct( String.format( PROPERTY_PATH_CLOSURE_QUERY, urn ) );
+      }
+
+      final Model actual = ModelFactory.createDefaultModel()
+            .read( new StringReader( persistence.getModelDefinition( AspectModelUrn.fromUrn( urn ) ) ), null, "TURTLE" );
+
+      assertThat( actual.isIsomorphicWith( expected ) ).isTrue();
+   }
+}
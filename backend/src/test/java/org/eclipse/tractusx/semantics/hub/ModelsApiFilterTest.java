@@ -30,6 +30,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -162,6 +163,57 @@ public class ModelsApiFilterTest extends AbstractModelsApiTest{
          .andExpect( MockMvcResultMatchers.status().isOk() );
    }
 
+   @Test
+   public void testSearchExpectMostRelevantModelFirst() throws Exception {
+      mvc.perform(
+               MockMvcRequestBuilders.get( "/api/v1/models?search=traceability&namespaceFilter=urn:samm:org.eclipse.tractusx" )
+                                     .accept( MediaType.APPLICATION_JSON )
+                                     .with(jwtTokenFactory.allRoles())
+         )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( jsonPath( "$.items[0].urn", equalTo( "urn:samm:org.eclipse.tractusx.traceability:0.1.1#Traceability" ) ) )
+         .andExpect( jsonPath( "$.items[0].status", equalTo( "RELEASED" ) ) )
+         .andExpect( jsonPath( "$.items[*].urn", hasItem(
+               "urn:samm:org.eclipse.tractusx.modelwithreferencetotraceability:0.1.1#ModelWithReferenceToTraceability" ) ) )
+         .andExpect( jsonPath( "$.nextCursor" ).doesNotExist() )
+         .andExpect( MockMvcResultMatchers.status().isOk() );
+
+      mvc.perform(
+               MockMvcRequestBuilders.get( "/api/v1/models?status=DRAFT" )
+                                     .queryParam( "search", "STATIC dat" )
+                                     .accept( MediaType.APPLICATION_JSON )
+                                     .with(jwtTokenFactory.allRoles())
+         )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( jsonPath( "$.items[*].urn", hasItem(
+               "urn:samm:org.eclipse.tractusx.modelwithreferencetotraceability:0.1.1#ModelWithReferenceToTraceability" ) ) )
+         .andExpect( jsonPath( "$.items[*].urn", not( hasItem( "urn:samm:org.eclipse.tractusx.traceability:0.1.1#Traceability" ) ) ) )
+         .andExpect( MockMvcResultMatchers.status().isOk() );
+   }
+
+   @Test
+   public void testSearchWithOtherLanguageExpectNoResults() throws Exception {
+      mvc.perform(
+               MockMvcRequestBuilders.get( "/api/v1/models?search=traceability&language=de" )
+                                     .accept( MediaType.APPLICATION_JSON )
+                                     .with(jwtTokenFactory.allRoles())
+         )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( jsonPath( "$.items[*].urn", not( hasItem( "urn:samm:org.eclipse.tractusx.traceability:0.1.1#Traceability" ) ) ) )
+         .andExpect( MockMvcResultMatchers.status().isOk() );
+   }
+
+   @Test
+   public void testSearchWithCursorExpectBadRequest() throws Exception {
+      mvc.perform(
+               MockMvcRequestBuilders.get( "/api/v1/models?search=traceability&cursor=abc" )
+                                     .accept( MediaType.APPLICATION_JSON )
+                                     .with(jwtTokenFactory.allRoles())
+         )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( MockMvcResultMatchers.status().isBadRequest() );
+   }
+
    private void createModel( String fileName, String status ) throws Exception {
       String modelWithReferenceToTraceability = TestUtils.loadModelFromResources( fileName );
       mvc.perform(
@@ -19,20 +19,26 @@
  ********************************************************************************/
 package org.eclipse.tractusx.semantics.hub;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
 
+import com.jayway.jsonpath.JsonPath;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
@@ -157,6 +163,74 @@ public class ModelsApiPaginationTest extends AbstractModelsApiTest {
               .andExpect( status().isOk() );
    }
 
+   @Test
+   public void testTotalItemsAfterModelChangesExpectUpdatedCount() throws Exception {
+      String firstPrefix = "urn:samm:org.eclipse.tractusx.pagination.count.a:1.0.0#";
+      String secondPrefix = "urn:samm:org.eclipse.tractusx.pagination.count.b:1.0.0#";
+
+      mvc.perform( post( TestUtils.createValidModelRequest( firstPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( getModelsInNamespace( "pagination.count" ).param( "pageSize", "1" ) )
+         .andExpect( jsonPath( "$.totalItems", equalTo( 1 ) ) )
+         .andExpect( jsonPath( "$.itemCount", equalTo( 1 ) ) );
+
+      mvc.perform( post( TestUtils.createValidModelRequest( secondPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( getModelsInNamespace( "pagination.count" ).param( "pageSize", "1" ) )
+         .andExpect( jsonPath( "$.totalItems", equalTo( 2 ) ) )
+         .andExpect( jsonPath( "$.totalPages", equalTo( 2 ) ) )
+         .andExpect( jsonPath( "$.itemCount", equalTo( 1 ) ) );
+
+      mvc.perform( delete( firstPrefix ) ).andExpect( status().isNoContent() );
+      mvc.perform( delete( secondPrefix ) ).andExpect( status().isNoContent() );
+      mvc.perform( getModelsInNamespace( "pagination.count" ).param( "pageSize", "1" ) )
+         .andExpect( jsonPath( "$.totalItems", equalTo( 0 ) ) )
+         .andExpect( jsonPath( "$.items[*]", hasSize( 0 ) ) );
+   }
+
+   @Test
+   public void testGetModelsWithCursorExpectSuccess() throws Exception {
+      List<String> prefixes = List.of(
+              "urn:samm:org.eclipse.tractusx.pagination.cursor.a:1.0.0#",
+              "urn:samm:org.eclipse.tractusx.pagination.cursor.b:1.0.0#",
+              "urn:samm:org.eclipse.tractusx.pagination.cursor.c:1.0.0#"
+      );
+      for ( String urnPrefix : prefixes ) {
+         mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+            .andExpect( status().isOk() );
+      }
+
+      MvcResult firstPage = mvc.perform( getModelsInNamespace( "pagination.cursor" ).param( "pageSize", "2" ) )
+         .andExpect( jsonPath( "$.items[*].urn", contains( toMovementUrn( prefixes.get( 0 ) ), toMovementUrn( prefixes.get( 1 ) ) ) ) )
+         .andExpect( jsonPath( "$.nextCursor", notNullValue() ) )
+         .andExpect( status().isOk() )
+         .andReturn();
+      String cursor = JsonPath.read( firstPage.getResponse().getContentAsString(), "$.nextCursor" );
+
+      mvc.perform( getModelsInNamespace( "pagination.cursor" ).param( "pageSize", "2" ).param( "cursor", cursor ) )
+         .andExpect( jsonPath( "$.items[*].urn", contains( toMovementUrn( prefixes.get( 2 ) ) ) ) )
+         .andExpect( jsonPath( "$.totalItems", equalTo( 3 ) ) )
+         .andExpect( jsonPath( "$.nextCursor" ).doesNotExist() )
+         .andExpect( status().isOk() );
+
+      for ( String urnPrefix : prefixes ) {
+         mvc.perform( delete( urnPrefix ) ).andExpect( status().isNoContent() );
+      }
+   }
+
+   @Test
+   public void testGetModelsWithInvalidCursorExpectBadRequest() throws Exception {
+      mvc.perform( getModelsInNamespace( "pagination.cursor" ).param( "cursor", "not base64!" ) )
+         .andExpect( status().isBadRequest() );
+   }
+
+   private MockHttpServletRequestBuilder getModelsInNamespace( String namespaceFilter ) {
+      return MockMvcRequestBuilders.get( "/api/v1/models" )
+            .param( "namespaceFilter", namespaceFilter )
+            .accept( MediaType.APPLICATION_JSON )
+            .with( jwtTokenFactory.allRoles() );
+   }
+
    private static String toMovementUrn(String urn){
       return urn + "Movement";
    }
@@ -19,12 +19,31 @@
  ********************************************************************************/
 package org.eclipse.tractusx.semantics.hub;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.vocabulary.RDF;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.SparqlQueries;
 import org.json.JSONArray;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,8 +51,10 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
@@ -110,6 +131,240 @@ public class ModelsApiTest extends AbstractModelsApiTest{
          .andExpect( status().isOk() );
    }
 
+   @Test
+   public void testReplaceWithInvalidModelExpectStoredModelKept() throws Exception {
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.replace.invalid:1.0.0#";
+      mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+
+      // the dependency of the replacing model does not exist, so the replacement is rejected
+      mvc.perform( post( TestUtils.createDependentModel( urnPrefix ), "DRAFT" ) )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( status().isBadRequest() );
+
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}", toMovementUrn( urnPrefix ) )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.status", is( "DRAFT" ) ) );
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}", urnPrefix + "TestAspect" )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isNotFound() );
+   }
+
+   @Test
+   public void testConditionalGetExpectNotModifiedUntilModelChanges() throws Exception {
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.conditional.get:1.0.0#";
+      mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+
+      MvcResult first = mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}/json-schema", toMovementUrn( urnPrefix ) )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isOk() )
+         .andExpect( header().exists( "ETag" ) )
+         .andExpect( header().exists( "Last-Modified" ) )
+         .andReturn();
+      String eTag = first.getResponse().getHeader( "ETag" );
+
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}/json-schema", toMovementUrn( urnPrefix ) )
+               .header( "If-None-Match", eTag )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isNotModified() )
+         .andExpect( header().string( "ETag", eTag ) )
+         .andExpect( content().string( "" ) );
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}", toMovementUrn( urnPrefix ) )
+               .header( "If-None-Match", eTag )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isNotModified() );
+
+      mvc.perform( putStatus( toMovementUrn( urnPrefix ), "RELEASED" ) )
+         .andExpect( status().isOk() );
+
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}", toMovementUrn( urnPrefix ) )
+               .header( "If-None-Match", eTag )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isOk() )
+         .andExpect( header().string( "ETag", not( eTag ) ) )
+         .andExpect( jsonPath( "$.status", is( "RELEASED" ) ) );
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}", urnPrefix + "Unknown" )
+               .header( "If-None-Match", eTag )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isNotFound() );
+   }
+
+   @Test
+   public void testModelChangesExpectChangesSinceSequenceInOrder() throws Exception {
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.model.changes:1.0.0#";
+      String before = OffsetDateTime.now().minusSeconds( 1 ).toString();
+      mvc.perform( getChanges( null, null ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.items", hasSize( 0 ) ) )
+         .andExpect( jsonPath( "$.lastSequence", is( 0 ) ) )
+         .andExpect( jsonPath( "$.hasMore", is( false ) ) );
+
+      mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( putStatus( toMovementUrn( urnPrefix ), "DEPRECATED" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( delete( urnPrefix ) )
+         .andExpect( status().isNoContent() );
+
+      mvc.perform( getChanges( "0", null ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.items[*].sequence", contains( 1, 2, 3, 4 ) ) )
+         .andExpect( jsonPath( "$.items[*].changeType", contains( "CREATED", "MODIFIED", "STATUS_CHANGED", "DELETED" ) ) )
+         .andExpect( jsonPath( "$.items[*].previousStatus", contains( "DRAFT", "DRAFT", "DEPRECATED" ) ) )
+         .andExpect( jsonPath( "$.items[*].status", contains( "DRAFT", "DRAFT", "DEPRECATED" ) ) )
+         .andExpect( jsonPath( "$.items[*].revision", hasSize( 3 ) ) )
+         .andExpect( jsonPath( "$.items[*].urn", everyItem( is( toMovementUrn( urnPrefix ) ) ) ) )
+         .andExpect( jsonPath( "$.items[*].packageUrn", everyItem( is( urnPrefix ) ) ) )
+         .andExpect( jsonPath( "$.lastSequence", is( 4 ) ) )
+         .andExpect( jsonPath( "$.hasMore", is( false ) ) );
+      mvc.perform( getChanges( "1", 2 ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.items[*].sequence", contains( 2, 3 ) ) )
+         .andExpect( jsonPath( "$.lastSequence", is( 3 ) ) )
+         .andExpect( jsonPath( "$.hasMore", is( true ) ) );
+      mvc.perform( getChanges( "4", null ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.items", hasSize( 0 ) ) )
+         .andExpect( jsonPath( "$.lastSequence", is( 4 ) ) );
+
+      mvc.perform( getChanges( before, null ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.items", hasSize( 4 ) ) );
+      mvc.perform( getChanges( OffsetDateTime.now().plusHours( 1 ).toString(), null ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.items", hasSize( 0 ) ) )
+         .andExpect( jsonPath( "$.lastSequence", is( 4 ) ) );
+      mvc.perform( getChanges( "yesterday", null ) )
+         .andExpect( status().isBadRequest() );
+   }
+
+   @Test
+   public void testModelChangesOfPackageWithTwoAspectsExpectOneSequencePerAspect() throws Exception {
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.model.changes.aspects:1.0.0#";
+      mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      addSecondAspectToCatalog( urnPrefix );
+
+      mvc.perform( putStatus( toMovementUrn( urnPrefix ), "RELEASED" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( getChanges( "1", null ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.items[*].sequence", contains( 2, 3 ) ) )
+         .andExpect( jsonPath( "$.items[*].urn", contains( toMovementUrn( urnPrefix ), urnPrefix + "Trajectory" ) ) )
+         .andExpect( jsonPath( "$.items[*].changeType", everyItem( is( "STATUS_CHANGED" ) ) ) )
+         .andExpect( jsonPath( "$.lastSequence", is( 3 ) ) );
+
+      mvc.perform( getChanges( "1", 1 ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.items[*].sequence", contains( 2 ) ) )
+         .andExpect( jsonPath( "$.lastSequence", is( 2 ) ) )
+         .andExpect( jsonPath( "$.hasMore", is( true ) ) );
+      mvc.perform( getChanges( "2", 1 ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.items[*].sequence", contains( 3 ) ) )
+         .andExpect( jsonPath( "$.items[*].urn", contains( urnPrefix + "Trajectory" ) ) )
+         .andExpect( jsonPath( "$.lastSequence", is( 3 ) ) )
+         .andExpect( jsonPath( "$.hasMore", is( false ) ) );
+   }
+
+   /**
+    * A package saved through the API holds a single aspect, packages stored by older versions may hold several.
+    */
+   private void addSecondAspectToCatalog( String urnPrefix ) {
+      updateStore( "INSERT DATA { GRAPH <" + SparqlQueries.CATALOG_GRAPH + "> { <" + urnPrefix + "Trajectory> <"
+            + SparqlQueries.PACKAGE_PROPERTY.getURI() + "> <" + urnPrefix + "> ; <"
+            + SparqlQueries.STATUS_PROPERTY.getURI() + "> \"DRAFT\" . } }" );
+   }
+
+   @Test
+   public void testModelEventsExpectChangesPushedAndResumedAfterLastEventId() throws Exception {
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.model.events:1.0.0#";
+      MvcResult subscription = mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/events" )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( request().asyncStarted() )
+         .andReturn();
+
+      mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( putStatus( toMovementUrn( urnPrefix ), "RELEASED" ) )
+         .andExpect( status().isOk() );
+
+      String events = awaitContent( subscription, "id:2" );
+      assertThat( events ).contains( "id:1\nevent:CREATED\ndata:{\"sequence\":1,\"urn\":\"" + toMovementUrn( urnPrefix ) + "\"" );
+      assertThat( events ).contains( "id:2\nevent:STATUS_CHANGED\n" );
+      assertThat( events ).contains( "\"previousStatus\":\"DRAFT\",\"status\":\"RELEASED\"" );
+
+      MvcResult resumed = mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/events" )
+               .header( "Last-Event-ID", "1" )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( request().asyncStarted() )
+         .andReturn();
+      assertThat( awaitContent( resumed, "id:2" ) ).doesNotContain( "id:1" );
+
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/events" )
+               .header( "Last-Event-ID", "latest" )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isBadRequest() );
+      subscription.getRequest().getAsyncContext().complete();
+      resumed.getRequest().getAsyncContext().complete();
+   }
+
+   @Test
+   public void testModelEventsOfPackageWithTwoAspectsExpectEventPerAspect() throws Exception {
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.model.events.aspects:1.0.0#";
+      mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      addSecondAspectToCatalog( urnPrefix );
+      MvcResult subscription = mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/events" )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( request().asyncStarted() )
+         .andReturn();
+
+      mvc.perform( putStatus( toMovementUrn( urnPrefix ), "RELEASED" ) )
+         .andExpect( status().isOk() );
+
+      String events = awaitContent( subscription, "id:3" );
+      assertThat( events ).contains( "id:2\nevent:STATUS_CHANGED\ndata:{\"sequence\":2,\"urn\":\"" + toMovementUrn( urnPrefix ) + "\"" );
+      assertThat( events ).contains( "id:3\nevent:STATUS_CHANGED\ndata:{\"sequence\":3,\"urn\":\"" + urnPrefix + "Trajectory\"" );
+
+      MvcResult resumed = mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/events" )
+               .header( "Last-Event-ID", "2" )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( request().asyncStarted() )
+         .andReturn();
+      assertThat( awaitContent( resumed, "id:3" ) ).doesNotContain( "id:2" ).contains( urnPrefix + "Trajectory" );
+      subscription.getRequest().getAsyncContext().complete();
+      resumed.getRequest().getAsyncContext().complete();
+   }
+
+   private static String awaitContent( MvcResult result, String expected ) throws Exception {
+      long deadline = System.currentTimeMillis() + 10000;
+      String content = result.getResponse().getContentAsString();
+      while ( !content.contains( expected ) && System.currentTimeMillis() < deadline ) {
+         Thread.sleep( 50 );
+         content = result.getResponse().getContentAsString();
+      }
+      assertThat( content ).contains( expected );
+      return content;
+   }
+
+   private MockHttpServletRequestBuilder getChanges( String since, Integer pageSize ) {
+      MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get( "/api/v1/models/changes" )
+            .accept( MediaType.APPLICATION_JSON )
+            .with( jwtTokenFactory.allRoles() );
+      if ( since != null ) {
+         request.queryParam( "since", since );
+      }
+      if ( pageSize != null ) {
+         request.queryParam( "pageSize", pageSize.toString() );
+      }
+      return request;
+   }
+
    @Test
    public void testSaveInvalidModelExpectSuccess() throws Exception {
       String insertModelJson = "@prefix samm: <urn:samm:org.eclipse.esmf.samm:meta-model:1.0.0#> .\n @prefix bamm-c: <urn:samm:org.eclipse.esmf.samm:characteristicX:1.0.0#> .\n @prefix bamm-e: <urn:samm:org.eclipse.esmf.samm:entity:1.0.0#> .\n @prefix unit: <urn:samm:org.eclipse.esmf.samm:unit:1.0.0#> .\n @prefix rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#> .\n @prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n @prefix xsd: <http://www.w3.org/2001/XMLSchema#> .\n @prefix : <urn:samm:org.eclipse.tractusx:1.0.0#> .\n \n :Movement a samm:Aspect;\n samm:name \"Movement\";\n samm:preferredName \"Movement\"@en;\n samm:description \"Aspect for movement information\"@en;\n samm:propertiesX (:isMoving :speedLimitWarning :position);\n samm:operations ().\n :isMoving a samm:Property;\n samm:name \"isMoving\";\n samm:preferredName \"Moving\"@en;\n samm:description \"Flag indicating whether the asset is currently moving\"@en;\n samm:characteristic bamm-c:Boolean.\n :speedLimitWarning a samm:Property;\n samm:name \"speedLimitWarning\";\n samm:preferredName \"Speed Limit Warning\"@en;\n samm:description \"Indicates if the speed limit is adhered to.\"@en;\n samm:characteristic :TrafficLight.\n :position a samm:Property;\n samm:name \"position\";\n samm:preferredName \"Position\"@en;\n samm:description \"Indicates a position\"@en;\n samm:characteristic :SpatialPositionCharacteristic.\n :TrafficLight a bamm-c:Enumeration;\n samm:name \"TrafficLight\";\n samm:preferredName \"Warning Level\"@en;\n samm:description \"Represents if speed of position change is within specification (green), within tolerance (yellow), or outside specification (red).\"@en;\n samm:dataType xsd:string;\n bamm-c:values (\"green\" \"yellow\" \"red\").\n :SpatialPosition a samm:Entity;\n samm:name \"SpatialPosition\";\n samm:preferredName \"Spatial Position\"@en;\n samm:description \"Position in space, described along three axis, with the third axis optional, if all positions are in a plane.\"@en;\n samm:properties (:x :y :z).\n :x a samm:Property;\n samm:name \"x\";\n samm:preferredName \"x\"@en;\n samm:description \"x coordinate in space\"@en;\n samm:characteristic :Coordinate.\n :y a samm:Property;\n samm:name \"y\";\n samm:preferredName \"y\"@en;\n samm:description \"y coordinate in space\"@en;\n samm:characteristic :Coordinate.\n :z a samm:Property;\n samm:name \"z\";\n samm:preferredName \"z\"@en;\n samm:description \"z coordinate in space\"@en;\n samm:characteristic :Coordinate;\n samm:optional \"true\"^^xsd:boolean.\n :Coordinate a bamm-c:Measurement;\n samm:name \"Coordinate\";\n samm:preferredName \"Coordinate\"@en;\n samm:description \"Represents a coordinate along an axis in space.\"@en;\n samm:dataType xsd:float;\n bamm-c:unit unit:metre.\n :SpatialPositionCharacteristic a bamm-c:SingleEntity;\n samm:name \"SpatialPositionCharacteristic\";\n samm:preferredName \"Spatial Position Characteristic\"@en;\n samm:description \"Represents a single position in space with optional z coordinate.\"@en;\n samm:dataType :SpatialPosition.";
@@ -421,6 +676,75 @@ public class ModelsApiTest extends AbstractModelsApiTest{
             .andExpect(jsonPath( "$.error.message", is(
                 "It is not allowed to release an aspect that has dependencies in DRAFT state." ) ) );
       }
+
+      @Test
+      public void testModelStatusTransitionForStatusUpdate() throws Exception {
+         String urnPrefix = "urn:samm:org.eclipse.tractusx.model.status.transition.status:2.0.0#";
+
+         mvc.perform(post( TestUtils.createValidModelRequest(urnPrefix),"DRAFT") )
+               .andExpect(status().isOk());
+
+         // transition from draft to standardized is not allowed
+         mvc.perform(putStatus( toMovementUrn(urnPrefix), "STANDARDIZED" ))
+               .andExpect( jsonPath( "$.error.message", is(
+                     "The package urn:samm:org.eclipse.tractusx.model.status.transition.status:2.0.0# is in status DRAFT. Only a transition to RELEASED or DEPRECATED is possible." ) ) )
+               .andExpect(status().isBadRequest());
+
+         mvc.perform(putStatus( toMovementUrn(urnPrefix), "RELEASED" ))
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( jsonPath( "$.urn", is( toMovementUrn(urnPrefix) ) ) )
+               .andExpect( jsonPath( "$.status", is( "RELEASED" ) ) )
+               .andExpect(status().isOk());
+
+         mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}", toMovementUrn(urnPrefix) )
+                     .with( jwtTokenFactory.allRoles() ) )
+               .andExpect( jsonPath( "$.status", is( "RELEASED" ) ) )
+               .andExpect(status().isOk());
+
+         mvc.perform(delete(urnPrefix))
+               .andExpect(status().isBadRequest());
+
+         // transition from released to draft is not allowed
+         mvc.perform(putStatus( toMovementUrn(urnPrefix), "DRAFT" ))
+               .andExpect(status().isBadRequest());
+
+         mvc.perform(putStatus( toMovementUrn(urnPrefix), "DEPRECATED" ))
+               .andExpect( jsonPath( "$.status", is( "DEPRECATED" ) ) )
+               .andExpect(status().isOk());
+
+         // the model itself is unchanged
+         mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}/json-schema", toMovementUrn(urnPrefix) )
+                     .with( jwtTokenFactory.allRoles() ) )
+               .andExpect( jsonPath( "$.properties.moving" ).exists() )
+               .andExpect(status().isOk());
+
+         mvc.perform(delete(urnPrefix))
+               .andExpect(status().isNoContent());
+
+         mvc.perform(putStatus( toMovementUrn(urnPrefix), "RELEASED" ))
+               .andExpect(status().isNotFound());
+      }
+
+      @Test
+      public void testDependentModelTransitionForStatusUpdate() throws Exception {
+         String urnPrefix = "urn:samm:org.eclipse.tractusx.model.status.transitionWithDependency:1.0.0#";
+
+         mvc.perform(post( TestUtils.createModelDependency(), "DRAFT" ))
+               .andExpect(status().isOk());
+         mvc.perform(post( TestUtils.createDependentModel(urnPrefix), "DRAFT") )
+               .andExpect(status().isOk());
+
+         mvc.perform(putStatus( urnPrefix + "TestAspect", "RELEASED" ))
+               .andExpect(jsonPath( "$.error.message", is(
+                     "It is not allowed to release an aspect that has dependencies in DRAFT state." ) ) )
+               .andExpect(status().isBadRequest());
+
+         mvc.perform(putStatus( "urn:samm:org.eclipse.tractusx.dependency:1.0.0#Dependency", "RELEASED" ))
+               .andExpect(status().isOk());
+         mvc.perform(putStatus( urnPrefix + "TestAspect", "RELEASED" ))
+               .andExpect( jsonPath( "$.status", is( "RELEASED" ) ) )
+               .andExpect(status().isOk());
+      }
    }
 
     @Test
@@ -486,6 +810,266 @@ public class ModelsApiTest extends AbstractModelsApiTest{
 
     }
 
+   @Test
+   public void testGetModelFilesByUrnsExpectOneGraphPerExistingModel() throws Exception {
+      String movementUrn = "urn:samm:org.eclipse.tractusx.model_files_by_urns:1.0.0#Movement";
+      String dependentUrn = "urn:samm:org.eclipse.tractusx.model_files_by_urns_dependent:1.0.0#TestAspect";
+      mvc.perform( post( TestUtils.createValidModelRequest( "urn:samm:org.eclipse.tractusx.model_files_by_urns:1.0.0#" ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( post( TestUtils.createModelDependency(), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( post( TestUtils.createDependentModel( "urn:samm:org.eclipse.tractusx.model_files_by_urns_dependent:1.0.0#" ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+
+      List<String> urns = List.of( movementUrn, dependentUrn, "urn:samm:org.eclipse.tractusx.model_files_by_urns:1.0.0#DoesNotExist" );
+      MvcResult result = mvc.perform( MockMvcRequestBuilders.post( "/api/v1/models/lookup/files" )
+               .content( new JSONArray( urns ).toString() )
+               .contentType( MediaType.APPLICATION_JSON )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( status().isOk() )
+         .andExpect( content().contentTypeCompatibleWith( "application/trig" ) )
+         .andReturn();
+
+      Dataset dataset = DatasetFactory.create();
+      RDFParser.fromString( result.getResponse().getContentAsString() ).lang( Lang.TRIG ).parse( dataset );
+      List<String> graphNames = new ArrayList<>();
+      dataset.listNames().forEachRemaining( graphNames::add );
+      assertThat( graphNames ).containsExactlyInAnyOrder( movementUrn, dependentUrn );
+      assertThat( dataset.getNamedModel( dependentUrn )
+            .containsResource( ResourceFactory.createResource( "urn:samm:org.eclipse.tractusx.dependency:1.0.0#DependencyEntity" ) ) )
+            .isTrue();
+   }
+
+   @Test
+   public void testGetModelFilesByUrnsWithInvalidUrnExpectBadRequest() throws Exception {
+      List<String> urns = List.of( "urn:samm:org.eclipse.tractusx.model_files_by_urns:1.0.0#Movement", "not-a-urn" );
+      mvc.perform( MockMvcRequestBuilders.post( "/api/v1/models/lookup/files" )
+               .content( new JSONArray( urns ).toString() )
+               .contentType( MediaType.APPLICATION_JSON )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isBadRequest() );
+   }
+
+   @Test
+   public void testGetModelFileWithAcceptHeaderExpectNegotiatedFormat() throws Exception {
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.model_file_formats:1.0.0#";
+      mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+
+      Set<String> eTags = new HashSet<>();
+      for ( Lang lang : List.of( Lang.TURTLE, Lang.NTRIPLES, Lang.JSONLD ) ) {
+         MvcResult result = mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}/file", urnPrefix + "Movement" )
+                  .accept( lang.getContentType().getContentTypeStr() )
+                  .with( jwtTokenFactory.allRoles() ) )
+            .andExpect( status().isOk() )
+            .andExpect( content().contentTypeCompatibleWith( lang.getContentType().getContentTypeStr() ) )
+            .andExpect( header().stringValues( "Vary", hasItem( "Accept" ) ) )
+            .andReturn();
+         eTags.add( result.getResponse().getHeader( "ETag" ) );
+
+         Model model = ModelFactory.createDefaultModel();
+         RDFParser.fromString( result.getResponse().getContentAsString() ).lang( lang ).parse( model );
+         assertThat( model.contains( ResourceFactory.createResource( urnPrefix + "Movement" ), RDF.type ) ).isTrue();
+      }
+      assertThat( eTags ).hasSize( 3 );
+
+      String turtleETag = mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}/file", urnPrefix + "Movement" )
+                  .accept( Lang.TURTLE.getContentType().getContentTypeStr() )
+                  .with( jwtTokenFactory.allRoles() ) )
+            .andReturn().getResponse().getHeader( "ETag" );
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}/file", urnPrefix + "Movement" )
+                  .accept( Lang.TURTLE.getContentType().getContentTypeStr() )
+                  .header( "If-None-Match", turtleETag )
+                  .with( jwtTokenFactory.allRoles() ) )
+            .andExpect( status().isNotModified() );
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}/file", urnPrefix + "Movement" )
+                  .accept( Lang.JSONLD.getContentType().getContentTypeStr() )
+                  .header( "If-None-Match", turtleETag )
+                  .with( jwtTokenFactory.allRoles() ) )
+            .andExpect( status().isOk() )
+            .andExpect( content().contentTypeCompatibleWith( Lang.JSONLD.getContentType().getContentTypeStr() ) );
+   }
+
+   @Test
+   public void testGetModelDependenciesExpectBothDirections() throws Exception {
+      String dependencyPrefix = "urn:samm:org.eclipse.tractusx.dependency:1.0.0#";
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.model.dependencies:1.0.0#";
+      mvc.perform( post( TestUtils.createModelDependency(), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      mvc.perform( post( TestUtils.createDependentModel( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+
+      mvc.perform( getDependencies( urnPrefix + "TestAspect" ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.packageUrn", is( urnPrefix ) ) )
+         .andExpect( jsonPath( "$.dependsOn[*].urn", contains( dependencyPrefix ) ) )
+         .andExpect( jsonPath( "$.dependsOn[0].status", is( "DRAFT" ) ) )
+         .andExpect( jsonPath( "$.usedBy", hasSize( 0 ) ) );
+
+      mvc.perform( getDependencies( dependencyPrefix + "Dependency" ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.dependsOn", hasSize( 0 ) ) )
+         .andExpect( jsonPath( "$.usedBy[*].urn", hasItem( urnPrefix ) ) );
+
+      mvc.perform( delete( urnPrefix ) )
+         .andExpect( status().isNoContent() );
+      mvc.perform( getDependencies( dependencyPrefix + "Dependency" ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.usedBy[*].urn", not( hasItem( urnPrefix ) ) ) );
+
+      mvc.perform( getDependencies( urnPrefix + "TestAspect" ) )
+         .andExpect( status().isNotFound() );
+   }
+
+   private MockHttpServletRequestBuilder getDependencies( String urn ) {
+      return MockMvcRequestBuilders.get( "/api/v1/models/{urn}/dependencies", urn )
+            .accept( MediaType.APPLICATION_JSON )
+            .with( jwtTokenFactory.allRoles() );
+   }
+
+   @Test
+   public void testAsyncUploadExpectAcceptedAndJobSucceeded() throws Exception {
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.async.save:1.0.0#";
+      MvcResult accepted = mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ).queryParam( "async", "true" ) )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( status().isAccepted() )
+         .andExpect( header().string( "Location", containsString( "/api/v1/models/jobs/" ) ) )
+         .andExpect( jsonPath( "$.id" ).isNotEmpty() )
+         .andExpect( jsonPath( "$.submittedAt" ).isNotEmpty() )
+         .andReturn();
+
+      String jobId = mapper.readTree( accepted.getResponse().getContentAsString() ).get( "id" ).asText();
+      awaitJob( jobId );
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/jobs/{jobId}", jobId ).with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.status", is( "SUCCEEDED" ) ) )
+         .andExpect( jsonPath( "$.model.urn", is( toMovementUrn( urnPrefix ) ) ) )
+         .andExpect( jsonPath( "$.model.status", is( "DRAFT" ) ) );
+   }
+
+   @Test
+   public void testAsyncUploadOfInvalidModelExpectJobFailed() throws Exception {
+      MvcResult accepted = mvc.perform( post( TestUtils.createDependentModel( "urn:samm:org.eclipse.tractusx.async.invalid:1.0.0#" ), "DRAFT" )
+               .queryParam( "async", "true" ) )
+         .andExpect( status().isAccepted() )
+         .andReturn();
+
+      String jobId = mapper.readTree( accepted.getResponse().getContentAsString() ).get( "id" ).asText();
+      awaitJob( jobId );
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/jobs/{jobId}", jobId ).with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.status", is( "FAILED" ) ) )
+         .andExpect( jsonPath( "$.error.message" ).isNotEmpty() )
+         .andExpect( jsonPath( "$.model" ).doesNotExist() );
+   }
+
+   @Test
+   public void testGetUnknownJobExpectNotFound() throws Exception {
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/jobs/{jobId}", "unknown" ).with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isNotFound() );
+   }
+
+   private void awaitJob( String jobId ) throws Exception {
+      for ( int attempt = 0; attempt < 300; attempt++ ) {
+         String jobStatus = mapper.readTree( mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/jobs/{jobId}", jobId )
+                     .with( jwtTokenFactory.allRoles() ) )
+               .andReturn().getResponse().getContentAsString() ).get( "status" ).asText();
+         if ( "SUCCEEDED".equals( jobStatus ) || "FAILED".equals( jobStatus ) ) {
+            return;
+         }
+         Thread.sleep( 100 );
+      }
+      throw new AssertionError( "Job " + jobId + " did not finish" );
+   }
+
+   @Test
+   public void testImportModelsExpectValidModelsImportedAndInvalidReported() throws Exception {
+      String dependentUrnPrefix = "urn:samm:org.eclipse.tractusx.import_dependent:1.0.0#";
+      byte[] archive = zip( Map.of(
+            "dependency/ModelDependency.ttl", TestUtils.createModelDependency(),
+            "dependent/DependentModel.ttl", TestUtils.createDependentModel( dependentUrnPrefix ),
+            "Invalid.ttl", "this is not turtle",
+            "README.md", "ignored" ) );
+
+      mvc.perform( importModels( archive, "DRAFT" ) )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.importedCount", is( 2 ) ) )
+         .andExpect( jsonPath( "$.failedCount", is( 1 ) ) )
+         .andExpect( jsonPath( "$.items.length()", is( 3 ) ) )
+         .andExpect( jsonPath( "$.items[?(@.fileName == 'Invalid.ttl')].imported", contains( false ) ) )
+         .andExpect( jsonPath( "$.items[?(@.fileName == 'Invalid.ttl')].error.message", contains( "Validation failed" ) ) )
+         .andExpect( jsonPath( "$.items[?(@.fileName == 'dependent/DependentModel.ttl')].urn",
+               contains( dependentUrnPrefix + "TestAspect" ) ) );
+
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models/{urn}", dependentUrnPrefix + "TestAspect" )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.status", is( "DRAFT" ) ) );
+   }
+
+   @Test
+   public void testImportModelsWithUnresolvableReferenceExpectModelRejected() throws Exception {
+      byte[] archive = zip( Map.of( "DependentModel.ttl",
+            TestUtils.createDependentModel( "urn:samm:org.eclipse.tractusx.import_unresolvable:1.0.0#" ) ) );
+
+      mvc.perform( importModels( archive, "DRAFT" ) )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.importedCount", is( 0 ) ) )
+         .andExpect( jsonPath( "$.failedCount", is( 1 ) ) )
+         .andExpect( jsonPath( "$.items[0].imported", is( false ) ) );
+
+      mvc.perform( MockMvcRequestBuilders.get( "/api/v1/models" )
+               .with( jwtTokenFactory.allRoles() ) )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.totalItems", is( 0 ) ) );
+   }
+
+   @Test
+   public void testImportModelsReplacingPackageExpectValidatedWithoutStoredVersion() throws Exception {
+      String urnPrefix = "urn:samm:org.eclipse.tractusx.import_replace:1.0.0#";
+      mvc.perform( post( TestUtils.createValidModelRequest( urnPrefix ), "DRAFT" ) )
+         .andExpect( status().isOk() );
+      String withoutMovingDefinition = TestUtils.createValidModelRequest( urnPrefix )
+            .replaceAll( "(?s):moving a samm:Property ;.*?samm:characteristic bamm-c:Boolean \\.", "" );
+      assertThat( withoutMovingDefinition ).contains( ":moving" ).doesNotContain( ":moving a samm:Property" );
+
+      mvc.perform( post( withoutMovingDefinition, "DRAFT" ) )
+         .andExpect( status().isBadRequest() );
+      mvc.perform( importModels( zip( Map.of( "Movement.ttl", withoutMovingDefinition ) ), "DRAFT" ) )
+         .andDo( MockMvcResultHandlers.print() )
+         .andExpect( status().isOk() )
+         .andExpect( jsonPath( "$.importedCount", is( 0 ) ) )
+         .andExpect( jsonPath( "$.failedCount", is( 1 ) ) );
+   }
+
+   @Test
+   public void testImportModelsWithoutTurtleFilesExpectBadRequest() throws Exception {
+      mvc.perform( importModels( zip( Map.of( "README.md", "no models" ) ), "DRAFT" ) )
+         .andExpect( status().isBadRequest() );
+   }
+
+   private MockHttpServletRequestBuilder importModels( byte[] archive, String status ) {
+      return MockMvcRequestBuilders.multipart( "/api/v1/models/import" )
+            .file( new MockMultipartFile( "file", "models.zip", "application/zip", archive ) )
+            .queryParam( "status", status )
+            .with( jwtTokenFactory.allRoles() );
+   }
+
+   private static byte[] zip( Map<String, String> files ) throws IOException {
+      ByteArrayOutputStream archive = new ByteArrayOutputStream();
+      try ( ZipOutputStream zip = new ZipOutputStream( archive ) ) {
+         for ( Map.Entry<String, String> file : files.entrySet() ) {
+            zip.putNextEntry( new ZipEntry( file.getKey() ) );
+            zip.write( file.getValue().getBytes( StandardCharsets.UTF_8 ) );
+            zip.closeEntry();
+         }
+      }
+      return archive.toByteArray();
+   }
+
    @Test
    public void testGetModelsExpectSuccessForBAMM() throws Exception {
       String urnPrefix = "urn:bamm:org.eclipse.tractusx:1.0.0#";
@@ -0,0 +1,310 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+import org.apache.jena.arq.querybuilder.UpdateBuilder;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.apache.jena.rdfconnection.RDFConnectionRemoteBuilder;
+import org.apache.jena.update.UpdateRequest;
+import org.apache.jena.vocabulary.RDFS;
+import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModel;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelChange;
+import org.eclipse.tractusx.semantics.hub.model.Error;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelDependencies;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelJob;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelJobStatus;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelList;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelPackage;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelStatus;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.SdsSdk;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.SparqlQueries;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.TripleStoreConnectionManager;
+import org.eclipse.tractusx.semantics.hub.persistence.triplestore.TripleStorePersistence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Tests that data stored by an older version, without catalog entries and in the default graph, is migrated.
+ */
+@DirtiesContext( classMode = DirtiesContext.ClassMode.AFTER_CLASS )
+public class TripleStoreCatalogTest extends AbstractModelsApiTest {
+
+   private static final String URN_PREFIX = "urn:samm:org.eclipse.tractusx.catalog:1.0.0#";
+
+   @Autowired
+   private TripleStoreConnectionManager connectionManager;
+
+   @Autowired
+   private RDFConnectionRemoteBuilder rdfConnectionRemoteBuilder;
+
+   @BeforeEach
+   void init() {
+      deleteAllData();
+   }
+
+   @Test
+   public void testModelStoredWithoutCatalogExpectFoundAfterCatalogIsBuilt() {
+      final SdsSdk sdsSdk = new SdsSdk();
+      final Model model = sdsSdk.load( TestUtils.createValidModelRequest( URN_PREFIX ).getBytes( StandardCharsets.UTF_8 ) );
+      model.add( ResourceFactory.createResource( URN_PREFIX ), SparqlQueries.STATUS_PROPERTY, ModelPackageStatus.RELEASED.toString() );
+      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+         rdfConnection.update( new UpdateBuilder().addInsert( model ).build() );
+      }
+
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, sdsSdk );
+
+      final SemanticModelList models = persistence.getModels( "tractusx.catalog", null, 0, 10 );
+      assertThat( models.getTotalItems() ).isEqualTo( 1 );
+      assertThat( models.getItems() ).extracting( SemanticModel::getUrn ).containsExactly( URN_PREFIX + "Movement" );
+
+      final SemanticModel semanticModel = persistence.getModel( AspectModelUrn.fromUrn( URN_PREFIX + "Movement" ) );
+      assertThat( semanticModel.getStatus() ).isEqualTo( SemanticModelStatus.RELEASED );
+      assertThat( semanticModel.getName() ).isEqualTo( "Movement" );
+
+      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+         assertThat( rdfConnection.queryAsk( "ASK { ?s ?p ?o }" ) ).isFalse();
+         assertThat( rdfConnection.queryAsk( "ASK { GRAPH <" + URN_PREFIX + "> { <" + URN_PREFIX + "Movement> ?p ?o } }" ) ).isTrue();
+         assertThat( rdfConnection.queryAsk( "ASK { GRAPH <" + URN_PREFIX + "> { <" + URN_PREFIX + "> ?p ?o } }" ) ).isFalse();
+      }
+      assertThat( persistence.getModelDefinition( AspectModelUrn.fromUrn( URN_PREFIX + "Movement" ) ) ).contains( "Movement" );
+   }
+
+   @Test
+   public void testDeletedModelExpectCatalogEntryRemoved() {
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      persistence.save( null, TestUtils.createValidModelRequest( URN_PREFIX ), SemanticModelStatus.DRAFT );
+      assertThat( persistence.getModels( "tractusx.catalog", null, 0, 10 ).getTotalItems() ).isEqualTo( 1 );
+
+      persistence.deleteModelsPackage( ModelPackageUrn.fromUrn( URN_PREFIX ) );
+
+      assertThat( persistence.getModels( "tractusx.catalog", null, 0, 10 ).getTotalItems() ).isZero();
+      assertThat( persistence.getModel( AspectModelUrn.fromUrn( URN_PREFIX + "Movement" ) ) ).isNull();
+   }
+
+   @Test
+   public void testModelRevisionExpectStoredAndChangedByReferencedPackage() {
+      final String dependencyPrefix = "urn:samm:org.eclipse.tractusx.dependency:1.0.0#";
+      final AspectModelUrn dependentUrn = AspectModelUrn.fromUrn( URN_PREFIX + "TestAspect" );
+      final TripleStorePersistence previous = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      previous.save( null, TestUtils.createModelDependency(), SemanticModelStatus.DRAFT );
+      previous.save( null, TestUtils.createDependentModel( URN_PREFIX ), SemanticModelStatus.DRAFT );
+      final ModelRevision saved = previous.getModelRevision( dependentUrn ).orElseThrow();
+
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+
+      final ModelRevision loaded = persistence.getModelRevision( dependentUrn ).orElseThrow();
+      assertThat( loaded.getTag() ).isEqualTo( saved.getTag() );
+      assertThat( loaded.getLastModified() ).isEqualTo( saved.getLastModified() );
+
+      persistence.updateStatus( AspectModelUrn.fromUrn( dependencyPrefix + "Dependency" ), SemanticModelStatus.RELEASED );
+
+      final ModelRevision changed = persistence.getModelRevision( dependentUrn ).orElseThrow();
+      assertThat( changed.getTag() ).isNotEqualTo( saved.getTag() );
+      assertThat( changed.getLastModified() ).isAfterOrEqualTo( saved.getLastModified() );
+      assertThat( persistence.getModelRevision( AspectModelUrn.fromUrn( "urn:samm:org.eclipse.tractusx.unknown:1.0.0#Unknown" ) ) )
+            .isEmpty();
+   }
+
+   @Test
+   public void testModelRevisionExpectChangedByOtherInstance() {
+      final String dependencyPrefix = "urn:samm:org.eclipse.tractusx.dependency:1.0.0#";
+      final AspectModelUrn dependentUrn = AspectModelUrn.fromUrn( URN_PREFIX + "TestAspect" );
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      persistence.save( null, TestUtils.createModelDependency(), SemanticModelStatus.DRAFT );
+      persistence.save( null, TestUtils.createDependentModel( URN_PREFIX ), SemanticModelStatus.DRAFT );
+      final ModelRevision saved = persistence.getModelRevision( dependentUrn ).orElseThrow();
+
+      final TripleStorePersistence otherInstance = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      otherInstance.save( null, TestUtils.createModelDependency(), SemanticModelStatus.DRAFT );
+
+      final ModelRevision changed = persistence.getModelRevision( dependentUrn ).orElseThrow();
+      assertThat( changed.getTag() ).isNotEqualTo( saved.getTag() );
+      assertThat( changed.getTag() ).isEqualTo( otherInstance.getModelRevision( dependentUrn ).orElseThrow().getTag() );
+      assertThat( persistence.getModelRevision( AspectModelUrn.fromUrn( dependencyPrefix + "Dependency" ) ) ).isPresent();
+   }
+
+   @Test
+   public void testSearchExpectModelsOfOtherInstanceFoundAfterRefresh() {
+      final String dependencyPrefix = "urn:samm:org.eclipse.tractusx.dependency:1.0.0#";
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      persistence.setRefreshInterval( Duration.ZERO );
+      assertThat( persistence.searchModels( "TestAspect", null, "", null, 0, 10 ).getTotalItems() ).isZero();
+
+      final TripleStorePersistence otherInstance = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      otherInstance.save( null, TestUtils.createModelDependency(), SemanticModelStatus.DRAFT );
+      otherInstance.save( null, TestUtils.createDependentModel( URN_PREFIX ), SemanticModelStatus.DRAFT );
+
+      final SemanticModelList found = persistence.searchModels( "TestAspect", null, "", null, 0, 10 );
+      assertThat( found.getItems() ).extracting( SemanticModel::getUrn ).containsExactly( URN_PREFIX + "TestAspect" );
+      assertThat( found.getItems() ).extracting( SemanticModel::getStatus ).containsExactly( SemanticModelStatus.DRAFT );
+      assertThat( persistence.getModelDependencies( AspectModelUrn.fromUrn( dependencyPrefix + "Dependency" ) ).getUsedBy() )
+            .extracting( SemanticModelPackage::getUrn ).containsExactly( URN_PREFIX );
+
+      otherInstance.deleteModelsPackage( ModelPackageUrn.fromUrn( URN_PREFIX ) );
+
+      assertThat( persistence.searchModels( "TestAspect", null, "", null, 0, 10 ).getTotalItems() ).isZero();
+      assertThat( persistence.getModelDependencies( AspectModelUrn.fromUrn( dependencyPrefix + "Dependency" ) ).getUsedBy() )
+            .isEmpty();
+   }
+
+   @Test
+   public void testUploadJobExpectFoundByOtherInstanceUntilExpired() {
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      final TripleStorePersistence otherInstance = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      final OffsetDateTime submittedAt = OffsetDateTime.now();
+      final SemanticModelJob running = new SemanticModelJob().id( "job-1" ).status( SemanticModelJobStatus.RUNNING )
+            .submittedAt( submittedAt ).startedAt( submittedAt );
+      persistence.saveUploadJob( running, Instant.now().plusSeconds( 60 ) );
+      persistence.saveUploadJob( running.status( SemanticModelJobStatus.FAILED ).finishedAt( OffsetDateTime.now() )
+            .error( new Error().message( "Validation failed." ).details( Map.of( "ERR_SYNTAX", "line 1" ) ) ),
+            Instant.now().plusSeconds( 60 ) );
+      persistence.saveUploadJob( new SemanticModelJob().id( "job-2" ).status( SemanticModelJobStatus.SUCCEEDED )
+            .submittedAt( submittedAt ).startedAt( submittedAt ).finishedAt( submittedAt )
+            .model( new SemanticModel().urn( URN_PREFIX + "Movement" ).status( SemanticModelStatus.DRAFT ) ),
+            Instant.now().plusSeconds( 60 ) );
+
+      final SemanticModelJob failed = otherInstance.findUploadJob( "job-1" ).orElseThrow();
+      assertThat( failed.getStatus() ).isEqualTo( SemanticModelJobStatus.FAILED );
+      assertThat( failed.getSubmittedAt().toInstant() ).isEqualTo( submittedAt.toInstant() );
+      assertThat( failed.getFinishedAt() ).isNotNull();
+      assertThat( failed.getError().getMessage() ).isEqualTo( "Validation failed." );
+      assertThat( failed.getError().getDetails() ).containsEntry( "ERR_SYNTAX", "line 1" );
+      final SemanticModelJob succeeded = otherInstance.findUploadJob( "job-2" ).orElseThrow();
+      assertThat( succeeded.getModel().getUrn() ).isEqualTo( URN_PREFIX + "Movement" );
+      assertThat( succeeded.getModel().getStatus() ).isEqualTo( SemanticModelStatus.DRAFT );
+      assertThat( succeeded.getError() ).isNull();
+
+      otherInstance.saveUploadJob( new SemanticModelJob().id( "job-3" ).status( SemanticModelJobStatus.QUEUED )
+            .submittedAt( submittedAt ), Instant.now().minusSeconds( 1 ) );
+
+      assertThat( persistence.findUploadJob( "job-3" ) ).isEmpty();
+      assertThat( persistence.findUploadJob( "unknown" ) ).isEmpty();
+   }
+
+   @Test
+   public void testReleaseExpectRejectedIfOtherInstanceStoredDraftDependency() {
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      assertThat( persistence.getModels( "tractusx.catalog", null, 0, 10 ).getTotalItems() ).isZero();
+
+      final TripleStorePersistence otherInstance = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      otherInstance.save( null, TestUtils.createModelDependency(), SemanticModelStatus.DRAFT );
+      persistence.save( null, TestUtils.createDependentModel( URN_PREFIX ), SemanticModelStatus.DRAFT );
+
+      assertThatThrownBy( () -> persistence.updateStatus( AspectModelUrn.fromUrn( URN_PREFIX + "TestAspect" ),
+            SemanticModelStatus.RELEASED ) ).isInstanceOf( InvalidStateTransitionException.class );
+      assertThatThrownBy( () -> otherInstance.updateStatus( AspectModelUrn.fromUrn( URN_PREFIX + "TestAspect" ),
+            SemanticModelStatus.RELEASED ) ).isInstanceOf( InvalidStateTransitionException.class );
+   }
+
+   @Test
+   public void testReplacePackageWithOutdatedStatusExpectNothingChanged() {
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      persistence.save( null, TestUtils.createValidModelRequest( URN_PREFIX ), SemanticModelStatus.DRAFT );
+      final ModelPackageUrn modelsPackage = ModelPackageUrn.fromUrn( URN_PREFIX );
+      final Model replacement = ModelFactory.createDefaultModel();
+      replacement.add( ResourceFactory.createResource( URN_PREFIX + "Replacement" ), RDFS.label, "Replacement" );
+      final ModelRevision lostRevision = new ModelRevision( "lost", Instant.now() );
+      final ModelRevision revision = new ModelRevision( "replaced", Instant.now() );
+
+      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+         rdfConnection.update( SparqlQueries.buildReplacePackageRequest( modelsPackage, null, lostRevision, replacement,
+               ModelFactory.createDefaultModel(), new UpdateRequest() ) );
+         assertThat( rdfConnection.queryAsk( SparqlQueries.buildPackageRevisionStoredQuery( modelsPackage, lostRevision ) ) ).isFalse();
+         assertThat( rdfConnection.queryAsk( "ASK { GRAPH <" + URN_PREFIX + "> { <" + URN_PREFIX + "Replacement> ?p ?o } }" ) ).isFalse();
+         assertThat( rdfConnection.queryAsk( "ASK { GRAPH <" + SparqlQueries.CATALOG_GRAPH + "> { ?s <"
+               + SparqlQueries.PENDING_REVISION_PROPERTY + "> ?o } }" ) ).isFalse();
+
+         final Model catalogEntry = ModelFactory.createDefaultModel();
+         catalogEntry.add( ResourceFactory.createResource( URN_PREFIX ), SparqlQueries.REVISION_PROPERTY, revision.getTag() );
+         rdfConnection.update( SparqlQueries.buildReplacePackageRequest( modelsPackage, ModelPackageStatus.DRAFT, revision, replacement,
+               catalogEntry, new UpdateRequest() ) );
+         assertThat( rdfConnection.queryAsk( SparqlQueries.buildPackageRevisionStoredQuery( modelsPackage, revision ) ) ).isTrue();
+         assertThat( rdfConnection.queryAsk( "ASK { GRAPH <" + URN_PREFIX + "> { <" + URN_PREFIX + "Replacement> ?p ?o } }" ) ).isTrue();
+         assertThat( rdfConnection.queryAsk( "ASK { GRAPH <" + URN_PREFIX + "> { <" + URN_PREFIX + "Movement> ?p ?o } }" ) ).isFalse();
+         assertThat( rdfConnection.queryAsk( "ASK { GRAPH <" + SparqlQueries.CATALOG_GRAPH + "> { <" + URN_PREFIX + "> <"
+               + SparqlQueries.STATUS_PROPERTY + "> ?status } }" ) ).isFalse();
+      }
+   }
+
+   @Test
+   public void testChangesOlderThanRetentionExpectRemovedAndReportedAsPruned() {
+      final String otherPrefix = "urn:samm:org.eclipse.tractusx.catalog.other:1.0.0#";
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      final Instant beforeFirstChange = Instant.now().minusSeconds( 1 );
+      persistence.save( null, TestUtils.createValidModelRequest( URN_PREFIX ), SemanticModelStatus.DRAFT );
+      final long firstSequence = persistence.getModelChanges( null, null, 10 ).getLastSequence();
+
+      persistence.setChangeLogRetention( Duration.ZERO );
+      persistence.save( null, TestUtils.createValidModelRequest( otherPrefix ), SemanticModelStatus.DRAFT );
+
+      assertThat( persistence.getModelChanges( null, null, 10 ).getItems() )
+            .extracting( SemanticModelChange::getUrn )
+            .containsExactly( otherPrefix + "Movement" );
+      assertThat( persistence.getModelChanges( firstSequence, null, 10 ).getItems() )
+            .extracting( SemanticModelChange::getUrn )
+            .containsExactly( otherPrefix + "Movement" );
+      assertThatThrownBy( () -> persistence.getModelChanges( 0L, null, 10 ) ).isInstanceOf( ChangeLogPrunedException.class );
+      assertThatThrownBy( () -> persistence.getModelChanges( null, beforeFirstChange, 10 ) )
+            .isInstanceOf( ChangeLogPrunedException.class );
+   }
+
+   @Test
+   public void testCatalogWithoutDependenciesExpectDependenciesIndexed() {
+      final String dependencyPrefix = "urn:samm:org.eclipse.tractusx.dependency:1.0.0#";
+      final TripleStorePersistence previous = new TripleStorePersistence( connectionManager, new SdsSdk() );
+      previous.save( null, TestUtils.createModelDependency(), SemanticModelStatus.RELEASED );
+      previous.save( null, TestUtils.createDependentModel( URN_PREFIX ), SemanticModelStatus.DRAFT );
+      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+         rdfConnection.update( "DELETE WHERE { GRAPH <" + SparqlQueries.CATALOG_GRAPH + "> { ?s <" + SparqlQueries.DEPENDS_ON_PROPERTY
+               + "> ?o } } ; DELETE WHERE { GRAPH <" + SparqlQueries.CATALOG_GRAPH + "> { ?s <"
+               + SparqlQueries.DEPENDENCIES_VERSION_PROPERTY + "> ?o } }" );
+      }
+
+      final TripleStorePersistence persistence = new TripleStorePersistence( connectionManager, new SdsSdk() );
+
+      final SemanticModelDependencies dependencies = persistence.getModelDependencies( AspectModelUrn.fromUrn( URN_PREFIX + "TestAspect" ) );
+      assertThat( dependencies.getDependsOn() ).extracting( SemanticModelPackage::getUrn ).containsExactly( dependencyPrefix );
+      assertThat( dependencies.getDependsOn() ).extracting( SemanticModelPackage::getStatus ).containsExactly( SemanticModelStatus.RELEASED );
+      assertThat( persistence.getModelDependencies( AspectModelUrn.fromUrn( dependencyPrefix + "Dependency" ) ).getUsedBy() )
+            .extracting( SemanticModelPackage::getUrn ).containsExactly( URN_PREFIX );
+      assertThat( persistence.getDependentPackages( ModelPackageUrn.fromUrn( dependencyPrefix ) ) ).containsExactly( URN_PREFIX );
+      try ( final RDFConnection rdfConnection = rdfConnectionRemoteBuilder.build() ) {
+         assertThat( rdfConnection.queryAsk( "ASK { GRAPH <" + SparqlQueries.CATALOG_GRAPH + "> { <" + URN_PREFIX + "> <"
+               + SparqlQueries.DEPENDS_ON_PROPERTY + "> <" + dependencyPrefix + "> } }" ) ).isTrue();
+      }
+   }
+}
@@ -0,0 +1,143 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.tractusx.semantics.hub.CacheProperties;
+import org.eclipse.tractusx.semantics.hub.cache.ArtifactCache.ArtifactKey;
+import org.eclipse.tractusx.semantics.hub.cache.ArtifactCache.ArtifactType;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
+import org.junit.jupiter.api.Test;
+
+import io.vavr.control.Try;
+
+public class ArtifactCacheTest {
+
+   private static final String URN = "urn:samm:org.eclipse.tractusx.cache:1.0.0#Movement";
+   private static final ModelRevision REVISION = new ModelRevision( "1", null );
+
+   private final AtomicInteger generatorCalls = new AtomicInteger();
+
+   @Test
+   public void testArtifactIsGeneratedOnlyOnceExpectCacheHit() {
+      final ArtifactCache cache = new ArtifactCache( new CacheProperties.ArtifactCache() );
+      final ArtifactKey key = ArtifactKey.of( URN, REVISION, ArtifactType.OPEN_API, null, "https://example.com" );
+
+      assertThat( cache.get( key, () -> ModelPackageStatus.RELEASED, this::generate ) ).isEqualTo( "artifact-1" );
+      assertThat( cache.get( key, () -> ModelPackageStatus.RELEASED, this::generate ) ).isEqualTo( "artifact-1" );
+      assertThat( generatorCalls.get() ).isEqualTo( 1 );
+   }
+
+   @Test
+   public void testDifferentBaseUrlExpectCacheMiss() {
+      final ArtifactCache cache = new ArtifactCache( new CacheProperties.ArtifactCache() );
+
+      cache.get( ArtifactKey.of( URN, REVISION, ArtifactType.OPEN_API, null, "https://a.com" ), () -> ModelPackageStatus.DRAFT, this::generate );
+      cache.get( ArtifactKey.of( URN, REVISION, ArtifactType.OPEN_API, null, "https://b.com" ), () -> ModelPackageStatus.DRAFT, this::generate );
+      assertThat( generatorCalls.get() ).isEqualTo( 2 );
+   }
+
+   @Test
+   public void testPackageChangeExpectArtifactInvalidated() {
+      final ArtifactCache cache = new ArtifactCache( new CacheProperties.ArtifactCache() );
+      final ArtifactKey key = ArtifactKey.of( URN, REVISION, ArtifactType.JSON_SCHEMA );
+      final ArtifactKey otherKey = ArtifactKey.of( "urn:samm:org.eclipse.tractusx.other:1.0.0#Movement", REVISION, ArtifactType.JSON_SCHEMA );
+
+      cache.get( key, () -> ModelPackageStatus.DRAFT, this::generate );
+      cache.get( otherKey, () -> ModelPackageStatus.DRAFT, this::generate );
+      cache.onPackageChanged( ModelPackageUrn.fromUrn( "urn:samm:org.eclipse.tractusx.cache:1.0.0#" ) );
+
+      assertThat( cache.get( key, () -> ModelPackageStatus.DRAFT, this::generate ) ).isEqualTo( "artifact-3" );
+      assertThat( cache.get( otherKey, () -> ModelPackageStatus.DRAFT, this::generate ) ).isEqualTo( "artifact-2" );
+   }
+
+   @Test
+   public void testReferencedPackageChangeExpectArtifactOfDependentInvalidated() {
+      final ArtifactCache cache = new ArtifactCache( new CacheProperties.ArtifactCache() );
+      final String dependencyPackage = "urn:samm:org.eclipse.tractusx.dependency:1.0.0#";
+      cache.setDependentsLookup( urn -> dependencyPackage.equals( urn.getUrn() )
+            ? Set.of( "urn:samm:org.eclipse.tractusx.cache:1.0.0#" )
+            : Set.of() );
+      final ArtifactKey key = ArtifactKey.of( URN, REVISION, ArtifactType.JSON_SCHEMA );
+      final ArtifactKey otherKey = ArtifactKey.of( "urn:samm:org.eclipse.tractusx.other:1.0.0#Movement", REVISION, ArtifactType.JSON_SCHEMA );
+
+      cache.get( key, () -> ModelPackageStatus.RELEASED, this::generate );
+      cache.get( otherKey, () -> ModelPackageStatus.RELEASED, this::generate );
+      cache.onPackageChanged( ModelPackageUrn.fromUrn( dependencyPackage ) );
+
+      assertThat( cache.get( key, () -> ModelPackageStatus.RELEASED, this::generate ) ).isEqualTo( "artifact-3" );
+      assertThat( cache.get( otherKey, () -> ModelPackageStatus.RELEASED, this::generate ) ).isEqualTo( "artifact-2" );
+   }
+
+   @Test
+   public void testFailedGenerationExpectNotCached() {
+      final ArtifactCache cache = new ArtifactCache( new CacheProperties.ArtifactCache() );
+      final ArtifactKey key = ArtifactKey.of( URN, REVISION, ArtifactType.DOCUMENTATION );
+
+      final Try<String> failure = cache.getTry( key, () -> ModelPackageStatus.RELEASED,
+            () -> Try.failure( new IllegalStateException( "generation failed" ) ) );
+      assertThat( failure.isFailure() ).isTrue();
+
+      assertThat( cache.getTry( key, () -> ModelPackageStatus.RELEASED, () -> Try.of( this::generate ) ).get() )
+            .isEqualTo( "artifact-1" );
+      assertThat( cache.getTry( key, () -> ModelPackageStatus.RELEASED, () -> Try.of( this::generate ) ).get() )
+            .isEqualTo( "artifact-1" );
+   }
+
+   @Test
+   public void testUnknownPackageStatusExpectNotCached() {
+      final ArtifactCache cache = new ArtifactCache( new CacheProperties.ArtifactCache() );
+      final ArtifactKey key = ArtifactKey.of( URN, REVISION, ArtifactType.EXAMPLE_PAYLOAD );
+
+      cache.get( key, () -> null, this::generate );
+      cache.get( key, () -> null, this::generate );
+      assertThat( generatorCalls.get() ).isEqualTo( 2 );
+   }
+
+   @Test
+   public void testChangedRevisionExpectCacheMiss() {
+      final ArtifactCache cache = new ArtifactCache( new CacheProperties.ArtifactCache() );
+
+      cache.get( ArtifactKey.of( URN, REVISION, ArtifactType.JSON_SCHEMA ), () -> ModelPackageStatus.RELEASED, this::generate );
+      final String artifact = cache.get( ArtifactKey.of( URN, new ModelRevision( "2", null ), ArtifactType.JSON_SCHEMA ),
+            () -> ModelPackageStatus.RELEASED, this::generate );
+
+      assertThat( artifact ).isEqualTo( "artifact-2" );
+   }
+
+   @Test
+   public void testUnknownRevisionExpectNotCached() {
+      final ArtifactCache cache = new ArtifactCache( new CacheProperties.ArtifactCache() );
+      final ArtifactKey key = ArtifactKey.of( URN, null, ArtifactType.JSON_SCHEMA );
+
+      cache.get( key, () -> ModelPackageStatus.RELEASED, this::generate );
+      cache.get( key, () -> ModelPackageStatus.RELEASED, this::generate );
+      assertThat( generatorCalls.get() ).isEqualTo( 2 );
+   }
+
+   private String generate() {
+      return "artifact-" + generatorCalls.incrementAndGet();
+   }
+}
@@ -0,0 +1,87 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.eclipse.tractusx.semantics.hub.CacheProperties;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageStatus;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.junit.jupiter.api.Test;
+
+public class NamespaceCacheTest {
+
+   private static final String PACKAGE_URN = "urn:samm:org.eclipse.tractusx.namespace:1.0.0#";
+
+   private final AtomicInteger loaderCalls = new AtomicInteger();
+
+   @Test
+   public void testReleasedPackageExpectGraphLoadedOnce() {
+      final NamespaceCache cache = new NamespaceCache( new CacheProperties.NamespaceCache() );
+
+      final Model first = cache.get( PACKAGE_URN, () -> ModelPackageStatus.RELEASED, this::load );
+      assertThat( cache.get( PACKAGE_URN, () -> ModelPackageStatus.RELEASED, this::load ) ).isSameAs( first );
+      assertThat( loaderCalls.get() ).isEqualTo( 1 );
+   }
+
+   @Test
+   public void testDraftPackageExpectGraphNotCached() {
+      final NamespaceCache cache = new NamespaceCache( new CacheProperties.NamespaceCache() );
+
+      cache.get( PACKAGE_URN, () -> ModelPackageStatus.DRAFT, this::load );
+      cache.get( PACKAGE_URN, () -> ModelPackageStatus.DRAFT, this::load );
+      assertThat( loaderCalls.get() ).isEqualTo( 2 );
+   }
+
+   @Test
+   public void testPackageChangeExpectGraphInvalidated() {
+      final NamespaceCache cache = new NamespaceCache( new CacheProperties.NamespaceCache() );
+
+      cache.get( PACKAGE_URN, () -> ModelPackageStatus.STANDARDIZED, this::load );
+      cache.onPackageChanged( ModelPackageUrn.fromUrn( PACKAGE_URN ) );
+      cache.get( PACKAGE_URN, () -> ModelPackageStatus.DEPRECATED, this::load );
+      cache.get( PACKAGE_URN, () -> ModelPackageStatus.DEPRECATED, this::load );
+      assertThat( loaderCalls.get() ).isEqualTo( 3 );
+   }
+
+   @Test
+   public void testPackageChangedWhileLoadingExpectGraphNotCached() {
+      final NamespaceCache cache = new NamespaceCache( new CacheProperties.NamespaceCache() );
+
+      cache.get( PACKAGE_URN, () -> ModelPackageStatus.RELEASED, () -> {
+         final Model graph = load();
+         cache.onPackageChanged( ModelPackageUrn.fromUrn( PACKAGE_URN ) );
+         return graph;
+      } );
+      cache.get( PACKAGE_URN, () -> ModelPackageStatus.RELEASED, this::load );
+      assertThat( loaderCalls.get() ).isEqualTo( 2 );
+   }
+
+   private Model load() {
+      loaderCalls.incrementAndGet();
+      final Model graph = ModelFactory.createDefaultModel();
+      graph.createResource( PACKAGE_URN + "Movement" ).addProperty( RDF.type, graph.createResource( "urn:samm:org.eclipse.esmf.samm:meta-model:2.0.0#Aspect" ) );
+      return graph;
+   }
+}
@@ -0,0 +1,99 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.tractusx.semantics.hub.CacheProperties;
+import org.eclipse.tractusx.semantics.hub.domain.ModelPackageUrn;
+import org.eclipse.tractusx.semantics.hub.domain.ModelRevision;
+import org.junit.jupiter.api.Test;
+
+public class ResolvedModelCacheTest {
+
+   private static final String URN = "urn:samm:org.eclipse.tractusx.cache:1.0.0#Movement";
+
+   private final AtomicInteger loaderCalls = new AtomicInteger();
+   private static final ModelRevision REVISION = new ModelRevision( "revision-1", null );
+
+   @Test
+   public void testModelIsLoadedOnlyOnceExpectCacheHit() {
+      final ResolvedModelCache cache = new ResolvedModelCache( new CacheProperties.ModelCache() );
+
+      assertThat( cache.get( URN, REVISION, this::load, model -> 10 ) ).isEqualTo( "model-1" );
+      assertThat( cache.get( URN, REVISION, this::load, model -> 10 ) ).isEqualTo( "model-1" );
+      assertThat( loaderCalls.get() ).isEqualTo( 1 );
+   }
+
+   @Test
+   public void testPackageChangeExpectModelReloaded() {
+      final ResolvedModelCache cache = new ResolvedModelCache( new CacheProperties.ModelCache() );
+      final ModelPackageUrn packageUrn = ModelPackageUrn.fromUrn( "urn:samm:org.eclipse.tractusx.cache:1.0.0#" );
+
+      cache.get( URN, REVISION, this::load, model -> 10 );
+      cache.onPackageChanged( packageUrn );
+
+      assertThat( cache.get( URN, REVISION, this::load, model -> 10 ) ).isEqualTo( "model-2" );
+   }
+
+   @Test
+   public void testRevisionChangedExpectModelReloaded() {
+      final ResolvedModelCache cache = new ResolvedModelCache( new CacheProperties.ModelCache() );
+
+      cache.get( URN, REVISION, this::load, model -> 10 );
+
+      assertThat( cache.get( URN, new ModelRevision( "revision-2", null ), this::load, model -> 10 ) ).isEqualTo( "model-2" );
+   }
+
+   @Test
+   public void testUnknownRevisionExpectModelNotCached() {
+      final ResolvedModelCache cache = new ResolvedModelCache( new CacheProperties.ModelCache() );
+
+      cache.get( URN, null, this::load, model -> 10 );
+      cache.get( URN, null, this::load, model -> 10 );
+      assertThat( loaderCalls.get() ).isEqualTo( 2 );
+   }
+
+   @Test
+   public void testModelExceedingMaximumWeightExpectNotRetained() {
+      final CacheProperties.ModelCache properties = new CacheProperties.ModelCache();
+      properties.setMaximumWeight( ResolvedModelCache.ESTIMATED_BYTES_PER_TRIPLE );
+      final ResolvedModelCache cache = new ResolvedModelCache( properties );
+
+      cache.get( URN, REVISION, this::load, model -> 1000 );
+      assertThat( cache.get( URN, REVISION, this::load, model -> 1000 ) ).isEqualTo( "model-2" );
+   }
+
+   @Test
+   public void testDisabledCacheExpectModelLoadedOnEveryCall() {
+      final CacheProperties.ModelCache properties = new CacheProperties.ModelCache();
+      properties.setEnabled( false );
+      final ResolvedModelCache cache = new ResolvedModelCache( properties );
+
+      cache.get( URN, REVISION, this::load, model -> 10 );
+      cache.get( URN, REVISION, this::load, model -> 10 );
+      assertThat( loaderCalls.get() ).isEqualTo( 2 );
+   }
+
+   private String load() {
+      return "model-" + loaderCalls.incrementAndGet();
+   }
+}
@@ -0,0 +1,41 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.esmf.samm.KnownVersion;
+import org.junit.jupiter.api.Test;
+
+public class ShapeValidatorsTest {
+
+   @Test
+   public void testSameMetaModelVersionExpectSharedValidator() {
+      assertThat( ShapeValidators.forSamm( KnownVersion.getLatest() ) )
+            .isSameAs( ShapeValidators.forSamm( KnownVersion.getLatest() ) )
+            .isSameAs( ShapeValidators.forLatestSamm() );
+      assertThat( ShapeValidators.forLatestBamm() ).isSameAs( ShapeValidators.forLatestBamm() );
+   }
+
+   @Test
+   public void testDifferentMetaModelVersionsExpectSeparateValidators() {
+      assertThat( ShapeValidators.forSamm( KnownVersion.SAMM_1_0_0 ) )
+            .isNotSameAs( ShapeValidators.forSamm( KnownVersion.SAMM_2_0_0 ) );
+   }
+}
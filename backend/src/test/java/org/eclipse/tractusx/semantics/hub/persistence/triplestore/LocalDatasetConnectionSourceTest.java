@@ -0,0 +1,60 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.apache.jena.tdb2.sys.TDBInternal;
+import org.eclipse.esmf.aspectmodel.urn.AspectModelUrn;
+import org.eclipse.tractusx.semantics.hub.TestUtils;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModel;
+import org.eclipse.tractusx.semantics.hub.model.SemanticModelStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalDatasetConnectionSourceTest {
+
+   private static final String URN_PREFIX = "urn:samm:org.eclipse.tractusx.tdb:1.0.0#";
+
+   @TempDir
+   Path location;
+
+   @Test
+   public void testSavedModelInTdbExpectFoundAfterRestart() {
+      final Dataset dataset = TDB2Factory.connectDataset( location.toString() );
+      final TripleStorePersistence persistence = new TripleStorePersistence( new LocalDatasetConnectionSource( dataset ), new SdsSdk() );
+      persistence.save( null, TestUtils.createValidModelRequest( URN_PREFIX ), SemanticModelStatus.DRAFT );
+      assertThat( persistence.getModels( "tractusx.tdb", null, 0, 10 ).getTotalItems() ).isEqualTo( 1 );
+
+      dataset.close();
+      TDBInternal.expel( dataset.asDatasetGraph() );
+
+      final Dataset reopened = TDB2Factory.connectDataset( location.toString() );
+      final TripleStorePersistence restarted = new TripleStorePersistence( new LocalDatasetConnectionSource( reopened ), new SdsSdk() );
+      final SemanticModel model = restarted.getModel( AspectModelUrn.fromUrn( URN_PREFIX + "Movement" ) );
+      assertThat( model.getStatus() ).isEqualTo( SemanticModelStatus.DRAFT );
+      assertThat( restarted.getModelDefinition( AspectModelUrn.fromUrn( URN_PREFIX + "Movement" ) ) ).contains( URN_PREFIX + "Movement" );
+      reopened.close();
+      TDBInternal.expel( reopened.asDatasetGraph() );
+   }
+}
@@ -0,0 +1,89 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.junit.jupiter.api.Test;
+
+public class ModelSearchIndexTest {
+
+   private static final String PREFIXES = "@prefix samm: <urn:samm:org.eclipse.esmf.samm:meta-model:2.0.0#> .\n";
+
+   @Test
+   public void testSearchExpectAspectTextsRankedFirst() {
+      final ModelSearchIndex index = new ModelSearchIndex();
+      index.put( "urn:samm:org.example.battery:1.0.0#Battery", "urn:samm:org.example.battery:1.0.0#", model(
+            "<urn:samm:org.example.battery:1.0.0#Battery> samm:preferredName \"Battery\"@en ;\n"
+                  + "  samm:description \"The state of a traction battery.\"@en .\n" ) );
+      index.put( "urn:samm:org.example.vehicle:1.0.0#Vehicle", "urn:samm:org.example.vehicle:1.0.0#", model(
+            "<urn:samm:org.example.vehicle:1.0.0#Vehicle> samm:preferredName \"Vehicle\"@en .\n"
+                  + "<urn:samm:org.example.vehicle:1.0.0#battery> samm:description \"The battery of the vehicle.\"@en .\n" ) );
+      index.put( "urn:samm:org.example.tire:1.0.0#Tire", "urn:samm:org.example.tire:1.0.0#", model(
+            "<urn:samm:org.example.tire:1.0.0#Tire> samm:preferredName \"Tire\"@en .\n" ) );
+
+      assertThat( index.search( "battery", null ) ).containsExactly( "urn:samm:org.example.battery:1.0.0#Battery",
+            "urn:samm:org.example.vehicle:1.0.0#Vehicle" );
+      assertThat( index.search( "Battery Vehicle", null ) ).containsExactly( "urn:samm:org.example.vehicle:1.0.0#Vehicle" );
+      assertThat( index.search( "bat", null ) ).containsExactly( "urn:samm:org.example.battery:1.0.0#Battery",
+            "urn:samm:org.example.vehicle:1.0.0#Vehicle" );
+      assertThat( index.search( "engine", null ) ).isEmpty();
+      assertThat( index.search( " - ", null ) ).isEmpty();
+   }
+
+   @Test
+   public void testSearchWithLanguageExpectOnlyTextsInLanguage() {
+      final ModelSearchIndex index = new ModelSearchIndex();
+      index.put( "urn:samm:org.example.battery:1.0.0#Battery", "urn:samm:org.example.battery:1.0.0#", model(
+            "<urn:samm:org.example.battery:1.0.0#Battery> samm:preferredName \"Battery\"@en-US ;\n"
+                  + "  samm:preferredName \"Batterie\"@de ;\n"
+                  + "  samm:description \"Untagged description\" .\n" ) );
+
+      assertThat( index.search( "batterie", "de" ) ).containsExactly( "urn:samm:org.example.battery:1.0.0#Battery" );
+      assertThat( index.search( "battery", "EN" ) ).containsExactly( "urn:samm:org.example.battery:1.0.0#Battery" );
+      assertThat( index.search( "battery", "de" ) ).isEmpty();
+      assertThat( index.search( "untagged", "en" ) ).isEmpty();
+      assertThat( index.search( "untagged", null ) ).containsExactly( "urn:samm:org.example.battery:1.0.0#Battery" );
+   }
+
+   @Test
+   public void testReplaceAndRemoveExpectOldTextsNotFound() {
+      final ModelSearchIndex index = new ModelSearchIndex();
+      index.put( "urn:samm:org.example.battery:1.0.0#Battery", "urn:samm:org.example.battery:1.0.0#", model(
+            "<urn:samm:org.example.battery:1.0.0#Battery> samm:preferredName \"Battery\"@en .\n" ) );
+      index.put( "urn:samm:org.example.battery:1.0.0#Battery", "urn:samm:org.example.battery:1.0.0#", model(
+            "<urn:samm:org.example.battery:1.0.0#Battery> samm:preferredName \"Accumulator\"@en ;\n"
+                  + "  <urn:example#comment> \"Battery\"@en .\n" ) );
+
+      assertThat( index.search( "battery", null ) ).isEmpty();
+      assertThat( index.search( "accumulator", null ) ).containsExactly( "urn:samm:org.example.battery:1.0.0#Battery" );
+
+      index.removePackage( "urn:samm:org.example.battery:1.0.0#" );
+
+      assertThat( index.search( "accumulator", null ) ).isEmpty();
+   }
+
+   private static Model model( final String statements ) {
+      return ModelFactory.createDefaultModel().read( new StringReader( PREFIXES + statements ), null, "TURTLE" );
+   }
+}
@@ -0,0 +1,111 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.eclipse.tractusx.semantics.hub.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PackageGraphMigrationTest {
+
+   private static final String URN_PREFIX = "urn:samm:org.eclipse.tractusx.migration:1.0.0#";
+   private static final String OTHER_URN_PREFIX = "urn:samm:org.eclipse.tractusx.migration.other:1.0.0#";
+
+   private Dataset dataset;
+   private Model model;
+
+   @BeforeEach
+   void init() {
+      dataset = DatasetFactory.createTxnMem();
+      model = new SdsSdk().load( TestUtils.createValidModelRequest( URN_PREFIX ).getBytes( StandardCharsets.UTF_8 ) );
+      dataset.getDefaultModel().add( model );
+      dataset.getDefaultModel().add( new SdsSdk().load( TestUtils.createValidModelRequest( OTHER_URN_PREFIX )
+            .getBytes( StandardCharsets.UTF_8 ) ) );
+   }
+
+   @Test
+   public void testDefaultGraphExpectMovedOnce() {
+      try ( final RDFConnection rdfConnection = RDFConnection.connect( dataset ) ) {
+         PackageGraphMigration.migrate( rdfConnection );
+         PackageGraphMigration.migrate( rdfConnection );
+      }
+
+      assertThat( dataset.getDefaultModel().isEmpty() ).isTrue();
+      assertThat( dataset.getNamedModel( URN_PREFIX ).size() ).isEqualTo( model.size() );
+      assertThat( dataset.getNamedModel( OTHER_URN_PREFIX ).size() ).isEqualTo( model.size() );
+      assertThat( catalog().contains( null, SparqlQueries.MIGRATION_STARTED_PROPERTY ) ).isFalse();
+      assertThat( catalog().contains( null, SparqlQueries.MIGRATED_PACKAGE_PROPERTY ) ).isFalse();
+   }
+
+   @Test
+   public void testMigrationStartedByOtherInstanceExpectNothingCopied() {
+      markMigrationStarted( Instant.now() );
+
+      try ( final RDFConnection rdfConnection = RDFConnection.connect( dataset ) ) {
+         assertThatThrownBy( () -> PackageGraphMigration.migrate( rdfConnection, Duration.ZERO ) )
+               .isInstanceOf( IllegalStateException.class );
+      }
+
+      assertThat( dataset.getNamedModel( URN_PREFIX ).isEmpty() ).isTrue();
+      assertThat( dataset.getDefaultModel().isEmpty() ).isFalse();
+   }
+
+   @Test
+   public void testStaleMigrationExpectTakenOverWithoutCopyingMovedPackagesAgain() {
+      dataset.getNamedModel( URN_PREFIX ).add( model );
+      markMigrationStarted( Instant.now().minus( PackageGraphMigration.STALE_AFTER ).minusSeconds( 1 ) );
+      catalog().add( catalogResource(), SparqlQueries.MIGRATED_PACKAGE_PROPERTY, catalog().createResource( URN_PREFIX ) );
+
+      try ( final RDFConnection rdfConnection = RDFConnection.connect( dataset ) ) {
+         PackageGraphMigration.migrate( rdfConnection, Duration.ZERO );
+      }
+
+      assertThat( dataset.getNamedModel( URN_PREFIX ).size() ).isEqualTo( model.size() );
+      assertThat( dataset.getNamedModel( OTHER_URN_PREFIX ).size() ).isEqualTo( model.size() );
+      assertThat( dataset.getDefaultModel().isEmpty() ).isTrue();
+      assertThat( catalog().contains( null, SparqlQueries.MIGRATION_STARTED_PROPERTY ) ).isFalse();
+   }
+
+   private void markMigrationStarted( final Instant started ) {
+      catalog().add( catalogResource(), SparqlQueries.MIGRATION_STARTED_PROPERTY,
+            ResourceFactory.createTypedLiteral( started.toString(), XSDDatatype.XSDdateTime ) );
+   }
+
+   private Model catalog() {
+      return dataset.getNamedModel( SparqlQueries.CATALOG_GRAPH );
+   }
+
+   private Resource catalogResource() {
+      return ResourceFactory.createResource( SparqlQueries.CATALOG_GRAPH );
+   }
+}
@@ -0,0 +1,88 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.shared.PrefixMapping;
+import org.junit.jupiter.api.Test;
+
+public class QueryTemplateTest {
+
+   private static final PrefixMapping PREFIXES = PrefixMapping.Factory.create().setNsPrefix( "ex", "urn:example#" );
+
+   @Test
+   public void testBoundParametersExpectSameQueryAsParsedText() {
+      final QueryTemplate template = QueryTemplate.parse(
+            "SELECT $subjectParam ?name WHERE { GRAPH $graphParam { $subjectParam ex:name ?name } "
+                  + "BIND($filterParam AS ?filter) FILTER ( !bound(?filter) || ?name = ?filter ) }", PREFIXES );
+
+      final Query query = template.bind()
+            .setIri( "subjectParam", "urn:example#subject" )
+            .setIri( "graphParam", "urn:example#graph" )
+            .asQuery();
+
+      assertThat( query ).isEqualTo( parse( "SELECT (<urn:example#subject> AS ?subjectParam) ?name WHERE { "
+            + "GRAPH <urn:example#graph> { <urn:example#subject> ex:name ?name } "
+            + "BIND(?filterParam AS ?filter) FILTER ( !bound(?filter) || ?name = ?filter ) }" ) );
+   }
+
+   @Test
+   public void testValuesAndPageExpectAppliedToSubQuery() {
+      final QueryTemplate template = QueryTemplate.parse(
+            "SELECT ?s ?count WHERE { { SELECT (count(?s) AS ?count) WHERE { VALUES ?s { } ?s ?p $objectParam } } "
+                  + "OPTIONAL { SELECT ?s WHERE { VALUES ?s { } ?s ?p $objectParam } ORDER BY ?s OFFSET 0 LIMIT 10 } }",
+            PREFIXES );
+
+      final Query query = template.bind()
+            .setLiteral( "objectParam", "value" )
+            .values( "s", List.of( NodeFactory.createURI( "urn:example#a" ), NodeFactory.createURI( "urn:example#b" ) ) )
+            .limit( 5 )
+            .offset( 20 )
+            .asQuery();
+
+      assertThat( query ).isEqualTo( parse( "SELECT ?s ?count WHERE { "
+            + "{ SELECT (count(?s) AS ?count) WHERE { VALUES ?s { ex:a ex:b } ?s ?p \"value\" } } "
+            + "OPTIONAL { SELECT ?s WHERE { VALUES ?s { ex:a ex:b } ?s ?p \"value\" } ORDER BY ?s OFFSET 20 LIMIT 5 } }" ) );
+   }
+
+   @Test
+   public void testBindingExpectTemplateUnchanged() {
+      final QueryTemplate template = QueryTemplate.parse( "SELECT ?s WHERE { VALUES ?s { } ?s ?p $objectParam } LIMIT 10", PREFIXES );
+      final Query unbound = template.asQuery();
+      final String text = unbound.toString();
+
+      template.bind().setLiteral( "objectParam", "value" ).values( "s", List.of( NodeFactory.createURI( "urn:example#a" ) ) )
+            .limit( 1 ).asQuery();
+
+      assertThat( template.asQuery() ).isSameAs( unbound );
+      assertThat( unbound.toString() ).isEqualTo( text );
+   }
+
+   private static Query parse( final String query ) {
+      final Query parsed = new Query();
+      parsed.setPrefixMapping( PREFIXES );
+      return QueryFactory.parse( parsed, query, null, null );
+   }
+}
@@ -0,0 +1,61 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+
+import org.apache.jena.rdfconnection.RDFConnection;
+import org.eclipse.tractusx.semantics.hub.TripleStoreProperties;
+import org.junit.jupiter.api.Test;
+
+public class TripleStoreConnectionManagerTest {
+
+   @Test
+   public void testClosedConnectionsExpectNoOpenConnections() throws Exception {
+      final TripleStoreConnectionManager connectionManager = new TripleStoreConnectionManager( properties() );
+      final RDFConnection first = connectionManager.connect();
+      final RDFConnection second = connectionManager.connect();
+      assertThat( connectionManager.getOpenConnections() ).isEqualTo( 2 );
+
+      first.close();
+      first.close();
+      second.close();
+      assertThat( connectionManager.getOpenConnections() ).isZero();
+      assertThat( connectionManager.getOpenedConnections() ).isEqualTo( 2 );
+   }
+
+   @Test
+   public void testConnectionsExpectSharedConnectionBuilder() throws Exception {
+      final TripleStoreConnectionManager connectionManager = new TripleStoreConnectionManager( properties() );
+      assertThat( connectionManager.getConnectionBuilder() ).isSameAs( connectionManager.getConnectionBuilder() );
+      assertThat( connectionManager.getThreads() ).isEqualTo( 20 );
+   }
+
+   private static TripleStoreProperties properties() throws Exception {
+      final TripleStoreProperties properties = new TripleStoreProperties();
+      properties.setBaseUrl( new URL( "http://localhost:3030" ) );
+      properties.setQueryEndpoint( "/ds/query" );
+      properties.setUpdateEndpoint( "/ds/update" );
+      properties.setUsername( "admin" );
+      properties.setPassword( "admin" );
+      return properties;
+   }
+}
@@ -0,0 +1,109 @@
+/********************************************************************************
+ * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.semantics.hub.persistence.triplestore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.tractusx.semantics.hub.InvalidAspectModelException;
+import org.eclipse.tractusx.semantics.hub.ValidationCapacityExceededException;
+import org.eclipse.tractusx.semantics.hub.ValidationProperties;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ValidationExecutorTest {
+
+   @Test
+   public void testFailingValidationExpectExceptionRethrown() {
+      final ValidationExecutor validationExecutor = new ValidationExecutor( properties( 1, 1 ) );
+      assertThatThrownBy( () -> validationExecutor.execute( () -> {
+         throw new InvalidAspectModelException( Collections.singletonMap( "focusNode", "invalid" ) );
+      } ) ).isInstanceOf( InvalidAspectModelException.class );
+   }
+
+   @Test
+   public void testFullQueueExpectValidationRejected() throws Exception {
+      final ValidationExecutor validationExecutor = new ValidationExecutor( properties( 1, 1 ) );
+      final CountDownLatch release = new CountDownLatch( 1 );
+      final CountDownLatch started = new CountDownLatch( 1 );
+      final CompletableFuture<Void> running = CompletableFuture.runAsync( () -> validationExecutor.execute( () -> {
+         started.countDown();
+         await( release );
+      } ) );
+      assertThat( started.await( 10, TimeUnit.SECONDS ) ).isTrue();
+      final CompletableFuture<Void> queued = CompletableFuture.runAsync( () -> validationExecutor.execute( () -> {} ) );
+      while ( validationExecutor.getQueueSize() == 0 ) {
+         Thread.onSpinWait();
+      }
+
+      assertThatThrownBy( () -> validationExecutor.execute( () -> {} ) )
+            .isInstanceOfSatisfying( ValidationCapacityExceededException.class,
+                  exception -> assertThat( exception.getRetryAfter() ).isEqualTo( Duration.ofSeconds( 7 ) ) );
+      assertThat( validationExecutor.getRejectedValidations() ).isEqualTo( 1 );
+
+      release.countDown();
+      running.get( 10, TimeUnit.SECONDS );
+      queued.get( 10, TimeUnit.SECONDS );
+   }
+
+   @Test
+   public void testBatchLargerThanQueueExpectAllValidated() {
+      final ValidationExecutor validationExecutor = new ValidationExecutor( properties( 2, 1 ) );
+      final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+      validationExecutor.bindTo( meterRegistry );
+      final AtomicInteger validated = new AtomicInteger();
+      final List<Runnable> validations = IntStream.range( 0, 20 )
+            .<Runnable> mapToObj( i -> validated::incrementAndGet )
+            .collect( Collectors.toList() );
+
+      validationExecutor.executeAll( validations );
+
+      assertThat( validated.get() ).isEqualTo( 20 );
+      assertThat( validationExecutor.getRejectedValidations() ).isZero();
+      assertThat( meterRegistry.get( "hub.validation.duration" ).functionTimer().count() ).isEqualTo( 20 );
+      assertThat( meterRegistry.get( "hub.validation.queue" ).functionTimer().count() ).isEqualTo( 20 );
+   }
+
+   private static ValidationProperties properties( final int concurrency, final int queueCapacity ) {
+      final ValidationProperties properties = new ValidationProperties();
+      properties.setConcurrency( concurrency );
+      properties.setQueueCapacity( queueCapacity );
+      properties.setRetryAfter( Duration.ofSeconds( 7 ) );
+      return properties;
+   }
+
+   private static void await( final CountDownLatch latch ) {
+      try {
+         latch.await( 10, TimeUnit.SECONDS );
+      } catch ( final InterruptedException exception ) {
+         Thread.currentThread().interrupt();
+      }
+   }
+}